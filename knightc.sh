@@ -3,5 +3,79 @@
 SCRIPT_DIR="$( cd "$( dirname "$0" )" && pwd )"
 CLASSPATH="$SCRIPT_DIR/target/classes"
 MAIN_CLASS=knight.Main
+JAVA_OPTS=(-Dknight.home="$SCRIPT_DIR")
 
-java -cp "$CLASSPATH" "$MAIN_CLASS" "$@"
+if [ -n "$KNIGHT_SOCKET" ]; then
+	SOCKET="$KNIGHT_SOCKET"
+elif [[ "$XDG_RUNTIME_DIR" == /* ]]; then
+	SOCKET="$XDG_RUNTIME_DIR/knight/daemon.sock"
+elif [[ "$XDG_CACHE_HOME" == /* ]]; then
+	SOCKET="$XDG_CACHE_HOME/knight/daemon.sock"
+else
+	SOCKET="$HOME/.cache/knight/daemon.sock"
+fi
+
+trusted() {
+	local dir
+	dir="$(dirname "$SOCKET")"
+	[ -S "$SOCKET" ] && [ -O "$SOCKET" ] && [ ! -L "$dir" ] && [ -O "$dir" ] \
+		&& [ -n "$(find "$dir" -maxdepth 0 -perm 700)" ]
+}
+
+connect() {
+	if command -v socat >/dev/null 2>&1; then
+		socat - "UNIX-CONNECT:$SOCKET"
+	elif command -v nc >/dev/null 2>&1; then
+		nc -U "$SOCKET"
+	else
+		return 127
+	fi
+}
+
+escape() {
+	local value="${1//\\/\\\\}"
+	value="${value//$'\n'/\\n}"
+	printf '%s' "${value//$'\r'/\\r}"
+}
+
+request() {
+	printf 'cwd %s\n' "$(escape "$PWD")"
+	for arg in "$@"; do
+		printf 'arg %s\n' "$(escape "$arg")"
+	done
+	printf '\n'
+}
+
+relay() {
+	local status=255
+	while IFS= read -r line; do
+		case "$line" in
+			"out "*) printf '%s\n' "${line#out }" ;;
+			"err "*) printf '%s\n' "${line#err }" >&2 ;;
+			"exit "*) status="${line#exit }" ;;
+		esac
+	done
+	return "$status"
+}
+
+case "$1" in
+	--daemon-start)
+		nohup java "${JAVA_OPTS[@]}" -cp "$CLASSPATH" "$MAIN_CLASS" --daemon "$SOCKET" >/dev/null 2>&1 &
+		exit 0
+		;;
+	--daemon-stop)
+		trusted || exit 1
+		printf 'stop\n\n' | connect >/dev/null
+		exit $?
+		;;
+esac
+
+if trusted; then
+	request "$@" | connect | relay
+	status=$?
+	if [ "$status" -ne 255 ]; then
+		exit "$status"
+	fi
+fi
+
+java "${JAVA_OPTS[@]}" -cp "$CLASSPATH" "$MAIN_CLASS" "$@"
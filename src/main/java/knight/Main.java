@@ -1,59 +1,247 @@
 package knight;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import knight.compiler.cache.ASTCache;
+import knight.compiler.incremental.DependencyGraph;
+import knight.daemon.CompilerDaemon;
 import knight.playground.CompileResult;
 import knight.playground.CompilerFacade;
 import knight.utils.FileHelper;
 
 public class Main
 {
+	private static final String USAGE = "Usage: java Main [--incremental] [--jobs <n>] <file|directory|glob>... | --daemon [socket]";
+
+	private final Map<Path, DependencyGraph> graphs = new ConcurrentHashMap<>();
+
 	public static void main(String[] args)
 	{
 		if (args.length < 1) {
-			System.err.println("Usage: java Main <filename>.knight");
+			System.err.println(USAGE);
 			System.exit(1);
 		}
 
 		Main main = new Main();
-		main.compile(args);
+
+		if (args[0].equals("--daemon")) {
+			Path socket = args.length > 1 ? Path.of(args[1]) : CompilerDaemon.defaultSocket();
+			try {
+				new CompilerDaemon(socket, main).run();
+			} catch (IOException e) {
+				System.err.println("Failed to start daemon: " + e.getMessage());
+				System.exit(1);
+			}
+			return;
+		}
+
+		int status = main.compile(args, null, System.out, System.err);
+		if (status != 0) {
+			System.exit(status);
+		}
 	}
 
-	public void compile(String[] args)
+	public int compile(String[] args, Path workingDirectory, PrintStream out, PrintStream err)
 	{
-		String filename = args[0];
+		boolean incremental = false;
+		int jobs = Runtime.getRuntime().availableProcessors();
+		List<String> inputs = new ArrayList<>();
 
-		if (!FileHelper.isFileValid(filename)) {
-			return;
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if (arg.equals("--incremental") || arg.equals("-i")) {
+				incremental = true;
+			} else if (arg.equals("--jobs") || arg.equals("-j")) {
+				try {
+					jobs = Integer.parseInt(args[++i]);
+				} catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+					jobs = 0;
+				}
+				if (jobs < 1) {
+					err.println("Invalid number of jobs");
+					return 1;
+				}
+			} else {
+				inputs.add(arg);
+			}
+		}
+
+		if (inputs.isEmpty()) {
+			err.println(USAGE);
+			return 1;
+		}
+
+		Set<String> filenames = new LinkedHashSet<>();
+		for (String input : inputs) {
+			List<String> expanded;
+			try {
+				expanded = FileHelper.expandSources(input, workingDirectory);
+			} catch (IOException e) {
+				err.println(input + ": " + e.getMessage());
+				return 1;
+			}
+
+			if (expanded.isEmpty()) {
+				err.println(input + ": No source files found!");
+				return 1;
+			}
+			filenames.addAll(expanded);
+		}
+
+		if (inputs.size() == 1 && filenames.size() == 1) {
+			String filename = filenames.iterator().next();
+			if (!FileHelper.isFileValid(filename, err)) {
+				return 1;
+			}
+			return compileFile(filename, incremental, ASTCache.getDefault(), out, err);
+		}
+
+		return compileBatch(new ArrayList<>(filenames), incremental, jobs, out, err);
+	}
+
+	private int compileBatch(List<String> filenames, boolean incremental, int jobs, PrintStream out, PrintStream err)
+	{
+		ASTCache astCache = ASTCache.getDefault().retaining();
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(jobs, filenames.size()));
+		long start = System.nanoTime();
+
+		List<Future<BatchEntry>> futures = new ArrayList<>();
+		for (String filename : filenames) {
+			futures.add(executor.submit(() -> {
+				ByteArrayOutputStream fileOut = new ByteArrayOutputStream();
+				ByteArrayOutputStream fileErr = new ByteArrayOutputStream();
+				PrintStream entryErr = new PrintStream(fileErr, true, StandardCharsets.UTF_8);
+
+				long fileStart = System.nanoTime();
+				int status = 1;
+				if (FileHelper.isFileValid(filename, entryErr)) {
+					status = compileFile(filename, incremental, astCache,
+							new PrintStream(fileOut, true, StandardCharsets.UTF_8), entryErr);
+				}
+				return new BatchEntry(filename, status, System.nanoTime() - fileStart, fileOut, fileErr);
+			}));
 		}
 
-		System.out.println("Compiling: " + filename);
+		List<BatchEntry> entries = new ArrayList<>();
+		try {
+			for (Future<BatchEntry> future : futures) {
+				BatchEntry entry = future.get();
+				out.write(entry.out.toByteArray());
+				err.write(entry.err.toByteArray());
+				entries.add(entry);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			err.println("Interrupted");
+			return 1;
+		} catch (ExecutionException | IOException e) {
+			err.println("Batch compilation failed: " + e.getMessage());
+			return 1;
+		} finally {
+			executor.shutdownNow();
+		}
+
+		int failed = 0;
+		out.println();
+		out.println("Summary:");
+		for (BatchEntry entry : entries) {
+			if (entry.status != 0) {
+				failed++;
+			}
+			out.printf("%10.1f ms  %-6s %s%n", entry.nanos / 1e6, entry.status == 0 ? "ok" : "FAILED", entry.filename);
+		}
+		out.printf("Compiled %d files in %.1f ms (%d jobs, %d failed)%n", entries.size(),
+				(System.nanoTime() - start) / 1e6, Math.min(jobs, filenames.size()), failed);
+
+		return failed == 0 ? 0 : 1;
+	}
+
+	private int compileFile(String filename, boolean incremental, ASTCache astCache, PrintStream out, PrintStream err)
+	{
+		out.println("Compiling: " + filename);
 
-		CompileResult result = CompilerFacade.compileFromPath(filename);
+		DependencyGraph graph = null;
+		CompileResult result;
+		if (incremental) {
+			Path graphFile = DependencyGraph.pathFor(filename);
+			graph = graphs.computeIfAbsent(graphFile, DependencyGraph::load);
+
+			synchronized (graph) {
+				result = CompilerFacade.compileIncremental(filename, graph, astCache);
+				if (result.isSuccess()) {
+					try {
+						graph.save(graphFile);
+					} catch (IOException e) {
+						err.println("Failed to save dependency graph: " + e.getMessage());
+					}
+				}
+			}
+		} else {
+			result = CompilerFacade.compileFromPath(filename, astCache);
+		}
 
 		if (!result.isSuccess()) {
-			System.err.println("\nCompilation failed with errors:");
+			err.println("\nCompilation failed with errors:");
 			for (String error : result.getErrors()) {
-				System.err.println(error);
+				err.println(error);
 			}
 			if (!result.getWarnings().isEmpty()) {
-				System.out.println("\nWarnings:");
+				out.println("\nWarnings:");
 				for (String warning : result.getWarnings()) {
-					System.out.println(warning);
+					out.println(warning);
 				}
 			}
-			System.exit(1);
+			return 1;
 		}
 
 		if (!result.getWarnings().isEmpty()) {
-			System.out.println("\nWarnings:");
+			out.println("\nWarnings:");
 			for (String warning : result.getWarnings()) {
-				System.out.println(warning);
+				out.println(warning);
 			}
 		}
 
-		String path = FileHelper.getFileDirPath(filename);
-		FileHelper.write(result.getGeneratedCpp(), path, filename);
+		FileHelper.write(result.getGeneratedCpp(), "", filename);
 
-		System.out.println("Code generation completed successfully");
-		System.out.println("Output written to: " + path + FileHelper.removeFileExtension(filename) + ".cpp");
+		if (graph != null) {
+			out.println("Rebuilt " + graph.getRebuilt().size() + " of " + graph.size() + " files");
+		}
+
+		out.println("Code generation completed successfully");
+		out.println("Output written to: " + FileHelper.removeFileExtension(filename) + ".cpp");
+		return 0;
+	}
+
+	private static final class BatchEntry
+	{
+		private final String filename;
+		private final int status;
+		private final long nanos;
+		private final ByteArrayOutputStream out;
+		private final ByteArrayOutputStream err;
+
+		private BatchEntry(String filename, int status, long nanos, ByteArrayOutputStream out,
+				ByteArrayOutputStream err)
+		{
+			this.filename = filename;
+			this.status = status;
+			this.nanos = nanos;
+			this.out = out;
+			this.err = err;
+		}
 	}
 }
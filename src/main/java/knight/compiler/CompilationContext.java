@@ -0,0 +1,50 @@
+package knight.compiler;
+
+import knight.compiler.ast.SourceFileTable;
+import knight.compiler.lexer.SymbolTable;
+import knight.compiler.semantics.diagnostics.DiagnosticReporter;
+import knight.compiler.semantics.model.SemanticModel;
+import knight.compiler.semantics.utils.Counter;
+
+public class CompilationContext
+{
+	private final SourceFileTable sourceFiles;
+	private final DiagnosticReporter diagnosticReporter;
+	private final SymbolTable symbolTable;
+	private final Counter counter;
+	private final SemanticModel semanticModel;
+
+	public CompilationContext()
+	{
+		this.sourceFiles = new SourceFileTable();
+		this.diagnosticReporter = new DiagnosticReporter(sourceFiles);
+		this.symbolTable = new SymbolTable();
+		this.counter = new Counter();
+		this.semanticModel = new SemanticModel();
+	}
+
+	public SourceFileTable getSourceFiles()
+	{
+		return sourceFiles;
+	}
+
+	public DiagnosticReporter getDiagnosticReporter()
+	{
+		return diagnosticReporter;
+	}
+
+	public SymbolTable getSymbolTable()
+	{
+		return symbolTable;
+	}
+
+	public Counter getCounter()
+	{
+		return counter;
+	}
+
+	public SemanticModel getSemanticModel()
+	{
+		return semanticModel;
+	}
+}
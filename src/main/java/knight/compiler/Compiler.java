@@ -1,21 +1,26 @@
 package knight.compiler;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
 
 import knight.compiler.ast.AST;
-import knight.compiler.ast.ASTSourceFileSetter;
 import knight.compiler.ast.program.ASTProgram;
+import knight.compiler.cache.ASTCache;
+import knight.compiler.lexer.Keywords;
 import knight.compiler.lexer.Lexer;
-import knight.compiler.lexer.Symbol;
 import knight.compiler.lexer.Token;
-import knight.compiler.lexer.Tokens;
-import knight.compiler.library.LibraryManager;
+import knight.compiler.library.StandardLibrary;
 import knight.compiler.parser.Parser;
-import knight.compiler.semantics.diagnostics.DiagnosticReporter;
+import knight.compiler.preprocessor.SourceFile;
 import knight.compiler.semantics.BuildSymbolTree;
 import knight.compiler.semantics.NameAnalyser;
 import knight.compiler.semantics.TypeAnalyser;
@@ -23,54 +28,144 @@ import knight.compiler.semantics.model.SymbolProgram;
 
 public class Compiler
 {
-	public List<ASTProgram> parseFiles(List<File> sourceFiles)
+	public static final String VERSION = "1.0-SNAPSHOT";
+
+	private final CompilationContext context;
+	private Supplier<StandardLibrary> standardLibrarySource = StandardLibrary::get;
+	private StandardLibrary standardLibrary;
+	private ASTCache astCache;
+
+	public Compiler(CompilationContext context)
 	{
-		List<ASTProgram> astPrograms = new ArrayList<>();
+		this.context = context;
+	}
+
+	public CompilationContext getContext()
+	{
+		return context;
+	}
+
+	public void setASTCache(ASTCache astCache)
+	{
+		this.astCache = astCache;
+	}
+
+	public void setStandardLibrary(StandardLibrary standardLibrary)
+	{
+		this.standardLibrarySource = () -> standardLibrary;
+	}
 
+	public List<ASTProgram> parseFiles(List<File> sourceFiles)
+	{
+		List<ForkJoinTask<ParsedFile>> tasks = new ArrayList<>(sourceFiles.size());
 		for (File file : sourceFiles) {
-			BufferedReader reader = null;
-			try {
-				reader = new BufferedReader(new FileReader(file));
-				Lexer lexer = new Lexer(reader);
-				Parser parser = new Parser(lexer);
-				AST tree = parser.parse();
-
-				if (tree instanceof ASTProgram) {
-					ASTProgram astProgram = (ASTProgram) tree;
-					setSourceFileRecursively(astProgram, file.getCanonicalPath());
-					astPrograms.add(astProgram);
-				}
+			tasks.add(ForkJoinPool.commonPool().submit(() -> parseFile(file, null)));
+		}
+		return collectParsed(tasks);
+	}
+
+	public List<ASTProgram> parseSources(List<SourceFile> sources)
+	{
+		List<ForkJoinTask<ParsedFile>> tasks = new ArrayList<>(sources.size());
+		for (SourceFile source : sources) {
+			tasks.add(ForkJoinPool.commonPool().submit(() -> parseFile(source.getFile(), source)));
+		}
+		return collectParsed(tasks);
+	}
 
-				reader.close();
-			} catch (Exception e) {
-				System.err.println("Error parsing file: " + file.getPath() + " - " + e.getMessage());
-				Token token = new Token(Symbol.symbol("EOF", Tokens.EOF), 1, 1);
-				DiagnosticReporter.error(token, e.getMessage(), file.getPath());
+	private List<ASTProgram> collectParsed(List<ForkJoinTask<ParsedFile>> tasks)
+	{
+		List<ASTProgram> astPrograms = new ArrayList<>();
+		for (ForkJoinTask<ParsedFile> task : tasks) {
+			ParsedFile parsed = task.join();
+
+			if (parsed.error != null) {
+				System.err.println("Error parsing file: " + parsed.file.getPath() + " - " + parsed.error.getMessage());
+				Token token = new Token(Keywords.EOF, 1, 1);
+				context.getDiagnosticReporter().error(token, parsed.error.getMessage(), parsed.file.getPath());
+			} else if (parsed.program != null) {
+				astPrograms.add(parsed.program);
 			}
 		}
 
-		astPrograms.add(LibraryManager.loadStandardLibrary());
+		standardLibrary = standardLibrarySource.get();
+		if (standardLibrary != null) {
+			standardLibrary.attach(context);
+			astPrograms.add(standardLibrary.getProgram());
+		}
 
 		return astPrograms;
 	}
 
-	private void setSourceFileRecursively(AST ast, String sourceFile)
+	private ParsedFile parseFile(File file, SourceFile source)
 	{
-		if (ast == null)
-			return;
+		try {
+			byte[] content;
+			String path;
+			if (source != null) {
+				content = source.getContent();
+				path = source.getPath();
+			} else {
+				try (InputStream in = new FileInputStream(file)) {
+					content = in.readAllBytes();
+				}
+				path = file.getCanonicalPath();
+			}
+
+			int fileId = context.getSourceFiles().register(path);
+			String key = null;
+			if (astCache != null) {
+				key = ASTCache.key(content);
+
+				ASTProgram cached = astCache.load(key, fileId);
+				if (cached != null) {
+					return new ParsedFile(file, cached, null);
+				}
+			}
+
+			Lexer lexer = source != null ? source.takeLexer() : null;
+			if (lexer == null) {
+				lexer = new Lexer(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content))));
+			}
+			lexer.setFileId(fileId);
+			return new ParsedFile(file, parse(lexer, key), null);
+		} catch (Exception e) {
+			return new ParsedFile(file, null, e);
+		}
+	}
+
+	private ASTProgram parse(Lexer lexer, String cacheKey) throws Exception
+	{
+		Parser parser = new Parser(lexer);
+		AST tree = parser.parse();
 
-		ASTSourceFileSetter setter = new ASTSourceFileSetter(sourceFile);
-		setter.setSourceFileRecursively(ast);
+		if (!(tree instanceof ASTProgram)) {
+			return null;
+		}
+
+		ASTProgram astProgram = (ASTProgram) tree;
+		if (cacheKey != null && !parser.hasErrors()) {
+			astCache.store(cacheKey, astProgram);
+		}
+		return astProgram;
 	}
 
 	public SymbolProgram buildSymbolProgram(List<ASTProgram> astPrograms)
 	{
-		SymbolProgram symbolProgram = new SymbolProgram();
+		SymbolProgram symbolProgram = new SymbolProgram(context.getCounter());
 
-		BuildSymbolTree buildSymbolTree = new BuildSymbolTree(symbolProgram);
+		BuildSymbolTree buildSymbolTree = new BuildSymbolTree(context, symbolProgram);
 		for (ASTProgram astProgram : astPrograms) {
-			buildSymbolTree.visit(astProgram);
+			if (!isStandardLibrary(astProgram)) {
+				buildSymbolTree.visit(astProgram);
+			}
+		}
+
+		if (standardLibrary != null) {
+			standardLibrary.install(symbolProgram, context.getDiagnosticReporter());
 		}
+		symbolProgram.buildMemberTables();
+		context.getSemanticModel().getTypeTable().setHierarchy(symbolProgram);
 
 		return symbolProgram;
 	}
@@ -78,11 +173,34 @@ public class Compiler
 	public void semantics(List<ASTProgram> astPrograms, SymbolProgram symbolProgram)
 	{
 		for (ASTProgram astProgram : astPrograms) {
-			NameAnalyser nameAnalyser = new NameAnalyser(symbolProgram);
+			if (isStandardLibrary(astProgram)) {
+				continue;
+			}
+
+			NameAnalyser nameAnalyser = new NameAnalyser(context, symbolProgram);
 			nameAnalyser.visit(astProgram);
 
-			TypeAnalyser typeAnalyser = new TypeAnalyser(symbolProgram);
+			TypeAnalyser typeAnalyser = new TypeAnalyser(context, symbolProgram);
 			typeAnalyser.visit(astProgram);
 		}
 	}
+
+	public boolean isStandardLibrary(ASTProgram astProgram)
+	{
+		return standardLibrary != null && standardLibrary.isProgram(astProgram);
+	}
+
+	private static final class ParsedFile
+	{
+		private final File file;
+		private final ASTProgram program;
+		private final Exception error;
+
+		private ParsedFile(File file, ASTProgram program, Exception error)
+		{
+			this.file = file;
+			this.program = program;
+			this.error = error;
+		}
+	}
 }
@@ -5,19 +5,13 @@ import knight.compiler.lexer.Token;
 public abstract class AST
 {
 	private Token token;
-	private String sourceFile;
+	private int id;
 
 	public AST(Token token)
 	{
 		this.token = token;
 	}
 
-	public AST(Token token, String sourceFile)
-	{
-		this.token = token;
-		this.sourceFile = sourceFile;
-	}
-
 	public Token getToken()
 	{
 		return token;
@@ -28,14 +22,19 @@ public abstract class AST
 		this.token = token;
 	}
 
-	public String getSourceFile()
+	public int getId()
+	{
+		return id;
+	}
+
+	public void setId(int id)
 	{
-		return sourceFile;
+		this.id = id;
 	}
 
-	public void setSourceFile(String sourceFile)
+	public int getFileId()
 	{
-		this.sourceFile = sourceFile;
+		return token != null ? token.getFileId() : SourceFileTable.NONE;
 	}
 
 	public abstract <R> R accept(ASTVisitor<R> visitor);
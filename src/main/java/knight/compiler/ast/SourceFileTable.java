@@ -0,0 +1,52 @@
+package knight.compiler.ast;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class SourceFileTable
+{
+	public static final int NONE = 0;
+	public static final int STANDARD_LIBRARY = 1;
+
+	private final Map<String, Integer> ids = new HashMap<>();
+	private final List<String> paths = new ArrayList<>();
+
+	public SourceFileTable()
+	{
+		paths.add(null);
+		paths.add(null);
+	}
+
+	public synchronized void setStandardLibrary(String path)
+	{
+		paths.set(STANDARD_LIBRARY, path);
+	}
+
+	public synchronized int register(String path)
+	{
+		Integer id = ids.get(path);
+		if (id == null) {
+			id = paths.size();
+			ids.put(path, id);
+			paths.add(path);
+		}
+		return id;
+	}
+
+	public synchronized String getPath(int id)
+	{
+		return id > NONE && id < paths.size() ? paths.get(id) : null;
+	}
+
+	public String getPath(AST ast)
+	{
+		return getPath(ast.getFileId());
+	}
+
+	public synchronized int size()
+	{
+		return paths.size() - (STANDARD_LIBRARY + 1);
+	}
+}
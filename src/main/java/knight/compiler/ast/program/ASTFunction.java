@@ -8,7 +8,6 @@ import knight.compiler.ast.statements.ASTBody;
 import knight.compiler.ast.types.ASTType;
 import knight.compiler.ast.utils.ASTList;
 import knight.compiler.lexer.Token;
-import knight.compiler.semantics.model.Scope;
 
 public class ASTFunction extends AST
 {
@@ -18,7 +17,6 @@ public class ASTFunction extends AST
 	private ASTBody body;
 	private boolean isAbstract;
 	private boolean isStatic;
-	private Scope scope;
 
 	public ASTFunction(Token token, ASTType returnType, ASTIdentifier identifier, List<ASTArgument> arguments,
 			ASTBody body, boolean isAbstract, boolean isStatic)
@@ -78,16 +76,6 @@ public class ASTFunction extends AST
 		return isStatic;
 	}
 
-	public void setScope(Scope scope)
-	{
-		this.scope = scope;
-	}
-
-	public Scope getScope()
-	{
-		return scope;
-	}
-
 	@Override
 	public <R> R accept(ASTVisitor<R> visitor)
 	{
@@ -3,12 +3,10 @@ package knight.compiler.ast.program;
 import knight.compiler.ast.AST;
 import knight.compiler.ast.ASTVisitor;
 import knight.compiler.lexer.Token;
-import knight.compiler.semantics.model.Binding;
 
 public class ASTIdentifier extends AST
 {
 	private String name;
-	private Binding binding;
 
 	public ASTIdentifier(Token token, String name)
 	{
@@ -26,16 +24,6 @@ public class ASTIdentifier extends AST
 		this.name = name;
 	}
 
-	public Binding getBinding()
-	{
-		return binding;
-	}
-
-	public void setBinding(Binding binding)
-	{
-		this.binding = binding;
-	}
-
 	@Override
 	public <R> R accept(ASTVisitor<R> visitor)
 	{
@@ -6,12 +6,10 @@ import knight.compiler.ast.AST;
 import knight.compiler.ast.ASTVisitor;
 import knight.compiler.ast.utils.ASTList;
 import knight.compiler.lexer.Token;
-import knight.compiler.semantics.model.Scope;
 
 public class ASTBody extends ASTStatement
 {
 	private ASTList<AST> nodes;
-	private Scope scope;
 
 	public ASTBody(Token token, List<AST> nodes)
 	{
@@ -34,16 +32,6 @@ public class ASTBody extends ASTStatement
 		return nodes.getSize();
 	}
 
-	public Scope getScope()
-	{
-		return scope;
-	}
-
-	public void setScope(Scope scope)
-	{
-		this.scope = scope;
-	}
-
 	@Override
 	public <R> R accept(ASTVisitor<R> visitor)
 	{
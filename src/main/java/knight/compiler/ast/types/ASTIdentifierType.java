@@ -2,12 +2,10 @@ package knight.compiler.ast.types;
 
 import knight.compiler.ast.ASTVisitor;
 import knight.compiler.lexer.Token;
-import knight.compiler.semantics.model.Binding;
 
 public class ASTIdentifierType extends ASTType
 {
 	private String name;
-	private Binding binding;
 
 	public ASTIdentifierType(Token token, String name)
 	{
@@ -25,16 +23,6 @@ public class ASTIdentifierType extends ASTType
 		this.name = name;
 	}
 
-	public Binding getBinding()
-	{
-		return binding;
-	}
-
-	public void setBinding(Binding binding)
-	{
-		this.binding = binding;
-	}
-
 	@Override
 	public <R> R accept(ASTVisitor<R> visitor)
 	{
@@ -0,0 +1,228 @@
+package knight.compiler.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import knight.compiler.Compiler;
+import knight.compiler.ast.AST;
+import knight.compiler.ast.SourceFileTable;
+import knight.compiler.ast.program.ASTProgram;
+import knight.compiler.lexer.Keywords;
+import knight.compiler.lexer.Lexer;
+import knight.compiler.parser.Parser;
+
+public final class ASTCache
+{
+	public static final String EXTENSION = ".kast";
+	public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+	private static final byte[] FINGERPRINT = fingerprint();
+	private static ASTCache defaultCache;
+
+	private final CacheDirectory directory;
+	private final Map<String, byte[]> retained;
+
+	public ASTCache(Path directory)
+	{
+		this(directory, DEFAULT_MAX_BYTES);
+	}
+
+	public ASTCache(Path directory, long maxBytes)
+	{
+		this(new CacheDirectory(directory, maxBytes), null);
+	}
+
+	private ASTCache(CacheDirectory directory, Map<String, byte[]> retained)
+	{
+		this.directory = directory;
+		this.retained = retained;
+	}
+
+	public static synchronized ASTCache getDefault()
+	{
+		if (defaultCache == null) {
+			defaultCache = new ASTCache(CacheDirectory.root().resolve("ast"));
+		}
+		return defaultCache;
+	}
+
+	public static String key(byte[] source)
+	{
+		MessageDigest digest = sha256();
+		digest.update(FINGERPRINT);
+		digest.update(source);
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	public ASTCache retaining()
+	{
+		return new ASTCache(directory, new ConcurrentHashMap<>());
+	}
+
+	public ASTProgram load(String key)
+	{
+		return load(key, SourceFileTable.NONE);
+	}
+
+	public ASTProgram load(String key, int fileId)
+	{
+		if (retained != null) {
+			return loadRetained(key, fileId);
+		}
+
+		if (!directory.prepare()) {
+			return null;
+		}
+
+		Path entry = directory.resolve(key + EXTENSION);
+		if (!Files.exists(entry)) {
+			return null;
+		}
+
+		try (FileChannel channel = FileChannel.open(entry, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			ASTProgram program = ASTDeserializer.deserialize(buffer, fileId);
+			directory.touch(entry);
+			return program;
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	private ASTProgram loadRetained(String key, int fileId)
+	{
+		try {
+			byte[] bytes = retained.get(key);
+			if (bytes == null) {
+				if (!directory.prepare()) {
+					return null;
+				}
+				Path entry = directory.resolve(key + EXTENSION);
+				if (!Files.exists(entry)) {
+					return null;
+				}
+				bytes = Files.readAllBytes(entry);
+				retained.put(key, bytes);
+				directory.touch(entry);
+			}
+			return ASTDeserializer.deserialize(bytes, fileId);
+		} catch (IOException | RuntimeException e) {
+			retained.remove(key);
+			return null;
+		}
+	}
+
+	public void store(String key, ASTProgram program)
+	{
+		Path temp = null;
+		try {
+			byte[] bytes = ASTSerializer.serialize(program);
+			if (retained != null) {
+				retained.put(key, bytes);
+			}
+
+			if (!directory.prepare()) {
+				return;
+			}
+
+			temp = directory.createTemp();
+			Files.write(temp, bytes);
+			Files.move(temp, directory.resolve(key + EXTENSION), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+			directory.added(key + EXTENSION, bytes.length);
+		} catch (IOException e) {
+			if (temp != null) {
+				try {
+					Files.deleteIfExists(temp);
+				} catch (IOException ignored) {
+				}
+			}
+		}
+	}
+
+	public Path getDirectory()
+	{
+		return directory.getPath();
+	}
+
+	private static byte[] fingerprint()
+	{
+		MessageDigest digest = sha256();
+		digest.update(Compiler.VERSION.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) KastFormat.VERSION);
+
+		ClassLoader loader = ASTCache.class.getClassLoader();
+		for (String name : fingerprintedClasses()) {
+			try (InputStream in = loader.getResourceAsStream(name)) {
+				if (in != null) {
+					digest.update(name.getBytes(StandardCharsets.UTF_8));
+					digest.update(in.readAllBytes());
+				}
+			} catch (IOException ignored) {
+			}
+		}
+		return digest.digest();
+	}
+
+	static List<String> fingerprintedClasses()
+	{
+		Set<String> names = new TreeSet<>();
+		for (Class<?> type : new Class<?>[] { Lexer.class, Keywords.class, Parser.class, ASTSerializer.class,
+				ASTDeserializer.class, KastFormat.class }) {
+			names.add(type.getName().replace('.', '/') + ".class");
+		}
+		names.addAll(listClasses(AST.class.getPackageName().replace('.', '/') + "/"));
+		return List.copyOf(names);
+	}
+
+	private static List<String> listClasses(String prefix)
+	{
+		List<String> names = new ArrayList<>();
+		try {
+			Path location = Path.of(AST.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+			if (Files.isDirectory(location)) {
+				try (Stream<Path> files = Files.walk(location.resolve(prefix))) {
+					files.map(file -> location.relativize(file).toString().replace(File.separatorChar, '/'))
+							.filter(name -> name.endsWith(".class")).forEach(names::add);
+				}
+			} else {
+				try (JarFile jar = new JarFile(location.toFile())) {
+					jar.stream().map(JarEntry::getName)
+							.filter(name -> name.startsWith(prefix) && name.endsWith(".class")).forEach(names::add);
+				}
+			}
+		} catch (IOException | URISyntaxException | RuntimeException ignored) {
+		}
+		return names;
+	}
+
+	private static MessageDigest sha256()
+	{
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
@@ -0,0 +1,495 @@
+package knight.compiler.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import knight.compiler.ast.AST;
+import knight.compiler.ast.SourceFileTable;
+import knight.compiler.ast.controlflow.ASTConditionalBranch;
+import knight.compiler.ast.controlflow.ASTForEach;
+import knight.compiler.ast.controlflow.ASTIfChain;
+import knight.compiler.ast.controlflow.ASTWhile;
+import knight.compiler.ast.expressions.ASTAnd;
+import knight.compiler.ast.expressions.ASTArrayIndexExpr;
+import knight.compiler.ast.expressions.ASTArrayLiteral;
+import knight.compiler.ast.expressions.ASTCallFunctionExpr;
+import knight.compiler.ast.expressions.ASTDivision;
+import knight.compiler.ast.expressions.ASTEquals;
+import knight.compiler.ast.expressions.ASTFalse;
+import knight.compiler.ast.expressions.ASTFieldAccessExpr;
+import knight.compiler.ast.expressions.ASTGreaterThan;
+import knight.compiler.ast.expressions.ASTGreaterThanOrEqual;
+import knight.compiler.ast.expressions.ASTIdentifierExpr;
+import knight.compiler.ast.expressions.ASTIntLiteral;
+import knight.compiler.ast.expressions.ASTLambda;
+import knight.compiler.ast.expressions.ASTLessThan;
+import knight.compiler.ast.expressions.ASTLessThanOrEqual;
+import knight.compiler.ast.expressions.ASTMinus;
+import knight.compiler.ast.expressions.ASTModulus;
+import knight.compiler.ast.expressions.ASTNewArray;
+import knight.compiler.ast.expressions.ASTNewInstance;
+import knight.compiler.ast.expressions.ASTNotEquals;
+import knight.compiler.ast.expressions.ASTOr;
+import knight.compiler.ast.expressions.ASTPlus;
+import knight.compiler.ast.expressions.ASTStringLiteral;
+import knight.compiler.ast.expressions.ASTTimes;
+import knight.compiler.ast.expressions.ASTTrue;
+import knight.compiler.ast.program.ASTArgument;
+import knight.compiler.ast.program.ASTClass;
+import knight.compiler.ast.program.ASTFunction;
+import knight.compiler.ast.program.ASTIdentifier;
+import knight.compiler.ast.program.ASTImport;
+import knight.compiler.ast.program.ASTInterface;
+import knight.compiler.ast.program.ASTProgram;
+import knight.compiler.ast.program.ASTProperty;
+import knight.compiler.ast.program.ASTVariable;
+import knight.compiler.ast.program.ASTVariableInit;
+import knight.compiler.ast.statements.ASTArrayAssign;
+import knight.compiler.ast.statements.ASTAssign;
+import knight.compiler.ast.statements.ASTBody;
+import knight.compiler.ast.statements.ASTCallFunctionStat;
+import knight.compiler.ast.statements.ASTFieldAssign;
+import knight.compiler.ast.statements.ASTReturnStatement;
+import knight.compiler.ast.types.ASTBooleanType;
+import knight.compiler.ast.types.ASTFunctionType;
+import knight.compiler.ast.types.ASTIdentifierType;
+import knight.compiler.ast.types.ASTIntArrayType;
+import knight.compiler.ast.types.ASTIntType;
+import knight.compiler.ast.types.ASTParameterizedType;
+import knight.compiler.ast.types.ASTStringArrayType;
+import knight.compiler.ast.types.ASTStringType;
+import knight.compiler.ast.types.ASTVoidType;
+import knight.compiler.lexer.Keywords;
+import knight.compiler.lexer.Symbol;
+import knight.compiler.lexer.Token;
+import knight.compiler.lexer.Tokens;
+
+public class ASTDeserializer
+{
+	private static final Tokens[] KINDS = Tokens.values();
+
+	private final ByteBuffer in;
+	private final String[] strings;
+	private final Symbol[] symbols;
+	private final int fileId;
+	private int row = 0;
+	private int nodeId = 0;
+
+	private ASTDeserializer(ByteBuffer in, int fileId)
+	{
+		this.in = in;
+		this.fileId = fileId;
+
+		if (in.remaining() < 8 || in.getInt() != KastFormat.MAGIC) {
+			throw new IllegalArgumentException("Not a Knight AST file");
+		}
+
+		int version = in.getInt();
+		if (version != KastFormat.VERSION) {
+			throw new IllegalArgumentException("Unsupported Knight AST version: " + version);
+		}
+
+		strings = new String[readVarInt()];
+		symbols = new Symbol[strings.length];
+		for (int i = 0; i < strings.length; i++) {
+			byte[] encoded = new byte[readVarInt()];
+			in.get(encoded);
+			strings[i] = new String(encoded, StandardCharsets.UTF_8);
+		}
+	}
+
+	public static ASTProgram deserialize(ByteBuffer buffer)
+	{
+		return deserialize(buffer, SourceFileTable.NONE);
+	}
+
+	public static ASTProgram deserialize(ByteBuffer buffer, int fileId)
+	{
+		ASTDeserializer deserializer = new ASTDeserializer(buffer, fileId);
+		AST program = deserializer.node();
+
+		if (!(program instanceof ASTProgram)) {
+			throw new IllegalArgumentException("Knight AST file does not contain a program");
+		}
+		return (ASTProgram) program;
+	}
+
+	public static ASTProgram deserialize(byte[] bytes)
+	{
+		return deserialize(ByteBuffer.wrap(bytes));
+	}
+
+	public static ASTProgram deserialize(byte[] bytes, int fileId)
+	{
+		return deserialize(ByteBuffer.wrap(bytes), fileId);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends AST> T read()
+	{
+		return (T) node();
+	}
+
+	private <T extends AST> List<T> readList()
+	{
+		int size = readVarInt() - 1;
+		if (size < 0) {
+			return null;
+		}
+
+		List<T> nodes = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			nodes.add(read());
+		}
+		return nodes;
+	}
+
+	private AST node()
+	{
+		byte tag = in.get();
+		if (tag == KastFormat.NULL) {
+			return null;
+		}
+
+		Token token = readToken();
+		AST node;
+
+		switch (tag)
+		{
+			case KastFormat.PROGRAM: {
+				node = new ASTProgram(token, readList(), readList());
+			}
+			break;
+
+			case KastFormat.CLASS: {
+				node = new ASTClass(token, read(), readList(), readList(), read(), readList(), readBoolean(),
+						readBoolean());
+			}
+			break;
+
+			case KastFormat.FUNCTION: {
+				node = new ASTFunction(token, read(), read(), readList(), read(), readBoolean(), readBoolean());
+			}
+			break;
+
+			case KastFormat.IDENTIFIER_EXPR: {
+				node = new ASTIdentifierExpr(token, readString());
+			}
+			break;
+
+			case KastFormat.BODY: {
+				node = new ASTBody(token, readList());
+			}
+			break;
+
+			case KastFormat.INT_LITERAL: {
+				node = new ASTIntLiteral(token, readVarInt());
+			}
+			break;
+
+			case KastFormat.TRUE: {
+				node = new ASTTrue(token);
+			}
+			break;
+
+			case KastFormat.FALSE: {
+				node = new ASTFalse(token);
+			}
+			break;
+
+			case KastFormat.IDENTIFIER_TYPE: {
+				node = new ASTIdentifierType(token, readString());
+			}
+			break;
+
+			case KastFormat.INT_TYPE: {
+				node = new ASTIntType(token);
+			}
+			break;
+
+			case KastFormat.INT_ARRAY_TYPE: {
+				node = new ASTIntArrayType(token);
+			}
+			break;
+
+			case KastFormat.STRING_ARRAY_TYPE: {
+				node = new ASTStringArrayType(token);
+			}
+			break;
+
+			case KastFormat.IF_CHAIN: {
+				node = new ASTIfChain(token, readList(), read());
+			}
+			break;
+
+			case KastFormat.WHILE: {
+				node = new ASTWhile(token, read(), read());
+			}
+			break;
+
+			case KastFormat.ASSIGN: {
+				node = new ASTAssign(token, read(), read());
+			}
+			break;
+
+			case KastFormat.ARRAY_ASSIGN: {
+				node = new ASTArrayAssign(token, read(), read(), read());
+			}
+			break;
+
+			case KastFormat.ARRAY_INDEX_EXPR: {
+				node = new ASTArrayIndexExpr(token, read(), read());
+			}
+			break;
+
+			case KastFormat.NEW_ARRAY: {
+				node = new ASTNewArray(token, read());
+			}
+			break;
+
+			case KastFormat.CALL_FUNCTION_EXPR: {
+				node = new ASTCallFunctionExpr(token, read(), read(), readList());
+			}
+			break;
+
+			case KastFormat.IDENTIFIER: {
+				node = new ASTIdentifier(token, readString());
+			}
+			break;
+
+			case KastFormat.BOOLEAN_TYPE: {
+				node = new ASTBooleanType(token);
+			}
+			break;
+
+			case KastFormat.STRING_LITERAL: {
+				node = new ASTStringLiteral(token, readString());
+			}
+			break;
+
+			case KastFormat.STRING_TYPE: {
+				node = new ASTStringType(token);
+			}
+			break;
+
+			case KastFormat.NEW_INSTANCE: {
+				node = new ASTNewInstance(token, read(), readList());
+			}
+			break;
+
+			case KastFormat.VARIABLE: {
+				node = new ASTVariable(token, read(), read(), readBoolean());
+			}
+			break;
+
+			case KastFormat.VARIABLE_INIT: {
+				node = new ASTVariableInit(token, read(), read(), read(), readBoolean());
+			}
+			break;
+
+			case KastFormat.VOID_TYPE: {
+				node = new ASTVoidType(token);
+			}
+			break;
+
+			case KastFormat.CALL_FUNCTION_STAT: {
+				node = new ASTCallFunctionStat(token, read(), read(), readList());
+			}
+			break;
+
+			case KastFormat.RETURN_STATEMENT: {
+				node = new ASTReturnStatement(token, read());
+			}
+			break;
+
+			case KastFormat.FUNCTION_TYPE: {
+				node = new ASTFunctionType(token);
+			}
+			break;
+
+			case KastFormat.PROPERTY: {
+				node = new ASTProperty(token, read(), read(), read(), readBoolean());
+			}
+			break;
+
+			case KastFormat.CONDITIONAL_BRANCH: {
+				node = new ASTConditionalBranch(token, read(), read());
+			}
+			break;
+
+			case KastFormat.ARGUMENT: {
+				node = new ASTArgument(token, read(), read());
+			}
+			break;
+
+			case KastFormat.NOT_EQUALS: {
+				node = new ASTNotEquals(token, read(), read());
+			}
+			break;
+
+			case KastFormat.PLUS: {
+				node = new ASTPlus(token, read(), read());
+			}
+			break;
+
+			case KastFormat.OR: {
+				node = new ASTOr(token, read(), read());
+			}
+			break;
+
+			case KastFormat.AND: {
+				node = new ASTAnd(token, read(), read());
+			}
+			break;
+
+			case KastFormat.EQUALS: {
+				node = new ASTEquals(token, read(), read());
+			}
+			break;
+
+			case KastFormat.LESS_THAN: {
+				node = new ASTLessThan(token, read(), read());
+			}
+			break;
+
+			case KastFormat.LESS_THAN_OR_EQUAL: {
+				node = new ASTLessThanOrEqual(token, read(), read());
+			}
+			break;
+
+			case KastFormat.GREATER_THAN: {
+				node = new ASTGreaterThan(token, read(), read());
+			}
+			break;
+
+			case KastFormat.GREATER_THAN_OR_EQUAL: {
+				node = new ASTGreaterThanOrEqual(token, read(), read());
+			}
+			break;
+
+			case KastFormat.MINUS: {
+				node = new ASTMinus(token, read(), read());
+			}
+			break;
+
+			case KastFormat.TIMES: {
+				node = new ASTTimes(token, read(), read());
+			}
+			break;
+
+			case KastFormat.DIVISION: {
+				node = new ASTDivision(token, read(), read());
+			}
+			break;
+
+			case KastFormat.MODULUS: {
+				node = new ASTModulus(token, read(), read());
+			}
+			break;
+
+			case KastFormat.ARRAY_LITERAL: {
+				node = new ASTArrayLiteral(token, readList());
+			}
+			break;
+
+			case KastFormat.FOR_EACH: {
+				node = new ASTForEach(token, read(), read(), read());
+			}
+			break;
+
+			case KastFormat.LAMBDA: {
+				node = new ASTLambda(token, read(), readList(), read());
+			}
+			break;
+
+			case KastFormat.IMPORT: {
+				node = new ASTImport(token, read());
+			}
+			break;
+
+			case KastFormat.PARAMETERIZED_TYPE: {
+				node = new ASTParameterizedType(token, read(), readList());
+			}
+			break;
+
+			case KastFormat.INTERFACE: {
+				node = new ASTInterface(token, read(), readList(), readList());
+			}
+			break;
+
+			case KastFormat.FIELD_ASSIGN: {
+				node = new ASTFieldAssign(token, read(), read(), read());
+			}
+			break;
+
+			case KastFormat.FIELD_ACCESS_EXPR: {
+				node = new ASTFieldAccessExpr(token, read(), read());
+			}
+			break;
+
+			default: {
+				throw new IllegalArgumentException("Unknown AST node tag: " + tag);
+			}
+		}
+
+		node.setId(++nodeId);
+		return node;
+	}
+
+	private Token readToken()
+	{
+		int header = readVarInt();
+		if (header == 0) {
+			return null;
+		}
+
+		Tokens token = KINDS[(header >>> 1) - 1];
+		Symbol symbol = (header & 1) == 0 ? Keywords.fixed(token) : symbol(token, readVarInt() - 1);
+
+		int delta = readVarInt();
+		row += (delta >>> 1) ^ -(delta & 1);
+		int col = readVarInt();
+
+		return new Token(symbol, row, col, fileId);
+	}
+
+	private Symbol symbol(Tokens token, int index)
+	{
+		if (index < 0) {
+			return new Symbol(null, token);
+		}
+
+		Symbol symbol = symbols[index];
+		if (symbol == null || symbol.getToken() != token) {
+			symbol = new Symbol(strings[index], token);
+			symbols[index] = symbol;
+		}
+		return symbol;
+	}
+
+	private String readString()
+	{
+		int index = readVarInt() - 1;
+		return index < 0 ? null : strings[index];
+	}
+
+	private boolean readBoolean()
+	{
+		return in.get() != 0;
+	}
+
+	private int readVarInt()
+	{
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			byte b = in.get();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Malformed variable-length integer");
+	}
+}
@@ -0,0 +1,639 @@
+package knight.compiler.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import knight.compiler.ast.AST;
+import knight.compiler.ast.ASTVisitor;
+import knight.compiler.ast.controlflow.ASTConditionalBranch;
+import knight.compiler.ast.controlflow.ASTForEach;
+import knight.compiler.ast.controlflow.ASTIfChain;
+import knight.compiler.ast.controlflow.ASTWhile;
+import knight.compiler.ast.expressions.ASTAnd;
+import knight.compiler.ast.expressions.ASTArrayIndexExpr;
+import knight.compiler.ast.expressions.ASTArrayLiteral;
+import knight.compiler.ast.expressions.ASTCallFunctionExpr;
+import knight.compiler.ast.expressions.ASTDivision;
+import knight.compiler.ast.expressions.ASTEquals;
+import knight.compiler.ast.expressions.ASTFalse;
+import knight.compiler.ast.expressions.ASTFieldAccessExpr;
+import knight.compiler.ast.expressions.ASTGreaterThan;
+import knight.compiler.ast.expressions.ASTGreaterThanOrEqual;
+import knight.compiler.ast.expressions.ASTIdentifierExpr;
+import knight.compiler.ast.expressions.ASTIntLiteral;
+import knight.compiler.ast.expressions.ASTLambda;
+import knight.compiler.ast.expressions.ASTLessThan;
+import knight.compiler.ast.expressions.ASTLessThanOrEqual;
+import knight.compiler.ast.expressions.ASTMinus;
+import knight.compiler.ast.expressions.ASTModulus;
+import knight.compiler.ast.expressions.ASTNewArray;
+import knight.compiler.ast.expressions.ASTNewInstance;
+import knight.compiler.ast.expressions.ASTNotEquals;
+import knight.compiler.ast.expressions.ASTOr;
+import knight.compiler.ast.expressions.ASTPlus;
+import knight.compiler.ast.expressions.ASTStringLiteral;
+import knight.compiler.ast.expressions.ASTTimes;
+import knight.compiler.ast.expressions.ASTTrue;
+import knight.compiler.ast.program.ASTArgument;
+import knight.compiler.ast.program.ASTClass;
+import knight.compiler.ast.program.ASTFunction;
+import knight.compiler.ast.program.ASTIdentifier;
+import knight.compiler.ast.program.ASTImport;
+import knight.compiler.ast.program.ASTInterface;
+import knight.compiler.ast.program.ASTProgram;
+import knight.compiler.ast.program.ASTProperty;
+import knight.compiler.ast.program.ASTVariable;
+import knight.compiler.ast.program.ASTVariableInit;
+import knight.compiler.ast.statements.ASTArrayAssign;
+import knight.compiler.ast.statements.ASTAssign;
+import knight.compiler.ast.statements.ASTBody;
+import knight.compiler.ast.statements.ASTCallFunctionStat;
+import knight.compiler.ast.statements.ASTFieldAssign;
+import knight.compiler.ast.statements.ASTReturnStatement;
+import knight.compiler.ast.types.ASTBooleanType;
+import knight.compiler.ast.types.ASTFunctionType;
+import knight.compiler.ast.types.ASTIdentifierType;
+import knight.compiler.ast.types.ASTIntArrayType;
+import knight.compiler.ast.types.ASTIntType;
+import knight.compiler.ast.types.ASTParameterizedType;
+import knight.compiler.ast.types.ASTStringArrayType;
+import knight.compiler.ast.types.ASTStringType;
+import knight.compiler.ast.types.ASTVoidType;
+import knight.compiler.lexer.Keywords;
+import knight.compiler.lexer.Symbol;
+import knight.compiler.lexer.Token;
+
+public class ASTSerializer implements ASTVisitor<Void>
+{
+	private final ByteOutput out = new ByteOutput();
+	private final Map<String, Integer> strings = new HashMap<>();
+	private final List<String> stringList = new ArrayList<>();
+	private int row = 0;
+
+	private ASTSerializer()
+	{
+	}
+
+	public static byte[] serialize(ASTProgram program)
+	{
+		ASTSerializer serializer = new ASTSerializer();
+		serializer.node(program);
+
+		ByteOutput file = new ByteOutput();
+		file.writeInt(KastFormat.MAGIC);
+		file.writeInt(KastFormat.VERSION);
+		file.writeVarInt(serializer.stringList.size());
+		for (String string : serializer.stringList) {
+			file.writeString(string);
+		}
+		file.write(serializer.out);
+		return file.toByteArray();
+	}
+
+	private void node(AST node)
+	{
+		if (node == null) {
+			out.writeByte(KastFormat.NULL);
+		} else {
+			node.accept(this);
+		}
+	}
+
+	private void list(List<? extends AST> nodes)
+	{
+		if (nodes == null) {
+			out.writeVarInt(0);
+			return;
+		}
+
+		out.writeVarInt(nodes.size() + 1);
+		for (AST node : nodes) {
+			node(node);
+		}
+	}
+
+	private void header(byte tag, AST node)
+	{
+		out.writeByte(tag);
+
+		Token token = node.getToken();
+		if (token == null) {
+			out.writeVarInt(0);
+		} else {
+			Symbol fixed = Keywords.fixed(token.getToken());
+			boolean implicit = fixed != null && fixed.getSymbol().equals(token.getSymbol());
+
+			out.writeVarInt((token.getToken().ordinal() + 1) << 1 | (implicit ? 0 : 1));
+			if (!implicit) {
+				string(token.getSymbol());
+			}
+
+			int delta = token.getRow() - row;
+			out.writeVarInt((delta << 1) ^ (delta >> 31));
+			out.writeVarInt(token.getCol());
+			row = token.getRow();
+		}
+	}
+
+	private void string(String value)
+	{
+		if (value == null) {
+			out.writeVarInt(0);
+			return;
+		}
+
+		Integer index = strings.get(value);
+		if (index == null) {
+			index = stringList.size();
+			strings.put(value, index);
+			stringList.add(value);
+		}
+		out.writeVarInt(index + 1);
+	}
+
+	private void bool(boolean value)
+	{
+		out.writeByte((byte) (value ? 1 : 0));
+	}
+
+	@Override
+	public Void visit(ASTProgram astProgram)
+	{
+		header(KastFormat.PROGRAM, astProgram);
+		list(astProgram.getImports());
+		list(astProgram.getNodes());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTClass astClass)
+	{
+		header(KastFormat.CLASS, astClass);
+		node(astClass.getIdentifier());
+		list(astClass.getProperties());
+		list(astClass.getFunctions());
+		node(astClass.getExtendsClass());
+		list(astClass.getImplementsInterfaces());
+		bool(astClass.isAbstract());
+		bool(astClass.isStatic());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTFunction astFunction)
+	{
+		header(KastFormat.FUNCTION, astFunction);
+		node(astFunction.getReturnType());
+		node(astFunction.getIdentifier());
+		list(astFunction.getArguments());
+		node(astFunction.getBody());
+		bool(astFunction.isAbstract());
+		bool(astFunction.isStatic());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTIdentifierExpr astIdentifierExpr)
+	{
+		header(KastFormat.IDENTIFIER_EXPR, astIdentifierExpr);
+		string(astIdentifierExpr.getName());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTBody astBody)
+	{
+		header(KastFormat.BODY, astBody);
+		list(astBody.getNodes());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTIntLiteral astIntLiteral)
+	{
+		header(KastFormat.INT_LITERAL, astIntLiteral);
+		out.writeVarInt(astIntLiteral.getValue());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTTrue astTrue)
+	{
+		header(KastFormat.TRUE, astTrue);
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTFalse astFalse)
+	{
+		header(KastFormat.FALSE, astFalse);
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTIdentifierType astIdentifierType)
+	{
+		header(KastFormat.IDENTIFIER_TYPE, astIdentifierType);
+		string(astIdentifierType.getName());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTIntType astIntType)
+	{
+		header(KastFormat.INT_TYPE, astIntType);
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTIntArrayType astIntArrayType)
+	{
+		header(KastFormat.INT_ARRAY_TYPE, astIntArrayType);
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTStringArrayType astStringArrayType)
+	{
+		header(KastFormat.STRING_ARRAY_TYPE, astStringArrayType);
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTIfChain astIfChain)
+	{
+		header(KastFormat.IF_CHAIN, astIfChain);
+		list(astIfChain.getBranches());
+		node(astIfChain.getElseBody());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTWhile astWhile)
+	{
+		header(KastFormat.WHILE, astWhile);
+		node(astWhile.getCondition());
+		node(astWhile.getBody());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTAssign astAssign)
+	{
+		header(KastFormat.ASSIGN, astAssign);
+		node(astAssign.getIdentifier());
+		node(astAssign.getExpression());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTArrayAssign astArrayAssign)
+	{
+		header(KastFormat.ARRAY_ASSIGN, astArrayAssign);
+		node(astArrayAssign.getIdentifier());
+		node(astArrayAssign.getArray());
+		node(astArrayAssign.getValue());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTArrayIndexExpr astArrayIndexExpr)
+	{
+		header(KastFormat.ARRAY_INDEX_EXPR, astArrayIndexExpr);
+		node(astArrayIndexExpr.getArray());
+		node(astArrayIndexExpr.getIndex());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTNewArray astNewArray)
+	{
+		header(KastFormat.NEW_ARRAY, astNewArray);
+		node(astNewArray.getArrayLength());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTCallFunctionExpr astCallFunctionExpr)
+	{
+		header(KastFormat.CALL_FUNCTION_EXPR, astCallFunctionExpr);
+		node(astCallFunctionExpr.getInstance());
+		node(astCallFunctionExpr.getFunctionName());
+		list(astCallFunctionExpr.getArguments());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTIdentifier astIdentifier)
+	{
+		header(KastFormat.IDENTIFIER, astIdentifier);
+		string(astIdentifier.getName());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTBooleanType astBooleanType)
+	{
+		header(KastFormat.BOOLEAN_TYPE, astBooleanType);
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTStringLiteral astStringLiteral)
+	{
+		header(KastFormat.STRING_LITERAL, astStringLiteral);
+		string(astStringLiteral.getValue());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTStringType astStringType)
+	{
+		header(KastFormat.STRING_TYPE, astStringType);
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTNewInstance astNewInstance)
+	{
+		header(KastFormat.NEW_INSTANCE, astNewInstance);
+		node(astNewInstance.getClassName());
+		list(astNewInstance.getArguments());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTVariable astVariable)
+	{
+		header(KastFormat.VARIABLE, astVariable);
+		node(astVariable.getType());
+		node(astVariable.getIdentifier());
+		bool(astVariable.isStatic());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTVariableInit astVariableInit)
+	{
+		header(KastFormat.VARIABLE_INIT, astVariableInit);
+		node(astVariableInit.getType());
+		node(astVariableInit.getIdentifier());
+		node(astVariableInit.getExpression());
+		bool(astVariableInit.isStatic());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTVoidType astVoidType)
+	{
+		header(KastFormat.VOID_TYPE, astVoidType);
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTCallFunctionStat astCallFunctionStat)
+	{
+		header(KastFormat.CALL_FUNCTION_STAT, astCallFunctionStat);
+		node(astCallFunctionStat.getInstance());
+		node(astCallFunctionStat.getFunctionName());
+		list(astCallFunctionStat.getArguments());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTReturnStatement astReturnStatement)
+	{
+		header(KastFormat.RETURN_STATEMENT, astReturnStatement);
+		node(astReturnStatement.getExpression());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTFunctionType astFunctionType)
+	{
+		header(KastFormat.FUNCTION_TYPE, astFunctionType);
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTProperty astProperty)
+	{
+		header(KastFormat.PROPERTY, astProperty);
+		node(astProperty.getType());
+		node(astProperty.getIdentifier());
+		node(astProperty.getExpression());
+		bool(astProperty.isStatic());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTConditionalBranch astConditionalBranch)
+	{
+		header(KastFormat.CONDITIONAL_BRANCH, astConditionalBranch);
+		node(astConditionalBranch.getCondition());
+		node(astConditionalBranch.getBody());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTArgument astArgument)
+	{
+		header(KastFormat.ARGUMENT, astArgument);
+		node(astArgument.getType());
+		node(astArgument.getIdentifier());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTNotEquals astNotEquals)
+	{
+		header(KastFormat.NOT_EQUALS, astNotEquals);
+		node(astNotEquals.getLeft());
+		node(astNotEquals.getRight());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTPlus astPlus)
+	{
+		header(KastFormat.PLUS, astPlus);
+		node(astPlus.getLeft());
+		node(astPlus.getRight());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTOr astOr)
+	{
+		header(KastFormat.OR, astOr);
+		node(astOr.getLeft());
+		node(astOr.getRight());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTAnd astAnd)
+	{
+		header(KastFormat.AND, astAnd);
+		node(astAnd.getLeft());
+		node(astAnd.getRight());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTEquals astEquals)
+	{
+		header(KastFormat.EQUALS, astEquals);
+		node(astEquals.getLeft());
+		node(astEquals.getRight());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTLessThan astLessThan)
+	{
+		header(KastFormat.LESS_THAN, astLessThan);
+		node(astLessThan.getLeft());
+		node(astLessThan.getRight());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTLessThanOrEqual astLessThanOrEqual)
+	{
+		header(KastFormat.LESS_THAN_OR_EQUAL, astLessThanOrEqual);
+		node(astLessThanOrEqual.getLeft());
+		node(astLessThanOrEqual.getRight());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTGreaterThan astGreaterThan)
+	{
+		header(KastFormat.GREATER_THAN, astGreaterThan);
+		node(astGreaterThan.getLeft());
+		node(astGreaterThan.getRight());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTGreaterThanOrEqual astGreaterThanOrEqual)
+	{
+		header(KastFormat.GREATER_THAN_OR_EQUAL, astGreaterThanOrEqual);
+		node(astGreaterThanOrEqual.getLeft());
+		node(astGreaterThanOrEqual.getRight());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTMinus astMinus)
+	{
+		header(KastFormat.MINUS, astMinus);
+		node(astMinus.getLeft());
+		node(astMinus.getRight());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTTimes astTimes)
+	{
+		header(KastFormat.TIMES, astTimes);
+		node(astTimes.getLeft());
+		node(astTimes.getRight());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTDivision astDivision)
+	{
+		header(KastFormat.DIVISION, astDivision);
+		node(astDivision.getLeft());
+		node(astDivision.getRight());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTModulus astModulus)
+	{
+		header(KastFormat.MODULUS, astModulus);
+		node(astModulus.getLeft());
+		node(astModulus.getRight());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTArrayLiteral astArrayLiteral)
+	{
+		header(KastFormat.ARRAY_LITERAL, astArrayLiteral);
+		list(astArrayLiteral.getExpressions());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTForEach astForEach)
+	{
+		header(KastFormat.FOR_EACH, astForEach);
+		node(astForEach.getVariable());
+		node(astForEach.getIterable());
+		node(astForEach.getBody());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTLambda astLambda)
+	{
+		header(KastFormat.LAMBDA, astLambda);
+		node(astLambda.getReturnType());
+		list(astLambda.getArguments());
+		node(astLambda.getBody());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTImport astImport)
+	{
+		header(KastFormat.IMPORT, astImport);
+		node(astImport.getIdentifier());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTParameterizedType astParameterizedType)
+	{
+		header(KastFormat.PARAMETERIZED_TYPE, astParameterizedType);
+		node(astParameterizedType.getBaseType());
+		list(astParameterizedType.getTemplateArguments().getList());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTInterface astInterface)
+	{
+		header(KastFormat.INTERFACE, astInterface);
+		node(astInterface.getIdentifier());
+		list(astInterface.getFunctions());
+		list(astInterface.getExtendedInterfaces());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTFieldAssign astFieldAssign)
+	{
+		header(KastFormat.FIELD_ASSIGN, astFieldAssign);
+		node(astFieldAssign.getInstance());
+		node(astFieldAssign.getField());
+		node(astFieldAssign.getValue());
+		return null;
+	}
+
+	@Override
+	public Void visit(ASTFieldAccessExpr astFieldAccessExpr)
+	{
+		header(KastFormat.FIELD_ACCESS_EXPR, astFieldAccessExpr);
+		node(astFieldAccessExpr.getInstance());
+		node(astFieldAccessExpr.getField());
+		return null;
+	}
+}
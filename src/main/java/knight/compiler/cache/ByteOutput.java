@@ -0,0 +1,63 @@
+package knight.compiler.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+final class ByteOutput
+{
+	private byte[] bytes = new byte[1024];
+	private int size = 0;
+
+	void writeByte(byte value)
+	{
+		ensureCapacity(1);
+		bytes[size++] = value;
+	}
+
+	void writeInt(int value)
+	{
+		ensureCapacity(4);
+		bytes[size++] = (byte) (value >>> 24);
+		bytes[size++] = (byte) (value >>> 16);
+		bytes[size++] = (byte) (value >>> 8);
+		bytes[size++] = (byte) value;
+	}
+
+	void writeVarInt(int value)
+	{
+		ensureCapacity(5);
+		while ((value & ~0x7F) != 0) {
+			bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		bytes[size++] = (byte) value;
+	}
+
+	void writeString(String value)
+	{
+		byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(encoded.length);
+		ensureCapacity(encoded.length);
+		System.arraycopy(encoded, 0, bytes, size, encoded.length);
+		size += encoded.length;
+	}
+
+	void write(ByteOutput other)
+	{
+		ensureCapacity(other.size);
+		System.arraycopy(other.bytes, 0, bytes, size, other.size);
+		size += other.size;
+	}
+
+	byte[] toByteArray()
+	{
+		return Arrays.copyOf(bytes, size);
+	}
+
+	private void ensureCapacity(int extra)
+	{
+		if (size + extra > bytes.length) {
+			bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+		}
+	}
+}
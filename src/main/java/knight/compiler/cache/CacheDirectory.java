@@ -0,0 +1,180 @@
+package knight.compiler.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public final class CacheDirectory
+{
+	public static final String ROOT_PROPERTY = "knight.cache.dir";
+
+	private static final String TEMP_PREFIX = ".tmp-";
+	private static final Set<PosixFilePermission> PRIVATE = EnumSet.of(PosixFilePermission.OWNER_READ,
+			PosixFilePermission.OWNER_WRITE, PosixFilePermission.OWNER_EXECUTE);
+
+	private final Path path;
+	private final long maxBytes;
+	private boolean secured;
+	private long size = -1;
+
+	public CacheDirectory(Path path, long maxBytes)
+	{
+		if (maxBytes <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive");
+		}
+
+		this.path = path;
+		this.maxBytes = maxBytes;
+	}
+
+	public static Path root()
+	{
+		String configured = System.getProperty(ROOT_PROPERTY);
+		if (configured != null && !configured.isBlank()) {
+			return Path.of(configured).toAbsolutePath();
+		}
+
+		String xdg = System.getenv("XDG_CACHE_HOME");
+		if (xdg != null && Path.of(xdg).isAbsolute()) {
+			return Path.of(xdg, "knight");
+		}
+
+		return Path.of(System.getProperty("user.home"), ".cache", "knight");
+	}
+
+	public static void ensurePrivate(Path directory) throws IOException
+	{
+		boolean posix = directory.getFileSystem().supportedFileAttributeViews().contains("posix");
+		if (posix) {
+			Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(PRIVATE));
+		} else {
+			Files.createDirectories(directory);
+		}
+
+		if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)) {
+			throw new IOException("Cache directory " + directory + " is not a directory");
+		}
+
+		if (!posix) {
+			return;
+		}
+
+		PosixFileAttributes attributes = Files.readAttributes(directory, PosixFileAttributes.class,
+				LinkOption.NOFOLLOW_LINKS);
+		UserPrincipal user = directory.getFileSystem().getUserPrincipalLookupService()
+				.lookupPrincipalByName(System.getProperty("user.name"));
+		if (!attributes.owner().equals(user)) {
+			throw new IOException("Cache directory " + directory + " is owned by " + attributes.owner().getName());
+		}
+		if (!PRIVATE.containsAll(attributes.permissions())) {
+			throw new IOException("Cache directory " + directory + " is accessible by other users");
+		}
+	}
+
+	public synchronized boolean prepare()
+	{
+		if (!secured) {
+			try {
+				ensurePrivate(path);
+				secured = true;
+			} catch (IOException e) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public Path resolve(String name)
+	{
+		return path.resolve(name);
+	}
+
+	public Path createTemp()
+	{
+		return path.resolve(TEMP_PREFIX + UUID.randomUUID());
+	}
+
+	public void touch(Path entry)
+	{
+		try {
+			Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (IOException ignored) {
+		}
+	}
+
+	public synchronized void added(String keep, long bytes) throws IOException
+	{
+		if (size >= 0 && size + bytes <= maxBytes) {
+			size += bytes;
+			return;
+		}
+		size = evict(keep);
+	}
+
+	private long evict(String keep) throws IOException
+	{
+		List<Path> entries = new ArrayList<>();
+		long total = 0;
+
+		try (Stream<Path> files = Files.list(path)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				if (file.getFileName().toString().startsWith(TEMP_PREFIX)) {
+					continue;
+				}
+				entries.add(file);
+				total += Files.size(file);
+			}
+		}
+
+		if (total <= maxBytes) {
+			return total;
+		}
+
+		entries.sort(Comparator.comparing(CacheDirectory::lastModified));
+		for (Path entry : entries) {
+			if (total <= maxBytes) {
+				break;
+			}
+			if (entry.getFileName().toString().equals(keep)) {
+				continue;
+			}
+			long entrySize = Files.size(entry);
+			if (Files.deleteIfExists(entry)) {
+				total -= entrySize;
+			}
+		}
+		return total;
+	}
+
+	private static FileTime lastModified(Path path)
+	{
+		try {
+			return Files.getLastModifiedTime(path);
+		} catch (IOException e) {
+			return FileTime.fromMillis(0);
+		}
+	}
+
+	public Path getPath()
+	{
+		return path;
+	}
+
+	public long getMaxBytes()
+	{
+		return maxBytes;
+	}
+}
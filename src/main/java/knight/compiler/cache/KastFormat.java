@@ -0,0 +1,67 @@
+package knight.compiler.cache;
+
+final class KastFormat
+{
+	static final int MAGIC = 0x4B415354;
+	static final int VERSION = 2;
+
+	static final byte NULL = 0;
+	static final byte PROGRAM = 1;
+	static final byte CLASS = 2;
+	static final byte FUNCTION = 3;
+	static final byte IDENTIFIER_EXPR = 4;
+	static final byte BODY = 5;
+	static final byte INT_LITERAL = 6;
+	static final byte TRUE = 7;
+	static final byte FALSE = 8;
+	static final byte IDENTIFIER_TYPE = 9;
+	static final byte INT_TYPE = 10;
+	static final byte INT_ARRAY_TYPE = 11;
+	static final byte STRING_ARRAY_TYPE = 12;
+	static final byte IF_CHAIN = 13;
+	static final byte WHILE = 14;
+	static final byte ASSIGN = 15;
+	static final byte ARRAY_ASSIGN = 16;
+	static final byte ARRAY_INDEX_EXPR = 17;
+	static final byte NEW_ARRAY = 18;
+	static final byte CALL_FUNCTION_EXPR = 19;
+	static final byte IDENTIFIER = 20;
+	static final byte BOOLEAN_TYPE = 21;
+	static final byte STRING_LITERAL = 22;
+	static final byte STRING_TYPE = 23;
+	static final byte NEW_INSTANCE = 24;
+	static final byte VARIABLE = 25;
+	static final byte VARIABLE_INIT = 26;
+	static final byte VOID_TYPE = 27;
+	static final byte CALL_FUNCTION_STAT = 28;
+	static final byte RETURN_STATEMENT = 29;
+	static final byte FUNCTION_TYPE = 30;
+	static final byte PROPERTY = 31;
+	static final byte CONDITIONAL_BRANCH = 32;
+	static final byte ARGUMENT = 33;
+	static final byte NOT_EQUALS = 34;
+	static final byte PLUS = 35;
+	static final byte OR = 36;
+	static final byte AND = 37;
+	static final byte EQUALS = 38;
+	static final byte LESS_THAN = 39;
+	static final byte LESS_THAN_OR_EQUAL = 40;
+	static final byte GREATER_THAN = 41;
+	static final byte GREATER_THAN_OR_EQUAL = 42;
+	static final byte MINUS = 43;
+	static final byte TIMES = 44;
+	static final byte DIVISION = 45;
+	static final byte MODULUS = 46;
+	static final byte ARRAY_LITERAL = 47;
+	static final byte FOR_EACH = 48;
+	static final byte LAMBDA = 49;
+	static final byte IMPORT = 50;
+	static final byte PARAMETERIZED_TYPE = 51;
+	static final byte INTERFACE = 52;
+	static final byte FIELD_ASSIGN = 53;
+	static final byte FIELD_ACCESS_EXPR = 54;
+
+	private KastFormat()
+	{
+	}
+}
@@ -79,6 +79,16 @@ public class CodeBuilder
 		implementations.append(code);
 	}
 
+	public String getDeclarations()
+	{
+		return declarations.toString();
+	}
+
+	public String getImplementations()
+	{
+		return implementations.toString();
+	}
+
 	public void increaseIndent()
 	{
 		indentLevel++;
@@ -1,5 +1,8 @@
 package knight.compiler.codegen;
 
+import java.util.Collection;
+import java.util.Set;
+
 import knight.compiler.ast.AST;
 import knight.compiler.ast.ASTVisitor;
 import knight.compiler.ast.controlflow.ASTConditionalBranch;
@@ -60,6 +63,7 @@ import knight.compiler.ast.types.ASTStringType;
 import knight.compiler.ast.types.ASTVoidType;
 import knight.compiler.library.LibraryFunction;
 import knight.compiler.library.LibraryManager;
+import knight.compiler.semantics.model.SemanticModel;
 
 public class CodeGenerator implements ASTVisitor<Void>
 {
@@ -67,17 +71,19 @@ public class CodeGenerator implements ASTVisitor<Void>
 	private final HeaderManager headerManager;
 	private final TypeConverter typeConverter;
 	private final LibraryManager libraryManager = new LibraryManager();
+	private final SemanticModel semanticModel;
 
 	public CodeGenerator(String progPath, String filename)
 	{
+		this(progPath, filename, new SemanticModel());
+	}
+
+	public CodeGenerator(String progPath, String filename, SemanticModel semanticModel)
+	{
+		this.semanticModel = semanticModel;
 		this.codeBuilder = new CodeBuilder();
 		this.headerManager = new HeaderManager();
 		this.typeConverter = new TypeConverter(headerManager);
-
-		headerManager.addRequiredHeader("iostream");
-		headerManager.addRequiredHeader("string");
-		headerManager.addRequiredHeader("vector");
-		headerManager.addRequiredHeader("functional");
 	}
 
 	public String getGeneratedCode()
@@ -85,6 +91,30 @@ public class CodeGenerator implements ASTVisitor<Void>
 		return codeBuilder.buildCompleteCode(headerManager);
 	}
 
+	public String getDeclarations()
+	{
+		return codeBuilder.getDeclarations();
+	}
+
+	public String getImplementations()
+	{
+		return codeBuilder.getImplementations();
+	}
+
+	public Set<String> getRequiredHeaders()
+	{
+		return headerManager.getRequiredHeaders();
+	}
+
+	public void appendGenerated(String declarations, String implementations, Collection<String> headers)
+	{
+		codeBuilder.appendRawToDeclarations(declarations);
+		codeBuilder.appendRawToImplementations(implementations);
+		for (String header : headers) {
+			headerManager.addRequiredHeader(header);
+		}
+	}
+
 	@Override
 	public Void visit(ASTProgram astProgram)
 	{
@@ -545,7 +575,7 @@ public class CodeGenerator implements ASTVisitor<Void>
 	@Override
 	public Void visit(ASTNewArray astNewArray)
 	{
-		String elementType = typeConverter.convertType(astNewArray.getType());
+		String elementType = typeConverter.convertType(semanticModel.getType(astNewArray));
 		codeBuilder.append("std::vector<" + elementType + ">(");
 		astNewArray.getArrayLength().accept(this);
 		codeBuilder.append(")");
@@ -565,7 +595,7 @@ public class CodeGenerator implements ASTVisitor<Void>
 	@Override
 	public Void visit(ASTArrayLiteral astArrayLiteral)
 	{
-		String elementType = typeConverter.convertType(astArrayLiteral.getType());
+		String elementType = typeConverter.convertType(semanticModel.getType(astArrayLiteral));
 		codeBuilder.append("std::vector<" + elementType + ">{");
 		for (int i = 0; i < astArrayLiteral.getExpressionCount(); i++) {
 			astArrayLiteral.getExpression(i).accept(this);
@@ -680,10 +710,10 @@ public class CodeGenerator implements ASTVisitor<Void>
 		ASTExpression left = operator.getLeft();
 		ASTExpression right = operator.getRight();
 
-		boolean leftIsString = left.getType() instanceof ASTStringType;
-		boolean rightIsString = right.getType() instanceof ASTStringType;
-		boolean leftIsNumeric = left.getType() instanceof ASTIntType;
-		boolean rightIsNumeric = right.getType() instanceof ASTIntType;
+		boolean leftIsString = semanticModel.getType(left) instanceof ASTStringType;
+		boolean rightIsString = semanticModel.getType(right) instanceof ASTStringType;
+		boolean leftIsNumeric = semanticModel.getType(left) instanceof ASTIntType;
+		boolean rightIsNumeric = semanticModel.getType(right) instanceof ASTIntType;
 
 		boolean wrapLeft = false;
 		if (opSymbol.equals("+") && rightIsString && leftIsNumeric) {
@@ -1,23 +1,57 @@
 package knight.compiler.codegen;
 
-import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 
 public class HeaderManager
 {
-	private final Set<String> requiredHeaders = new HashSet<>();
+	public static final String PRELUDE_HEADER = "knight_prelude.h";
+	public static final List<String> PRELUDE_INCLUDES = List.of("iostream", "string", "vector", "functional");
+
+	private final Set<String> requiredHeaders = new TreeSet<>();
 
 	public void addRequiredHeader(String header)
 	{
 		requiredHeaders.add(header);
 	}
 
+	public Set<String> getRequiredHeaders()
+	{
+		return requiredHeaders;
+	}
+
+	public static String generatePrelude()
+	{
+		StringBuilder prelude = new StringBuilder();
+		prelude.append("#ifndef KNIGHT_PRELUDE_H\n");
+		prelude.append("#define KNIGHT_PRELUDE_H\n");
+		appendIncludes(prelude, PRELUDE_INCLUDES);
+		prelude.append("#endif\n");
+		return prelude.toString();
+	}
+
 	public String generateHeaderIncludes()
 	{
 		StringBuilder includes = new StringBuilder();
+		includes.append("#if __has_include(\"").append(PRELUDE_HEADER).append("\")\n");
+		includes.append("#include \"").append(PRELUDE_HEADER).append("\"\n");
+		includes.append("#else\n");
+		appendIncludes(includes, PRELUDE_INCLUDES);
+		includes.append("#endif\n");
+
 		for (String header : requiredHeaders) {
-			includes.append("#include <").append(header).append(">\n");
+			if (!PRELUDE_INCLUDES.contains(header)) {
+				includes.append("#include <").append(header).append(">\n");
+			}
 		}
 		return includes.toString();
 	}
+
+	private static void appendIncludes(StringBuilder builder, List<String> headers)
+	{
+		for (String header : headers) {
+			builder.append("#include <").append(header).append(">\n");
+		}
+	}
 }
@@ -0,0 +1,233 @@
+package knight.compiler.incremental;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import knight.compiler.Compiler;
+import knight.compiler.codegen.CodeGenerator;
+import knight.compiler.optimizations.ConstantFolding;
+import knight.compiler.semantics.BuildSymbolTree;
+import knight.compiler.semantics.NameAnalyser;
+import knight.compiler.semantics.TypeAnalyser;
+import knight.utils.FileHelper;
+
+public final class DependencyGraph
+{
+	public static final String DIRECTORY = ".knight";
+	public static final String EXTENSION = ".kdeps";
+
+	private static final int MAGIC = 0x4B444550;
+	private static final int VERSION = 1;
+	private static final byte[] FINGERPRINT = fingerprint();
+
+	private final Map<String, FileEntry> entries = new LinkedHashMap<>();
+	private Set<String> rebuilt = Set.of();
+
+	public static Path pathFor(String filename)
+	{
+		Path source = Path.of(filename).toAbsolutePath();
+		String name = FileHelper.removeFileExtension(source.getFileName().toString());
+		return source.resolveSibling(DIRECTORY).resolve(name + EXTENSION);
+	}
+
+	public static DependencyGraph load(Path file)
+	{
+		DependencyGraph graph = new DependencyGraph();
+		if (!Files.exists(file)) {
+			return graph;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				return graph;
+			}
+
+			byte[] fingerprint = new byte[in.readInt()];
+			in.readFully(fingerprint);
+			if (!Arrays.equals(fingerprint, FINGERPRINT)) {
+				return graph;
+			}
+
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				graph.put(new FileEntry(readString(in), readString(in), readStrings(in), readStrings(in),
+						readString(in), readString(in), readStrings(in), readStrings(in)));
+			}
+			return graph;
+		} catch (IOException | RuntimeException e) {
+			return new DependencyGraph();
+		}
+	}
+
+	public void save(Path file) throws IOException
+	{
+		Files.createDirectories(file.getParent());
+		Path temp = file.resolveSibling(file.getFileName() + "." + UUID.randomUUID());
+
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(FINGERPRINT.length);
+				out.write(FINGERPRINT);
+				out.writeInt(entries.size());
+
+				for (FileEntry entry : entries.values()) {
+					writeString(out, entry.getPath());
+					writeString(out, entry.getContentHash());
+					writeStrings(out, entry.getImports());
+					writeStrings(out, entry.getExports());
+					writeString(out, entry.getDeclarations());
+					writeString(out, entry.getImplementations());
+					writeStrings(out, entry.getHeaders());
+					writeStrings(out, entry.getWarnings());
+				}
+			}
+			Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	public static String hash(byte[] content)
+	{
+		return HexFormat.of().formatHex(sha256().digest(content));
+	}
+
+	public static Set<String> importers(Map<String, List<String>> imports, Collection<String> changed)
+	{
+		Map<String, List<String>> importedBy = new HashMap<>();
+		for (Map.Entry<String, List<String>> entry : imports.entrySet()) {
+			for (String imported : entry.getValue()) {
+				importedBy.computeIfAbsent(imported, key -> new ArrayList<>()).add(entry.getKey());
+			}
+		}
+
+		Set<String> result = new HashSet<>();
+		Deque<String> pending = new ArrayDeque<>(changed);
+		while (!pending.isEmpty()) {
+			for (String importer : importedBy.getOrDefault(pending.pop(), List.of())) {
+				if (result.add(importer)) {
+					pending.push(importer);
+				}
+			}
+		}
+		return result;
+	}
+
+	public FileEntry get(String path)
+	{
+		return entries.get(path);
+	}
+
+	public void put(FileEntry entry)
+	{
+		entries.put(entry.getPath(), entry);
+	}
+
+	public void retain(Collection<String> paths)
+	{
+		entries.keySet().retainAll(paths);
+	}
+
+	public Collection<FileEntry> getEntries()
+	{
+		return entries.values();
+	}
+
+	public int size()
+	{
+		return entries.size();
+	}
+
+	public Set<String> getRebuilt()
+	{
+		return rebuilt;
+	}
+
+	public void setRebuilt(Set<String> rebuilt)
+	{
+		this.rebuilt = Set.copyOf(rebuilt);
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException
+	{
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static void writeStrings(DataOutputStream out, List<String> values) throws IOException
+	{
+		out.writeInt(values.size());
+		for (String value : values) {
+			writeString(out, value);
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException
+	{
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static List<String> readStrings(DataInputStream in) throws IOException
+	{
+		int size = in.readInt();
+		List<String> values = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			values.add(readString(in));
+		}
+		return values;
+	}
+
+	private static byte[] fingerprint()
+	{
+		MessageDigest digest = sha256();
+		digest.update(Compiler.VERSION.getBytes(StandardCharsets.UTF_8));
+
+		for (Class<?> type : new Class<?>[] { BuildSymbolTree.class, NameAnalyser.class, TypeAnalyser.class,
+				ConstantFolding.class, CodeGenerator.class, ExportCollector.class }) {
+			try (InputStream in = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+				if (in != null) {
+					digest.update(in.readAllBytes());
+				}
+			} catch (IOException ignored) {
+			}
+		}
+		return digest.digest();
+	}
+
+	private static MessageDigest sha256()
+	{
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
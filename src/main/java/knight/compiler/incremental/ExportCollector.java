@@ -0,0 +1,116 @@
+package knight.compiler.incremental;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import knight.compiler.ast.AST;
+import knight.compiler.ast.program.ASTArgument;
+import knight.compiler.ast.program.ASTClass;
+import knight.compiler.ast.program.ASTFunction;
+import knight.compiler.ast.program.ASTIdentifier;
+import knight.compiler.ast.program.ASTInterface;
+import knight.compiler.ast.program.ASTProgram;
+import knight.compiler.ast.program.ASTProperty;
+import knight.compiler.ast.program.ASTVariable;
+
+public final class ExportCollector
+{
+	private ExportCollector()
+	{
+	}
+
+	public static List<String> collect(ASTProgram program)
+	{
+		List<String> exports = new ArrayList<>();
+
+		for (AST node : program.getNodes()) {
+			if (node instanceof ASTClass) {
+				collectClass((ASTClass) node, exports);
+			} else if (node instanceof ASTInterface) {
+				collectInterface((ASTInterface) node, exports);
+			} else if (node instanceof ASTFunction) {
+				exports.add("fn " + signature((ASTFunction) node));
+			} else if (node instanceof ASTVariable) {
+				ASTVariable variable = (ASTVariable) node;
+				exports.add("var " + variable.getIdentifier() + ": " + variable.getType());
+			}
+		}
+
+		return exports;
+	}
+
+	private static void collectClass(ASTClass astClass, List<String> exports)
+	{
+		String name = astClass.getIdentifier().getName();
+		StringBuilder header = new StringBuilder("class ").append(name);
+
+		if (astClass.isAbstract()) {
+			header.append(" abstract");
+		}
+		if (astClass.getExtendsClass() != null) {
+			header.append(" extends ").append(astClass.getExtendsClass());
+		}
+		if (!astClass.getImplementsInterfaces().isEmpty()) {
+			header.append(" implements ").append(join(astClass.getImplementsInterfaces()));
+		}
+		exports.add(header.toString());
+
+		for (ASTProperty property : astClass.getProperties()) {
+			exports.add(name + "." + property.getIdentifier() + ": " + property.getType()
+					+ (property.isStatic() ? " static" : ""));
+		}
+
+		for (ASTFunction function : astClass.getFunctions()) {
+			exports.add(name + "." + signature(function));
+		}
+	}
+
+	private static void collectInterface(ASTInterface astInterface, List<String> exports)
+	{
+		String name = astInterface.getIdentifier().getName();
+		StringBuilder header = new StringBuilder("interface ").append(name);
+
+		if (!astInterface.getExtendedInterfaces().isEmpty()) {
+			header.append(" extends ").append(join(astInterface.getExtendedInterfaces()));
+		}
+		exports.add(header.toString());
+
+		for (ASTFunction function : astInterface.getFunctions()) {
+			exports.add(name + "." + signature(function));
+		}
+	}
+
+	private static String signature(ASTFunction function)
+	{
+		StringBuilder signature = new StringBuilder(function.getIdentifier().getName()).append('(');
+
+		for (int i = 0; i < function.getArgumentCount(); i++) {
+			ASTArgument argument = function.getArgument(i);
+			if (i > 0) {
+				signature.append(", ");
+			}
+			signature.append(argument.getType());
+		}
+
+		signature.append("): ").append(function.getReturnType());
+		if (function.isStatic()) {
+			signature.append(" static");
+		}
+		if (function.isAbstract()) {
+			signature.append(" abstract");
+		}
+		return signature.toString();
+	}
+
+	private static String join(List<ASTIdentifier> identifiers)
+	{
+		StringBuilder joined = new StringBuilder();
+		for (ASTIdentifier identifier : identifiers) {
+			if (joined.length() > 0) {
+				joined.append(", ");
+			}
+			joined.append(identifier.getName());
+		}
+		return joined.toString();
+	}
+}
@@ -0,0 +1,68 @@
+package knight.compiler.incremental;
+
+import java.util.List;
+
+public final class FileEntry
+{
+	private final String path;
+	private final String contentHash;
+	private final List<String> imports;
+	private final List<String> exports;
+	private final String declarations;
+	private final String implementations;
+	private final List<String> headers;
+	private final List<String> warnings;
+
+	public FileEntry(String path, String contentHash, List<String> imports, List<String> exports, String declarations,
+			String implementations, List<String> headers, List<String> warnings)
+	{
+		this.path = path;
+		this.contentHash = contentHash;
+		this.imports = List.copyOf(imports);
+		this.exports = List.copyOf(exports);
+		this.declarations = declarations;
+		this.implementations = implementations;
+		this.headers = List.copyOf(headers);
+		this.warnings = List.copyOf(warnings);
+	}
+
+	public String getPath()
+	{
+		return path;
+	}
+
+	public String getContentHash()
+	{
+		return contentHash;
+	}
+
+	public List<String> getImports()
+	{
+		return imports;
+	}
+
+	public List<String> getExports()
+	{
+		return exports;
+	}
+
+	public String getDeclarations()
+	{
+		return declarations;
+	}
+
+	public String getImplementations()
+	{
+		return implementations;
+	}
+
+	public List<String> getHeaders()
+	{
+		return headers;
+	}
+
+	public List<String> getWarnings()
+	{
+		return warnings;
+	}
+}
@@ -0,0 +1,224 @@
+package knight.compiler.lexer;
+
+public final class Keywords
+{
+	public static final Symbol EOF = new Symbol("EOF", Tokens.EOF);
+
+	private static final Symbol FN = new Symbol("fn", Tokens.FUNCTION);
+	private static final Symbol IF = new Symbol("if", Tokens.IF);
+	private static final Symbol INT = new Symbol("int", Tokens.INTEGER);
+	private static final Symbol NEW = new Symbol("new", Tokens.NEW);
+	private static final Symbol FOR = new Symbol("for", Tokens.FOR);
+	private static final Symbol RET = new Symbol("ret", Tokens.RETURN);
+	private static final Symbol BOOL = new Symbol("bool", Tokens.BOOLEAN);
+	private static final Symbol TRUE = new Symbol("true", Tokens.TRUE);
+	private static final Symbol ELSE = new Symbol("else", Tokens.ELSE);
+	private static final Symbol VOID = new Symbol("void", Tokens.VOID);
+	private static final Symbol FALSE = new Symbol("false", Tokens.FALSE);
+	private static final Symbol CLASS = new Symbol("class", Tokens.CLASS);
+	private static final Symbol WHILE = new Symbol("while", Tokens.WHILE);
+	private static final Symbol STRING = new Symbol("string", Tokens.STRING);
+	private static final Symbol PUBLIC = new Symbol("public", Tokens.PUBLIC);
+	private static final Symbol IMPORT = new Symbol("import", Tokens.IMPORT);
+	private static final Symbol STATIC = new Symbol("static", Tokens.STATIC);
+	private static final Symbol PRIVATE = new Symbol("private", Tokens.PRIVATE);
+	private static final Symbol EXTENDS = new Symbol("extends", Tokens.EXTENDS);
+	private static final Symbol DEFAULT = new Symbol("default", Tokens.DEFAULT);
+	private static final Symbol ABSTRACT = new Symbol("abstract", Tokens.ABSTRACT);
+	private static final Symbol PROTECTED = new Symbol("protected", Tokens.PROTECTED);
+	private static final Symbol INTERFACE = new Symbol("interface", Tokens.INTERFACE);
+	private static final Symbol IMPLEMENTS = new Symbol("implements", Tokens.IMPLEMENTS);
+
+	private static final Symbol ASSIGN = new Symbol("=", Tokens.ASSIGN);
+	private static final Symbol EQUALS = new Symbol("==", Tokens.EQUALS);
+	private static final Symbol NOTEQUALS = new Symbol("!=", Tokens.NOTEQUALS);
+	private static final Symbol AND = new Symbol("&&", Tokens.AND);
+	private static final Symbol OR = new Symbol("||", Tokens.OR);
+	private static final Symbol LESSTHAN = new Symbol("<", Tokens.LESSTHAN);
+	private static final Symbol LESSTHANOREQUAL = new Symbol("<=", Tokens.LESSTHANOREQUAL);
+	private static final Symbol GREATERTHAN = new Symbol(">", Tokens.GREATERTHAN);
+	private static final Symbol GREATERTHANOREQUAL = new Symbol(">=", Tokens.GREATERTHANOREQUAL);
+
+	private static final Symbol[] SINGLE_OPERATORS = new Symbol[128];
+	private static final Symbol[] BY_KIND = new Symbol[Tokens.values().length];
+	private static final boolean[] OPERATOR_KINDS = new boolean[Tokens.values().length];
+
+	static {
+		single('(', Tokens.LEFTPAREN);
+		single(')', Tokens.RIGHTPAREN);
+		single('{', Tokens.LEFTBRACE);
+		single('}', Tokens.RIGHTBRACE);
+		single('[', Tokens.LEFTBRACKET);
+		single(']', Tokens.RIGHTBRACKET);
+		single(';', Tokens.SEMICOLON);
+		single(':', Tokens.COLON);
+		single(',', Tokens.COMMA);
+		single('.', Tokens.DOT);
+		single('+', Tokens.PLUS);
+		single('-', Tokens.MINUS);
+		single('*', Tokens.TIMES);
+		single('/', Tokens.DIV);
+		single('%', Tokens.MODULUS);
+		SINGLE_OPERATORS['='] = ASSIGN;
+		SINGLE_OPERATORS['<'] = LESSTHAN;
+		SINGLE_OPERATORS['>'] = GREATERTHAN;
+
+		for (Symbol symbol : new Symbol[] { FN, IF, INT, NEW, FOR, RET, BOOL, TRUE, ELSE, VOID, FALSE, CLASS, WHILE,
+				STRING, PUBLIC, IMPORT, STATIC, PRIVATE, EXTENDS, DEFAULT, ABSTRACT, PROTECTED, INTERFACE, IMPLEMENTS,
+				EQUALS, NOTEQUALS, AND, OR, LESSTHANOREQUAL, GREATERTHANOREQUAL }) {
+			BY_KIND[symbol.getToken().ordinal()] = symbol;
+		}
+
+		for (Symbol symbol : SINGLE_OPERATORS) {
+			if (symbol != null) {
+				BY_KIND[symbol.getToken().ordinal()] = symbol;
+			}
+		}
+
+		for (Symbol symbol : BY_KIND) {
+			if (symbol != null && !Character.isLetter(symbol.getSymbol().charAt(0))) {
+				OPERATOR_KINDS[symbol.getToken().ordinal()] = true;
+			}
+		}
+	}
+
+	private Keywords()
+	{
+	}
+
+	private static void single(char c, Tokens token)
+	{
+		SINGLE_OPERATORS[c] = new Symbol(String.valueOf(c), token);
+	}
+
+	public static Symbol fixed(Tokens kind)
+	{
+		return BY_KIND[kind.ordinal()];
+	}
+
+	public static boolean isOperator(Tokens kind)
+	{
+		return OPERATOR_KINDS[kind.ordinal()];
+	}
+
+	public static Symbol operator(char c)
+	{
+		return c < SINGLE_OPERATORS.length ? SINGLE_OPERATORS[c] : null;
+	}
+
+	public static Symbol operator(char first, char second)
+	{
+		switch (first)
+		{
+			case '=':
+				return second == '=' ? EQUALS : null;
+			case '!':
+				return second == '=' ? NOTEQUALS : null;
+			case '<':
+				return second == '=' ? LESSTHANOREQUAL : null;
+			case '>':
+				return second == '=' ? GREATERTHANOREQUAL : null;
+			case '&':
+				return second == '&' ? AND : null;
+			case '|':
+				return second == '|' ? OR : null;
+			default:
+				return null;
+		}
+	}
+
+	public static Symbol keyword(String text)
+	{
+		return keyword(text.toCharArray(), 0, text.length());
+	}
+
+	public static Symbol keyword(char[] chars, int start, int length)
+	{
+		if (length < 2 || length > 10) {
+			return null;
+		}
+
+		switch (chars[start])
+		{
+			case 'a':
+				return is(chars, start, length, ABSTRACT);
+			case 'b':
+				return is(chars, start, length, BOOL);
+			case 'c':
+				return is(chars, start, length, CLASS);
+			case 'd':
+				return is(chars, start, length, DEFAULT);
+			case 'e':
+				return either(chars, start, length, ELSE, EXTENDS);
+			case 'f':
+				switch (length)
+				{
+					case 2:
+						return is(chars, start, length, FN);
+					case 3:
+						return is(chars, start, length, FOR);
+					default:
+						return is(chars, start, length, FALSE);
+				}
+			case 'i':
+				switch (length)
+				{
+					case 2:
+						return is(chars, start, length, IF);
+					case 3:
+						return is(chars, start, length, INT);
+					case 6:
+						return is(chars, start, length, IMPORT);
+					case 9:
+						return is(chars, start, length, INTERFACE);
+					default:
+						return is(chars, start, length, IMPLEMENTS);
+				}
+			case 'n':
+				return is(chars, start, length, NEW);
+			case 'p':
+				switch (length)
+				{
+					case 6:
+						return is(chars, start, length, PUBLIC);
+					case 7:
+						return is(chars, start, length, PRIVATE);
+					default:
+						return is(chars, start, length, PROTECTED);
+				}
+			case 'r':
+				return is(chars, start, length, RET);
+			case 's':
+				return either(chars, start, length, STRING, STATIC);
+			case 't':
+				return is(chars, start, length, TRUE);
+			case 'v':
+				return is(chars, start, length, VOID);
+			case 'w':
+				return is(chars, start, length, WHILE);
+			default:
+				return null;
+		}
+	}
+
+	private static Symbol either(char[] chars, int start, int length, Symbol first, Symbol second)
+	{
+		Symbol symbol = is(chars, start, length, first);
+		return symbol != null ? symbol : is(chars, start, length, second);
+	}
+
+	private static Symbol is(char[] chars, int start, int length, Symbol candidate)
+	{
+		String text = candidate.getSymbol();
+		if (text.length() != length) {
+			return null;
+		}
+
+		for (int i = 1; i < length; i++) {
+			if (text.charAt(i) != chars[start + i]) {
+				return null;
+			}
+		}
+		return candidate;
+	}
+}
@@ -2,17 +2,31 @@ package knight.compiler.lexer;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.util.Arrays;
 
 public class Lexer
 {
+	public static final int LOOKAHEAD = 4;
+
+	private static final int LOOKAHEAD_MASK = LOOKAHEAD - 1;
+
 	private final SourceReader source;
+	private final TokenStream stream;
+	private final Token[] lookahead = new Token[LOOKAHEAD];
+	private final int[] lookaheadIndex = new int[LOOKAHEAD];
+	private int cursor = 0;
 	private char currentChar;
 	private boolean exceptionOccurred = false;
 
 	public Lexer(BufferedReader bufferedReader)
 	{
-		TokenType.initialize();
+		this(bufferedReader, new SymbolTable());
+	}
+
+	public Lexer(BufferedReader bufferedReader, SymbolTable symbols)
+	{
 		source = new SourceReader(bufferedReader);
+		stream = new TokenStream(source, symbols);
 
 		try {
 			currentChar = source.read();
@@ -24,8 +38,68 @@ public class Lexer
 
 	public Token nextToken()
 	{
-		if (exceptionOccurred) {
-			return null;
+		Token token = tokenAt(cursor);
+		if (token != null) {
+			cursor++;
+		}
+		return token;
+	}
+
+	public Token peekToken()
+	{
+		return peek(1);
+	}
+
+	public Token peek(int n)
+	{
+		if (n < 1) {
+			throw new IllegalArgumentException("Lookahead must be at least 1: " + n);
+		}
+		return tokenAt(cursor + n - 1);
+	}
+
+	public void setFileId(int fileId)
+	{
+		stream.setFileId(fileId);
+		Arrays.fill(lookahead, null);
+	}
+
+	public TokenStream tokenize()
+	{
+		while (scanToken()) {
+		}
+		return stream;
+	}
+
+	public TokenStream getTokenStream()
+	{
+		return stream;
+	}
+
+	private Token tokenAt(int index)
+	{
+		while (stream.size() <= index && scanToken()) {
+		}
+
+		if (stream.size() <= index) {
+			if (stream.size() == 0 || stream.kind(stream.size() - 1) != Tokens.EOF) {
+				return null;
+			}
+			index = stream.size() - 1;
+		}
+
+		int slot = index & LOOKAHEAD_MASK;
+		if (lookahead[slot] == null || lookaheadIndex[slot] != index) {
+			lookahead[slot] = stream.token(index);
+			lookaheadIndex[slot] = index;
+		}
+		return lookahead[slot];
+	}
+
+	private boolean scanToken()
+	{
+		if (exceptionOccurred || (stream.size() > 0 && stream.kind(stream.size() - 1) == Tokens.EOF)) {
+			return false;
 		}
 
 		try {
@@ -35,7 +109,8 @@ public class Lexer
 				}
 
 				if (currentChar == SourceReader.EOF) {
-					return new Token(Symbol.symbol("EOF", Tokens.EOF), source.getRow(), source.getCol());
+					stream.add(Tokens.EOF, source.length(), 0);
+					return false;
 				}
 
 				if (currentChar == '/' && peekNext() == '/') {
@@ -52,37 +127,21 @@ public class Lexer
 			}
 
 			if (Character.isJavaIdentifierStart(currentChar)) {
-				return processIdentifier();
-			}
-
-			if (Character.isDigit(currentChar)) {
-				return processNumber();
-			}
-
-			if (currentChar == '\"') {
-				return processString();
+				processIdentifier();
+			} else if (Character.isDigit(currentChar)) {
+				processNumber();
+			} else if (currentChar == '\"') {
+				processString();
+			} else {
+				processOperator();
 			}
-
-			return processOperator();
+			return true;
 		} catch (IOException e) {
 			exceptionOccurred = true;
 			throw new LexerException("Failed to read next token", e);
 		}
 	}
 
-	public Token peekToken()
-	{
-		SourceReaderProperties snapshot = source.snapshot();
-		char savedChar = currentChar;
-
-		Token token = nextToken();
-
-		source.restore(snapshot);
-		currentChar = savedChar;
-
-		return token;
-	}
-
 	public char peekNext()
 	{
 		try {
@@ -126,70 +185,47 @@ public class Lexer
 		}
 	}
 
-	private Token processIdentifier() throws IOException
+	private void processIdentifier() throws IOException
 	{
-		int startRow = source.getRow();
-		int endCol = source.getCol();
-
-		StringBuilder sb = new StringBuilder();
-		sb.append(currentChar);
+		int start = source.snapshot() - 1;
 
-		while (true) {
+		do {
 			currentChar = source.read();
-			if (!Character.isJavaIdentifierPart(currentChar)) {
-				break;
-			}
-			sb.append(currentChar);
-			endCol++;
-		}
+		} while (Character.isJavaIdentifierPart(currentChar));
 
-		return new Token(Symbol.symbol(sb.toString(), Tokens.IDENTIFIER), startRow, endCol);
+		int length = source.snapshot() - 1 - start;
+		Symbol keyword = Keywords.keyword(source.buffer(), start, length);
+		stream.add(keyword != null ? keyword.getToken() : Tokens.IDENTIFIER, start, length);
 	}
 
-	private Token processNumber() throws IOException
+	private void processNumber() throws IOException
 	{
-		int startRow = source.getRow();
-		int endCol = source.getCol();
+		int start = source.snapshot() - 1;
 
-		StringBuilder sb = new StringBuilder();
-		sb.append(currentChar);
-
-		while (true) {
+		do {
 			currentChar = source.read();
-			if (!Character.isDigit(currentChar)) {
-				break;
-			}
-			sb.append(currentChar);
-			endCol++;
-		}
+		} while (Character.isDigit(currentChar));
 
-		return new Token(Symbol.symbol(sb.toString(), Tokens.INTEGER), startRow, endCol);
+		stream.add(Tokens.INTEGER, start, source.snapshot() - 1 - start);
 	}
 
-	private Token processString() throws IOException
+	private void processString() throws IOException
 	{
-		int startRow = source.getRow();
-		int endCol = source.getCol();
-
-		StringBuilder sb = new StringBuilder();
+		int start = source.snapshot() - 1;
 		currentChar = source.read(); // skip opening quote
-		endCol++;
 
 		boolean escapeNext = false;
 
 		while (currentChar != SourceReader.EOF) {
 			if (currentChar == '\\' && !escapeNext) {
 				escapeNext = true;
-				sb.append('\\');
 			} else if (currentChar == '\"' && !escapeNext) {
 				break; // closing quote found
 			} else {
-				sb.append(currentChar);
 				escapeNext = false;
 			}
 
 			currentChar = source.read();
-			endCol++;
 		}
 
 		if (currentChar == SourceReader.EOF) {
@@ -197,33 +233,29 @@ public class Lexer
 			throw new LexerException("Unterminated string literal");
 		}
 
+		stream.add(Tokens.STRING, start, source.snapshot() - start);
 		currentChar = source.read(); // consume closing quote
-		endCol++;
-
-		return new Token(Symbol.symbol("\"" + sb.toString() + "\"", Tokens.STRING), startRow, endCol - 1);
 	}
 
-	private Token processOperator() throws IOException
+	private void processOperator() throws IOException
 	{
-		String singleChar = String.valueOf(currentChar);
+		int start = source.snapshot() - 1;
+		char first = currentChar;
 		currentChar = source.read();
 
-		if (currentChar != SourceReader.EOF) {
-			String twoChars = singleChar + currentChar;
-			Symbol twoCharSymbol = Symbol.symbol(twoChars, Tokens.INVALID);
-
-			if (twoCharSymbol != null) {
-				currentChar = source.read();
-				return new Token(twoCharSymbol, source.getRow(), source.getCol());
-			}
+		Symbol pair = Keywords.operator(first, currentChar);
+		if (pair != null) {
+			currentChar = source.read();
+			stream.add(pair.getToken(), start, 2);
+			return;
 		}
 
-		Symbol singleCharSymbol = Symbol.symbol(singleChar, Tokens.INVALID);
-		if (singleCharSymbol == null) {
+		Symbol single = Keywords.operator(first);
+		if (single == null) {
 			exceptionOccurred = true;
-			throw new LexerException("Invalid operator: " + singleChar);
+			throw new LexerException("Invalid operator: " + first);
 		}
 
-		return new Token(singleCharSymbol, source.getRow(), source.getCol());
+		stream.add(single.getToken(), start, 1);
 	}
 }
@@ -2,18 +2,26 @@ package knight.compiler.lexer;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
 
 public class SourceReader implements AutoCloseable
 {
 	public static final char EOF = (char) -1;
 
+	private static final int INITIAL_CAPACITY = 4096;
+
 	private final BufferedReader source;
-	private SourceReaderProperties props;
+	private final char[] chars;
+	private final int length;
+	private final int[] lineStarts;
+	private final int lineCount;
+	private final BitSet emptyLines;
+
+	private int position = 0;
+	private int cachedRow = 0;
 	private boolean closed = false;
 
-	private boolean hasPeeked = false;
-	private char peekedChar;
-
 	public SourceReader(BufferedReader bufferedReader)
 	{
 		if (bufferedReader == null) {
@@ -21,79 +29,166 @@ public class SourceReader implements AutoCloseable
 		}
 
 		this.source = bufferedReader;
-		this.props = new SourceReaderProperties(source);
-	}
-
-	public char read() throws IOException
-	{
-		checkNotClosed();
 
-		if (hasPeeked) {
-			hasPeeked = false;
-			return peekedChar;
+		char[] buffer;
+		int read;
+		try {
+			buffer = new char[INITIAL_CAPACITY];
+			read = 0;
+			int n;
+			while ((n = bufferedReader.read(buffer, read, buffer.length - read)) > 0) {
+				read += n;
+				if (read == buffer.length) {
+					buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				}
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
 		}
 
-		if (props.isPriorEndLine || props.line == null) {
-			props.row++;
-			props.col = 0;
-			props.line = source.readLine();
-			props.isPriorEndLine = false;
+		BitSet empty = new BitSet();
+		int[] starts = new int[16];
+		int lines = 0;
+		int write = 0;
+		int index = 0;
+
+		while (index < read) {
+			if (lines == starts.length) {
+				starts = Arrays.copyOf(starts, lines * 2);
+			}
+			starts[lines++] = write;
 
-			if (props.line == null) {
-				return EOF;
+			int lineStart = write;
+			while (index < read && buffer[index] != '\n' && buffer[index] != '\r') {
+				buffer[write++] = buffer[index++];
 			}
 
-			if (props.line.isEmpty()) {
-				props.isPriorEndLine = true;
-				return ' ';
+			if (index < read && buffer[index] == '\r') {
+				index++;
+			}
+			if (index < read && buffer[index] == '\n') {
+				index++;
+			}
+
+			if (write == lineStart) {
+				empty.set(lines - 1);
+				buffer[write++] = ' ';
 			}
 		}
 
-		if (props.col >= props.line.length()) {
-			props.isPriorEndLine = true;
-			return ' ';
+		if (lines == starts.length) {
+			starts = Arrays.copyOf(starts, lines + 1);
 		}
+		starts[lines] = write;
+
+		this.chars = buffer;
+		this.length = write;
+		this.lineStarts = starts;
+		this.lineCount = lines;
+		this.emptyLines = empty;
+	}
 
-		char c = props.line.charAt(props.col);
-		props.col++;
+	public char read() throws IOException
+	{
+		checkNotClosed();
 
-		if (props.col >= props.line.length()) {
-			props.isPriorEndLine = true;
+		if (position >= length) {
+			position = length + 1;
+			return EOF;
 		}
 
-		return c;
+		return chars[position++];
 	}
 
 	public char peek() throws IOException
 	{
-		if (!hasPeeked) {
-			peekedChar = read();
-			hasPeeked = true;
+		checkNotClosed();
+
+		if (position >= length) {
+			return EOF;
 		}
-		return peekedChar;
+
+		return chars[position];
 	}
 
 	public int getCol()
 	{
-		return props.col;
+		return colAt(position);
 	}
 
 	public int getRow()
 	{
-		return props.row;
+		return rowAt(position);
+	}
+
+	int colAt(int position)
+	{
+		if (position == 0 || position > length) {
+			return 0;
+		}
+
+		int row = rowOf(position - 1);
+		if (emptyLines.get(row)) {
+			return 0;
+		}
+		return position - lineStarts[row];
+	}
+
+	int rowAt(int position)
+	{
+		if (position > length) {
+			return Math.max(lineCount, 1);
+		}
+
+		if (position == 0) {
+			return 0;
+		}
+
+		return rowOf(position - 1);
+	}
+
+	int length()
+	{
+		return length;
 	}
 
-	public SourceReaderProperties snapshot()
+	char[] buffer()
 	{
-		return new SourceReaderProperties(this.props);
+		return chars;
 	}
 
-	public void restore(SourceReaderProperties saved)
+	public int snapshot()
 	{
-		if (saved == null) {
-			throw new IllegalArgumentException("Saved state cannot be null");
+		return position;
+	}
+
+	public void restore(int saved)
+	{
+		if (saved < 0 || saved > length + 1) {
+			throw new IllegalArgumentException("Saved position out of range: " + saved);
+		}
+		this.position = saved;
+	}
+
+	private int rowOf(int index)
+	{
+		if (index >= lineStarts[cachedRow] && index < lineStarts[cachedRow + 1]) {
+			return cachedRow;
+		}
+
+		int low = 0;
+		int high = lineCount - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (lineStarts[mid] <= index) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
 		}
-		this.props = new SourceReaderProperties(saved);
+
+		cachedRow = low;
+		return low;
 	}
 
 	public void close()
@@ -102,8 +197,6 @@ public class SourceReader implements AutoCloseable
 			return;
 		}
 
-		Symbol.symbols.clear();
-
 		try {
 			source.close();
 		} catch (IOException ignored) {
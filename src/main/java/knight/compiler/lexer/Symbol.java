@@ -1,14 +1,11 @@
 package knight.compiler.lexer;
 
-import java.util.HashMap;
-
 public class Symbol
 {
-	private String symbol;
-	private Tokens token;
-	public static HashMap<String, Symbol> symbols = new HashMap<String, Symbol>();
+	private final String symbol;
+	private final Tokens token;
 
-	private Symbol(String symbol, Tokens token)
+	public Symbol(String symbol, Tokens token)
 	{
 		this.token = token;
 		this.symbol = symbol;
@@ -23,18 +20,4 @@ public class Symbol
 	{
 		return token;
 	}
-
-	public static Symbol symbol(String newSymbol, Tokens token)
-	{
-		Symbol symbol = symbols.get(newSymbol);
-
-		if (symbol == null) {
-			if (token == Tokens.INVALID) {
-				return null;
-			}
-			symbol = new Symbol(newSymbol, token);
-			symbols.put(newSymbol, symbol);
-		}
-		return symbol;
-	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+package knight.compiler.lexer;
+
+public class SymbolTable
+{
+	private static final int INITIAL_CAPACITY = 256;
+
+	private Symbol[] table = new Symbol[INITIAL_CAPACITY];
+	private int size = 0;
+
+	public synchronized Symbol intern(char[] chars, int start, int length, Tokens token)
+	{
+		int hash = 0;
+		for (int i = 0; i < length; i++) {
+			hash = 31 * hash + chars[start + i];
+		}
+
+		int mask = table.length - 1;
+		int index = spread(hash) & mask;
+		Symbol symbol;
+		while ((symbol = table[index]) != null) {
+			if (matches(symbol.getSymbol(), chars, start, length)) {
+				return symbol;
+			}
+			index = (index + 1) & mask;
+		}
+
+		symbol = new Symbol(new String(chars, start, length), token);
+		insert(index, symbol);
+		return symbol;
+	}
+
+	public synchronized Symbol intern(String text, Tokens token)
+	{
+		int mask = table.length - 1;
+		int index = spread(text.hashCode()) & mask;
+		Symbol symbol;
+		while ((symbol = table[index]) != null) {
+			if (symbol.getSymbol().equals(text)) {
+				return symbol;
+			}
+			index = (index + 1) & mask;
+		}
+
+		symbol = new Symbol(text, token);
+		insert(index, symbol);
+		return symbol;
+	}
+
+	public synchronized int size()
+	{
+		return size;
+	}
+
+	private void insert(int index, Symbol symbol)
+	{
+		table[index] = symbol;
+		size++;
+
+		if (size * 2 > table.length) {
+			Symbol[] old = table;
+			table = new Symbol[old.length * 2];
+			int mask = table.length - 1;
+
+			for (Symbol entry : old) {
+				if (entry != null) {
+					int slot = spread(entry.getSymbol().hashCode()) & mask;
+					while (table[slot] != null) {
+						slot = (slot + 1) & mask;
+					}
+					table[slot] = entry;
+				}
+			}
+		}
+	}
+
+	private static int spread(int hash)
+	{
+		return hash ^ (hash >>> 16);
+	}
+
+	private static boolean matches(String text, char[] chars, int start, int length)
+	{
+		if (text.length() != length) {
+			return false;
+		}
+
+		for (int i = 0; i < length; i++) {
+			if (text.charAt(i) != chars[start + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -5,12 +5,19 @@ public class Token
 	private int row;
 	private int col;
 	private Symbol symbol;
+	private int fileId;
 
 	public Token(Symbol symbol, int row, int col)
+	{
+		this(symbol, row, col, 0);
+	}
+
+	public Token(Symbol symbol, int row, int col, int fileId)
 	{
 		this.symbol = symbol;
 		this.row = row;
 		this.col = col;
+		this.fileId = fileId;
 	}
 
 	public int getRow()
@@ -23,6 +30,11 @@ public class Token
 		return col;
 	}
 
+	public int getFileId()
+	{
+		return fileId;
+	}
+
 	public Tokens getToken()
 	{
 		return symbol.getToken();
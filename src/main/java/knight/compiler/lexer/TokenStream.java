@@ -0,0 +1,100 @@
+package knight.compiler.lexer;
+
+import java.util.Arrays;
+
+public class TokenStream
+{
+	private static final Tokens[] KINDS = Tokens.values();
+	private static final int FIELDS = 3;
+
+	private final SourceReader source;
+	private final SymbolTable symbols;
+	private int[] data;
+	private int size = 0;
+	private int fileId;
+
+	TokenStream(SourceReader source, SymbolTable symbols)
+	{
+		this.source = source;
+		this.symbols = symbols;
+		this.data = new int[FIELDS * Math.max(256, source.length() / 8)];
+	}
+
+	void add(Tokens kind, int start, int length)
+	{
+		int index = size * FIELDS;
+		if (index == data.length) {
+			data = Arrays.copyOf(data, data.length * 2);
+		}
+
+		data[index] = kind.ordinal();
+		data[index + 1] = start;
+		data[index + 2] = length;
+		size++;
+	}
+
+	void setFileId(int fileId)
+	{
+		this.fileId = fileId;
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public Tokens kind(int index)
+	{
+		return KINDS[data[checkIndex(index) * FIELDS]];
+	}
+
+	public int start(int index)
+	{
+		return data[checkIndex(index) * FIELDS + 1];
+	}
+
+	public int length(int index)
+	{
+		return data[checkIndex(index) * FIELDS + 2];
+	}
+
+	public String text(int index)
+	{
+		return new String(source.buffer(), start(index), length(index));
+	}
+
+	public Token token(int index)
+	{
+		Tokens kind = kind(index);
+		if (kind == Tokens.EOF) {
+			return new Token(Keywords.EOF, source.rowAt(source.length() + 1), 0, fileId);
+		}
+
+		char[] chars = source.buffer();
+		int start = start(index);
+		int length = length(index);
+
+		if (Keywords.isOperator(kind)) {
+			int next = Math.min(start + length + 1, source.length() + 1);
+			return new Token(Keywords.fixed(kind), source.rowAt(next), source.colAt(next), fileId);
+		}
+
+		Symbol symbol = null;
+		if (kind != Tokens.IDENTIFIER && Character.isLetter(chars[start])) {
+			symbol = Keywords.fixed(kind);
+		}
+		if (symbol == null) {
+			symbol = symbols.intern(chars, start, length, kind);
+		}
+
+		return new Token(symbol, source.rowAt(start + 1), source.colAt(start + 1) + length - 1, fileId);
+	}
+
+	private int checkIndex(int index)
+	{
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Token index " + index + " out of range 0.." + size);
+		}
+		return index;
+	}
+}
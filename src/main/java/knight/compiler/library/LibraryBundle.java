@@ -0,0 +1,70 @@
+package knight.compiler.library;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class LibraryBundle
+{
+	public static final String STANDARD_LIBRARY = "std";
+
+	private static final String EXTENSION = ".knight";
+	private static LibraryBundle defaultBundle;
+
+	private final Map<String, byte[]> sources;
+	private final StandardLibrary standardLibrary;
+
+	public LibraryBundle(Map<String, byte[]> sources)
+	{
+		this.sources = Map.copyOf(sources);
+
+		byte[] standard = sources.get(STANDARD_LIBRARY);
+		this.standardLibrary = standard != null ? StandardLibrary.fromSource(STANDARD_LIBRARY + EXTENSION, standard)
+				: null;
+	}
+
+	public static synchronized LibraryBundle getDefault()
+	{
+		if (defaultBundle == null) {
+			defaultBundle = load(LibraryManager.getLibraryDirectory());
+		}
+		return defaultBundle;
+	}
+
+	public static LibraryBundle load(File directory)
+	{
+		Map<String, byte[]> sources = new HashMap<>();
+		File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+
+		if (files != null) {
+			for (File file : files) {
+				try {
+					String name = file.getName();
+					sources.put(name.substring(0, name.length() - EXTENSION.length()),
+							Files.readAllBytes(file.toPath()));
+				} catch (IOException e) {
+					System.err.println("Failed to load library: " + file.getPath() + " - " + e.getMessage());
+				}
+			}
+		}
+
+		return new LibraryBundle(sources);
+	}
+
+	public byte[] getSource(String name)
+	{
+		return sources.get(name);
+	}
+
+	public boolean isStandardLibrary(String name)
+	{
+		return STANDARD_LIBRARY.equals(name);
+	}
+
+	public StandardLibrary getStandardLibrary()
+	{
+		return standardLibrary;
+	}
+}
@@ -6,13 +6,20 @@ import java.io.FileReader;
 import java.util.HashMap;
 import java.util.Map;
 
+import knight.compiler.CompilationContext;
 import knight.compiler.ast.AST;
+import knight.compiler.ast.SourceFileTable;
 import knight.compiler.ast.program.ASTProgram;
 import knight.compiler.lexer.Lexer;
 import knight.compiler.parser.Parser;
 
 public class LibraryManager
 {
+	public static final String STD_LIBRARY_PATH = "share/std.knight";
+	public static final String HOME_PROPERTY = "knight.home";
+
+	private static final File HOME = resolveHome();
+
 	private static final Map<String, LibraryFunction> builtinFunctions = new HashMap<>();
 
 	static {
@@ -24,24 +31,63 @@ public class LibraryManager
 		registerBuiltIn("__builtin_length", "int", new String[] { "string" }, "return %s.length();");
 	}
 
-	public static ASTProgram loadStandardLibrary()
+	public static File getHome()
+	{
+		return HOME;
+	}
+
+	public static File getStandardLibraryFile()
+	{
+		return new File(HOME, STD_LIBRARY_PATH);
+	}
+
+	public static File getLibraryDirectory()
+	{
+		return getStandardLibraryFile().getParentFile();
+	}
+
+	private static File resolveHome()
+	{
+		String home = System.getProperty(HOME_PROPERTY);
+		return new File(home != null ? home : System.getProperty("user.dir")).getAbsoluteFile();
+	}
+
+	public static ASTProgram loadStandardLibrary(CompilationContext context)
+	{
+		return loadStandardLibrary(context, getStandardLibraryFile());
+	}
+
+	public static ASTProgram loadStandardLibrary(CompilationContext context, File file)
+	{
+		if (!file.exists()) {
+			return null;
+		}
+
+		try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+			return loadStandardLibrary(context, reader, file.getPath());
+		} catch (Exception e) {
+			System.err.println("Error parsing file: " + file.getPath() + " - " + e.getMessage());
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	public static ASTProgram loadStandardLibrary(CompilationContext context, BufferedReader reader, String name)
 	{
 		ASTProgram astProgram = null;
 
-		File file = new File("share/std.knight");
 		try {
-			if (file.exists()) {
-				BufferedReader reader = new BufferedReader(new FileReader(file));
-				Lexer lexer = new Lexer(reader);
-				Parser parser = new Parser(lexer);
-				AST ast = parser.parse();
-
-				if (ast instanceof ASTProgram) {
-					astProgram = (ASTProgram) ast;
-				}
+			Lexer lexer = new Lexer(reader, context.getSymbolTable());
+			lexer.setFileId(SourceFileTable.STANDARD_LIBRARY);
+			context.getSourceFiles().setStandardLibrary(name);
+			Parser parser = new Parser(lexer);
+			AST ast = parser.parse();
+
+			if (ast instanceof ASTProgram) {
+				astProgram = (ASTProgram) ast;
 			}
 		} catch (Exception e) {
-			System.err.println("Error parsing file: " + file.getPath() + " - " + e.getMessage());
+			System.err.println("Error parsing file: " + name + " - " + e.getMessage());
 			e.printStackTrace();
 		}
 
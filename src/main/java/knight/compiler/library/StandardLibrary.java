@@ -0,0 +1,169 @@
+package knight.compiler.library;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.util.List;
+
+import knight.compiler.CompilationContext;
+import knight.compiler.ast.AST;
+import knight.compiler.ast.program.ASTClass;
+import knight.compiler.ast.program.ASTFunction;
+import knight.compiler.ast.program.ASTInterface;
+import knight.compiler.ast.program.ASTProgram;
+import knight.compiler.ast.program.ASTVariable;
+import knight.compiler.optimizations.ConstantFolding;
+import knight.compiler.semantics.BuildSymbolTree;
+import knight.compiler.semantics.NameAnalyser;
+import knight.compiler.semantics.TypeAnalyser;
+import knight.compiler.semantics.diagnostics.Diagnostic;
+import knight.compiler.semantics.diagnostics.DiagnosticReporter;
+import knight.compiler.semantics.model.SemanticModel;
+import knight.compiler.semantics.model.SymbolClass;
+import knight.compiler.semantics.model.SymbolFunction;
+import knight.compiler.semantics.model.SymbolInterface;
+import knight.compiler.semantics.model.SymbolProgram;
+import knight.compiler.semantics.model.SymbolVariable;
+
+public final class StandardLibrary
+{
+	private static StandardLibrary cached;
+
+	private final String path;
+	private final long lastModified;
+	private final ASTProgram program;
+	private final SymbolProgram symbols;
+	private final SemanticModel semanticModel;
+	private final List<Diagnostic> diagnostics;
+
+	private StandardLibrary(String path, long lastModified, ASTProgram program, SymbolProgram symbols,
+			SemanticModel semanticModel, List<Diagnostic> diagnostics)
+	{
+		this.path = path;
+		this.lastModified = lastModified;
+		this.program = program;
+		this.symbols = symbols;
+		this.semanticModel = semanticModel;
+		this.diagnostics = diagnostics;
+	}
+
+	public static StandardLibrary get()
+	{
+		return get(LibraryManager.getStandardLibraryFile());
+	}
+
+	public static synchronized StandardLibrary get(File file)
+	{
+		if (!file.exists()) {
+			return null;
+		}
+
+		String path = file.getAbsolutePath();
+		long lastModified = file.lastModified();
+		if (cached != null && cached.path.equals(path) && cached.lastModified == lastModified) {
+			return cached;
+		}
+
+		StandardLibrary library = load(file, path, lastModified);
+		if (library != null) {
+			cached = library;
+		}
+		return library;
+	}
+
+	public static StandardLibrary fromSource(String name, byte[] source)
+	{
+		CompilationContext context = new CompilationContext();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(source)));
+		return build(context, LibraryManager.loadStandardLibrary(context, reader, name), name, 0);
+	}
+
+	private static StandardLibrary load(File file, String path, long lastModified)
+	{
+		CompilationContext context = new CompilationContext();
+		return build(context, LibraryManager.loadStandardLibrary(context, file), path, lastModified);
+	}
+
+	private static StandardLibrary build(CompilationContext context, ASTProgram program, String path, long lastModified)
+	{
+		if (program == null) {
+			return null;
+		}
+
+		SymbolProgram symbols = new SymbolProgram(context.getCounter());
+		new BuildSymbolTree(context, symbols).visit(program);
+		symbols.buildMemberTables();
+		context.getSemanticModel().getTypeTable().setHierarchy(symbols);
+		new NameAnalyser(context, symbols).visit(program);
+		new TypeAnalyser(context, symbols).visit(program);
+		ConstantFolding.optimize(program, context.getSemanticModel());
+
+		return new StandardLibrary(path, lastModified, program, symbols, context.getSemanticModel(),
+				List.copyOf(context.getDiagnosticReporter().getDiagnostics()));
+	}
+
+	public void attach(CompilationContext context)
+	{
+		context.getSourceFiles().setStandardLibrary(path);
+		context.getSemanticModel().setStandardLibrary(semanticModel);
+	}
+
+	public void install(SymbolProgram symbolProgram, DiagnosticReporter diagnosticReporter)
+	{
+		diagnosticReporter.report(diagnostics);
+
+		for (AST node : program.getNodes()) {
+			if (node instanceof ASTFunction) {
+				String name = ((ASTFunction) node).getIdentifier().getName();
+				SymbolFunction symbolFunction = symbols.getGlobalFunction(name);
+				if (symbolFunction != null && !symbolProgram.addGlobalFunction(symbolFunction)) {
+					diagnosticReporter.error(node.getToken(), "Function " + name + " already defined");
+				}
+			} else if (node instanceof ASTClass) {
+				String name = ((ASTClass) node).getIdentifier().getName();
+				SymbolClass symbolClass = symbols.getClass(name);
+				if (symbolClass != null && !symbolProgram.addClass(symbolClass)) {
+					diagnosticReporter.error(node.getToken(), "Class " + name + " is already defined!");
+				}
+			} else if (node instanceof ASTInterface) {
+				String name = ((ASTInterface) node).getIdentifier().getName();
+				SymbolInterface symbolInterface = symbols.getInterface(name);
+				if (symbolInterface != null && !symbolProgram.addInterface(symbolInterface)) {
+					diagnosticReporter.error(node, "Interface " + name + " already defined");
+				}
+			} else if (node instanceof ASTVariable) {
+				String name = ((ASTVariable) node).getIdentifier().getName();
+				SymbolVariable symbolVariable = symbols.getGlobalVariable(name);
+				if (symbolVariable != null && !symbolProgram.addGlobalVariable(symbolVariable)) {
+					diagnosticReporter.error(node, "Global variable " + name + " already declared");
+				}
+			}
+		}
+	}
+
+	public ASTProgram getProgram()
+	{
+		return program;
+	}
+
+	public SymbolProgram getSymbols()
+	{
+		return symbols;
+	}
+
+	public SemanticModel getSemanticModel()
+	{
+		return semanticModel;
+	}
+
+	public String getPath()
+	{
+		return path;
+	}
+
+	public boolean isProgram(ASTProgram astProgram)
+	{
+		return astProgram == program;
+	}
+}
@@ -59,18 +59,34 @@ import knight.compiler.ast.types.ASTIntType;
 import knight.compiler.ast.types.ASTParameterizedType;
 import knight.compiler.ast.types.ASTStringArrayType;
 import knight.compiler.ast.types.ASTStringType;
-import knight.compiler.ast.types.ASTType;
 import knight.compiler.ast.types.ASTVoidType;
+import knight.compiler.semantics.model.SemanticModel;
+import knight.compiler.semantics.model.TypeTable;
 
 public class ConstantFolding implements ASTVisitor<ASTExpression>
 {
+	private final SemanticModel semanticModel;
 	private int changes;
 	private boolean debug = false;
 
-	public static void optimize(AST program)
+	public ConstantFolding()
 	{
-		ConstantFolding optimizer = new ConstantFolding();
-		optimizer.setDebug(true);
+		this(new SemanticModel());
+	}
+
+	public ConstantFolding(SemanticModel semanticModel)
+	{
+		this.semanticModel = semanticModel;
+	}
+
+	public static int optimize(AST program)
+	{
+		return optimize(program, new SemanticModel());
+	}
+
+	public static int optimize(AST program, SemanticModel semanticModel)
+	{
+		ConstantFolding optimizer = new ConstantFolding(semanticModel);
 		int totalChanges = 0;
 
 		do {
@@ -79,9 +95,7 @@ public class ConstantFolding implements ASTVisitor<ASTExpression>
 			totalChanges += optimizer.changes;
 		} while (optimizer.changes > 0);
 
-		if (optimizer.debug) {
-			System.out.println("[ConstantFolding] Total optimizations: " + totalChanges);
-		}
+		return totalChanges;
 	}
 
 	public void setDebug(boolean debug)
@@ -105,7 +119,7 @@ public class ConstantFolding implements ASTVisitor<ASTExpression>
 	{
 		incChanges();
 		ASTIntLiteral lit = new ASTIntLiteral(source.getToken(), value);
-		lit.setType(new ASTIntType(source.getToken()));
+		semanticModel.setTypeId(lit, TypeTable.INT);
 		return lit;
 	}
 
@@ -113,7 +127,7 @@ public class ConstantFolding implements ASTVisitor<ASTExpression>
 	{
 		incChanges();
 		ASTExpression lit = value ? new ASTTrue(source.getToken()) : new ASTFalse(source.getToken());
-		lit.setType(new ASTBooleanType(source.getToken()));
+		semanticModel.setTypeId(lit, TypeTable.BOOLEAN);
 		return lit;
 	}
 
@@ -121,7 +135,7 @@ public class ConstantFolding implements ASTVisitor<ASTExpression>
 	{
 		incChanges();
 		ASTStringLiteral lit = new ASTStringLiteral(source.getToken(), value);
-		lit.setType(new ASTStringType(source.getToken()));
+		semanticModel.setTypeId(lit, TypeTable.STRING);
 		return lit;
 	}
 
@@ -190,7 +204,7 @@ public class ConstantFolding implements ASTVisitor<ASTExpression>
 		astPlus.setLeft(astPlus.getLeft().accept(this));
 		astPlus.setRight(astPlus.getRight().accept(this));
 
-		if (astPlus.getType() instanceof ASTIntType) {
+		if (semanticModel.getTypeId(astPlus) == TypeTable.INT) {
 
 			if (astPlus.getLeft()instanceof ASTIntLiteral left && astPlus.getRight()instanceof ASTIntLiteral right) {
 				int result = left.getValue() + right.getValue();
@@ -243,7 +257,7 @@ public class ConstantFolding implements ASTVisitor<ASTExpression>
 		} else if (isIntLiteral(astTimes.getRight(), 2)) {
 			logOptimization("Strength reduction: multiplication by 2 to addition");
 			ASTPlus plus = new ASTPlus(astTimes.getToken(), astTimes.getLeft(), astTimes.getRight());
-			plus.setType(astTimes.getType());
+			semanticModel.setTypeId(plus, semanticModel.getTypeId(astTimes));
 			return plus.accept(this);
 		} else if (isIntLiteral(astTimes.getRight(), 1)) {
 			logOptimization("Identity optimization: x * 1 = x");
@@ -301,15 +315,15 @@ public class ConstantFolding implements ASTVisitor<ASTExpression>
 		astEquals.setLeft(astEquals.getLeft().accept(this));
 		astEquals.setRight(astEquals.getRight().accept(this));
 
-		ASTType type = astEquals.getType();
-		if (type instanceof ASTIntType) {
+		int type = semanticModel.getTypeId(astEquals);
+		if (type == TypeTable.INT) {
 			if (astEquals.getLeft()instanceof ASTIntLiteral left
 					&& astEquals.getRight()instanceof ASTIntLiteral right) {
 				boolean result = left.getValue() == right.getValue();
 				logOptimization("Folded int comparison");
 				return createBoolLiteral(astEquals, result);
 			}
-		} else if (type instanceof ASTBooleanType) {
+		} else if (type == TypeTable.BOOLEAN) {
 			if ((astEquals.getLeft() instanceof ASTTrue && astEquals.getRight() instanceof ASTTrue)
 					|| (astEquals.getLeft() instanceof ASTFalse && astEquals.getRight() instanceof ASTFalse)) {
 				logOptimization("Folded boolean equality (true)");
@@ -319,7 +333,7 @@ public class ConstantFolding implements ASTVisitor<ASTExpression>
 				logOptimization("Folded boolean equality (false)");
 				return createBoolLiteral(astEquals, false);
 			}
-		} else if (type instanceof ASTStringType) {
+		} else if (type == TypeTable.STRING) {
 			if (astEquals.getLeft()instanceof ASTStringLiteral left
 					&& astEquals.getRight()instanceof ASTStringLiteral right) {
 				boolean result = left.getValue().equals(right.getValue());
@@ -63,22 +63,40 @@ import knight.compiler.ast.types.ASTStringType;
 import knight.compiler.ast.types.ASTType;
 import knight.compiler.ast.types.ASTVoidType;
 import knight.compiler.lexer.Lexer;
-import knight.compiler.lexer.Symbol;
 import knight.compiler.lexer.Token;
 import knight.compiler.lexer.Tokens;
 
 public class Parser
 {
+	private static final int[] PRIORITIES = new int[Tokens.values().length];
+
+	static {
+		PRIORITIES[Tokens.OR.ordinal()] = 1;
+		PRIORITIES[Tokens.AND.ordinal()] = 2;
+		PRIORITIES[Tokens.EQUALS.ordinal()] = 3;
+		PRIORITIES[Tokens.NOTEQUALS.ordinal()] = 3;
+		PRIORITIES[Tokens.LESSTHAN.ordinal()] = 3;
+		PRIORITIES[Tokens.LESSTHANOREQUAL.ordinal()] = 3;
+		PRIORITIES[Tokens.GREATERTHAN.ordinal()] = 3;
+		PRIORITIES[Tokens.GREATERTHANOREQUAL.ordinal()] = 3;
+		PRIORITIES[Tokens.PLUS.ordinal()] = 4;
+		PRIORITIES[Tokens.MINUS.ordinal()] = 4;
+		PRIORITIES[Tokens.MODULUS.ordinal()] = 4;
+		PRIORITIES[Tokens.TIMES.ordinal()] = 5;
+		PRIORITIES[Tokens.DIV.ordinal()] = 5;
+		PRIORITIES[Tokens.LEFTBRACKET.ordinal()] = 7;
+	}
+
 	public Lexer lexer;
 	public Token token;
-	private static final Token SENTINEL = new Token(Symbol.symbol("SENTINEL", Tokens.SENTINEL), 0, 0);
-	private Deque<Token> stOperator = new ArrayDeque<>();
-	private Deque<ASTExpression> stOperand = new ArrayDeque<>();
+	private final Deque<Task> tasks = new ArrayDeque<>();
+	private final List<Object> values = new ArrayList<>();
+	private boolean failed = false;
+	private int nodeId = 0;
 
 	public Parser(Lexer lexer)
 	{
 		this.lexer = lexer;
-		stOperator.push(SENTINEL);
 	}
 
 	public AST parse() throws ParseException
@@ -131,10 +149,22 @@ public class Parser
 			} while (token.getToken() != Tokens.EOF);
 
 		} catch (Exception e) {
+			failed = true;
 			e.printStackTrace();
 		}
 
-		return new ASTProgram(token, importList, nodeList);
+		return node(new ASTProgram(token, importList, nodeList));
+	}
+
+	private <T extends AST> T node(T node)
+	{
+		node.setId(++nodeId);
+		return node;
+	}
+
+	public boolean hasErrors()
+	{
+		return failed;
 	}
 
 	public List<ASTImport> parseImports() throws ParseException
@@ -146,7 +176,7 @@ public class Parser
 			eat(Tokens.IMPORT);
 
 			if (token.getToken() == Tokens.IDENTIFIER) {
-				importList.add(new ASTImport(tok, this.parseIdentifier()));
+				importList.add(node(new ASTImport(tok, this.parseIdentifier())));
 			} else {
 				eat(Tokens.STRING);
 			}
@@ -178,7 +208,7 @@ public class Parser
 		}
 
 		eat(Tokens.RIGHTBRACE);
-		return new ASTInterface(token, name, functions, extendsInterfaces);
+		return node(new ASTInterface(token, name, functions, extendsInterfaces));
 	}
 
 	private ASTFunction parseInterfaceFunction() throws ParseException
@@ -192,7 +222,7 @@ public class Parser
 		ASTBody body = null;
 		eat(Tokens.SEMICOLON);
 
-		return new ASTFunction(token, returnType, name, params, body, false, false);
+		return node(new ASTFunction(token, returnType, name, params, body, false, false));
 	}
 
 	public ASTClass parseClass(boolean isAbstract, boolean isStatic) throws ParseException
@@ -229,11 +259,16 @@ public class Parser
 		}
 		eat(Tokens.RIGHTBRACE);
 
-		return new ASTClass(className.getToken(), className, propertyList, functionList, extendsClass,
-				implementsInterfaces, isAbstract, isStatic);
+		return node(new ASTClass(className.getToken(), className, propertyList, functionList, extendsClass,
+				implementsInterfaces, isAbstract, isStatic));
 	}
 
 	public ASTFunction parseFunction(boolean isAbstract, boolean isStatic) throws ParseException
+	{
+		return run(() -> function(isAbstract, isStatic));
+	}
+
+	private void function(boolean isAbstract, boolean isStatic) throws ParseException
 	{
 		eat(Tokens.FUNCTION);
 		ASTIdentifier id = parseIdentifier();
@@ -243,66 +278,83 @@ public class Parser
 
 		if (isAbstract) {
 			eat(Tokens.SEMICOLON);
-			return new ASTFunction(token, returnType, id, argumentList, null, isAbstract, isStatic);
+			push(node(new ASTFunction(token, returnType, id, argumentList, null, isAbstract, isStatic)));
+			return;
 		}
 
 		eat(Tokens.LEFTBRACE);
 
-		ASTBody body = this.parseBody();
+		nest(this::block, () -> {
+			ASTBody body = pop();
+			eat(Tokens.RIGHTBRACE);
+			push(node(new ASTFunction(token, returnType, id, argumentList, body, isAbstract, isStatic)));
+		});
+	}
 
-		eat(Tokens.RIGHTBRACE);
+	private ASTBody parseBody() throws ParseException
+	{
+		return run(this::block);
+	}
 
-		return new ASTFunction(token, returnType, id, argumentList, body, isAbstract, isStatic);
+	private void block() throws ParseException
+	{
+		statements(token, new ArrayList<>());
 	}
 
-	private ASTBody parseBody() throws ParseException
+	private void statements(Token tok, List<AST> nodes) throws ParseException
 	{
-		Token tok = token;
-		List<AST> nodes = new ArrayList<>();
+		if (token.getToken() == Tokens.RIGHTBRACE) {
+			push(node(new ASTBody(tok, nodes)));
+			return;
+		}
 
-		while (token.getToken() != Tokens.RIGHTBRACE) {
-			boolean isStatic = matchAndConsume(Tokens.STATIC);
-			boolean isAbstract = matchAndConsume(Tokens.ABSTRACT);
-
-			switch (token.getToken())
-			{
-				case WHILE:
-				case FOR:
-				case RETURN:
-				case IF: {
-					nodes.add(parseStatement());
-				}
-				break;
+		nest(this::blockStatement, () -> {
+			nodes.add(pop());
+			statements(tok, nodes);
+		});
+	}
 
-				case INTEGER:
-				case STRING:
-				case BOOLEAN: {
-					nodes.add(parseVariable(isStatic));
-				}
-				break;
+	private void blockStatement() throws ParseException
+	{
+		boolean isStatic = matchAndConsume(Tokens.STATIC);
+		boolean isAbstract = matchAndConsume(Tokens.ABSTRACT);
 
-				case FUNCTION: {
-					nodes.add(parseFunction(isAbstract, isStatic));
-				}
-				break;
-
-				case IDENTIFIER: {
-					if (peek().getToken() != Tokens.ASSIGN && peek().getToken() != Tokens.LEFTPAREN
-							&& peek().getToken() != Tokens.DOT) {
-						nodes.add(parseVariable(isStatic));
-					} else {
-						nodes.add(parseStatement());
-					}
-				}
-				break;
+		switch (token.getToken())
+		{
+			case WHILE:
+			case FOR:
+			case RETURN:
+			case IF: {
+				statement();
+			}
+			break;
 
-				default: {
-					throw new ParseException(token.getRow(), token.getCol(), "Invalid token :" + token.getToken());
+			case INTEGER:
+			case STRING:
+			case BOOLEAN: {
+				variable(isStatic);
+			}
+			break;
+
+			case FUNCTION: {
+				function(isAbstract, isStatic);
+			}
+			break;
+
+			case IDENTIFIER: {
+				if (peek().getToken() != Tokens.ASSIGN && peek().getToken() != Tokens.LEFTPAREN
+						&& peek().getToken() != Tokens.DOT) {
+					variable(isStatic);
+				} else {
+					statement();
 				}
 			}
-		}
+			break;
 
-		return new ASTBody(tok, nodes);
+			default: {
+				throw new ParseException(token.getRow(), token.getCol(), "Invalid token :" + token.getToken());
+			}
+		}
 	}
 
 	public ASTProperty parseProperty(boolean isStatic) throws ParseException
@@ -317,51 +369,78 @@ public class Parser
 		}
 
 		eat(Tokens.SEMICOLON);
-		return new ASTProperty(token, type, identifier, expression, isStatic);
+		return node(new ASTProperty(token, type, identifier, expression, isStatic));
 	}
 
 	public ASTVariable parseVariable(boolean isStatic) throws ParseException
+	{
+		return run(() -> variable(isStatic));
+	}
+
+	private void variable(boolean isStatic) throws ParseException
 	{
 		ASTType type = parseType();
 		ASTIdentifier id = parseIdentifier();
-		ASTVariable variable = null;
 
 		if (checkNotNull(token).getToken() == Tokens.SEMICOLON) {
-			variable = new ASTVariable(token, type, id, isStatic);
+			ASTVariable variable = node(new ASTVariable(token, type, id, isStatic));
 			eat(Tokens.SEMICOLON);
+			push(variable);
 		} else if (checkNotNull(token).getToken() == Tokens.ASSIGN) {
 			eat(Tokens.ASSIGN);
-			ASTExpression expr = parseExpression();
-			variable = new ASTVariableInit(token, type, id, expr, isStatic);
+			nest(this::expression, () -> {
+				ASTExpression expr = pop();
+				push(node(new ASTVariableInit(token, type, id, expr, isStatic)));
+			});
 		} else {
-			variable = new ASTVariable(token, type, id, isStatic);
+			push(node(new ASTVariable(token, type, id, isStatic)));
 		}
-
-		return variable;
 	}
 
 	public ASTExpression parseExpression() throws ParseException
 	{
 		try {
-			parseExpr();
-			Token tok = stOperator.peek();
-			while (tok.getToken() != Tokens.SENTINEL) {
-				popOperator();
-				tok = stOperator.peek();
-			}
+			return run(this::expression);
+		} catch (ParseException pe) {
+			throw pe;
+		} catch (Exception e) {
+			System.err.println("Parser Error " + token.getRow() + ":" + token.getCol());
+			throw e;
+		}
+	}
 
+	private void expression() throws ParseException
+	{
+		nest(() -> expression(0), () -> {
 			if (checkNotNull(token).getToken() == Tokens.SEMICOLON) {
 				eat(Tokens.SEMICOLON);
 			}
+		});
+	}
 
-			return stOperand.pop();
+	private void expressions(Tokens end, Task done) throws ParseException
+	{
+		List<ASTExpression> expressions = new ArrayList<>();
+		if (token.getToken() == end) {
+			push(expressions);
+			done.run();
+			return;
+		}
 
-		} catch (ParseException pe) {
-			throw pe;
-		} catch (Exception e) {
-			System.err.println("Parser Error " + token.getRow() + ":" + token.getCol());
-			throw e;
+		nest(this::expression, () -> nextExpression(expressions, done));
+	}
+
+	private void nextExpression(List<ASTExpression> expressions, Task done) throws ParseException
+	{
+		expressions.add(pop());
+		if (token.getToken() == Tokens.COMMA) {
+			eat(Tokens.COMMA);
+			nest(this::expression, () -> nextExpression(expressions, done));
+			return;
 		}
+
+		push(expressions);
+		done.run();
 	}
 
 	public List<ASTArgument> parseArguments() throws ParseException
@@ -384,94 +463,78 @@ public class Parser
 	{
 		ASTType type = parseType();
 		ASTIdentifier identifier = parseIdentifier();
-		return new ASTArgument(token, type, identifier);
+		return node(new ASTArgument(token, type, identifier));
 	}
 
 	public ASTStatement parseStatement() throws ParseException
+	{
+		return run(this::statement);
+	}
+
+	private void statement() throws ParseException
 	{
 		switch (token.getToken())
 		{
 
 			case LEFTBRACE: {
-				ASTBody body = this.parseBody();
-				return body;
+				block();
 			}
+			break;
 
 			case IF: {
 				Token tok = token;
 				eat(Tokens.IF);
-				eat(Tokens.LEFTPAREN);
-				ASTExpression condition = parseExpression();
-				eat(Tokens.RIGHTPAREN);
-				eat(Tokens.LEFTBRACE);
-
-				ASTBody ifBody = this.parseBody();
-				eat(Tokens.RIGHTBRACE);
-
-				List<ASTConditionalBranch> branches = new ArrayList<>();
-				branches.add(new ASTConditionalBranch(tok, condition, ifBody));
-
-				ASTBody elseBody = null;
-
-				while (token.getToken() == Tokens.ELSE) {
-					eat(Tokens.ELSE);
-
-					if (token.getToken() == Tokens.IF) {
-						eat(Tokens.IF);
-						eat(Tokens.LEFTPAREN);
-						condition = parseExpression();
-						eat(Tokens.RIGHTPAREN);
-						eat(Tokens.LEFTBRACE);
-						ASTBody elseIfBody = this.parseBody();
-						eat(Tokens.RIGHTBRACE);
-
-						branches.add(new ASTConditionalBranch(tok, condition, elseIfBody));
-					} else {
-						eat(Tokens.LEFTBRACE);
-						elseBody = parseBody();
-						eat(Tokens.RIGHTBRACE);
-						break;
-					}
-				}
-				ASTIfChain result = new ASTIfChain(tok, branches, elseBody);
-
-				return result;
+				conditionalBranch(tok, new ArrayList<>());
 			}
+			break;
 
 			case FOR: {
 				Token tok = token;
 				eat(Tokens.FOR);
 				eat(Tokens.LEFTPAREN);
-				ASTVariable variable = this.parseVariable(false);
-				eat(Tokens.COLON);
-				ASTExpression iterable = this.parseExpression();
-				eat(Tokens.RIGHTPAREN);
-				eat(Tokens.LEFTBRACE);
-				ASTBody body = this.parseBody();
-				eat(Tokens.RIGHTBRACE);
-				return new ASTForEach(tok, variable, iterable, body);
+				nest(() -> variable(false), () -> {
+					ASTVariable variable = pop();
+					eat(Tokens.COLON);
+					nest(this::expression, () -> {
+						ASTExpression iterable = pop();
+						eat(Tokens.RIGHTPAREN);
+						eat(Tokens.LEFTBRACE);
+						nest(this::block, () -> {
+							ASTBody body = pop();
+							eat(Tokens.RIGHTBRACE);
+							push(node(new ASTForEach(tok, variable, iterable, body)));
+						});
+					});
+				});
 			}
+			break;
 
 			case WHILE: {
 				Token tok = token;
 				eat(Tokens.WHILE);
 				eat(Tokens.LEFTPAREN);
-				ASTExpression expr = this.parseExpression();
-				eat(Tokens.RIGHTPAREN);
-				eat(Tokens.LEFTBRACE);
-				ASTBody body = this.parseBody();
-				eat(Tokens.RIGHTBRACE);
-				ASTWhile result = new ASTWhile(tok, expr, body);
-				return result;
+				nest(this::expression, () -> {
+					ASTExpression expr = pop();
+					eat(Tokens.RIGHTPAREN);
+					eat(Tokens.LEFTBRACE);
+					nest(this::block, () -> {
+						ASTBody body = pop();
+						eat(Tokens.RIGHTBRACE);
+						push(node(new ASTWhile(tok, expr, body)));
+					});
+				});
 			}
+			break;
 
 			case RETURN: {
 				Token tok = token;
 				eat(Tokens.RETURN);
-				ASTExpression returnExpr = parseExpression();
-				ASTReturnStatement returnStatement = new ASTReturnStatement(tok, returnExpr);
-				return returnStatement;
+				nest(this::expression, () -> {
+					ASTExpression returnExpr = pop();
+					push(node(new ASTReturnStatement(tok, returnExpr)));
+				});
 			}
+			break;
 
 			case IDENTIFIER: {
 				ASTIdentifier id = parseIdentifier();
@@ -481,97 +544,75 @@ public class Parser
 					case ASSIGN: {
 						Token tok = token;
 						eat(Tokens.ASSIGN);
-						ASTExpression expr = parseExpression();
-						ASTAssign assign = new ASTAssign(tok, id, expr);
-						return assign;
+						nest(this::expression, () -> {
+							ASTExpression expr = pop();
+							push(node(new ASTAssign(tok, id, expr)));
+						});
 					}
+					break;
 
 					case LEFTBRACKET: {
 						eat(Tokens.LEFTBRACKET);
-						ASTExpression expr1 = parseExpression();
-						eat(Tokens.RIGHTBRACKET);
-						eat(Tokens.ASSIGN);
-						ASTExpression expr2 = parseExpression();
-						ASTArrayAssign assign = new ASTArrayAssign(id.getToken(), id, expr1, expr2);
-						return assign;
+						nest(this::expression, () -> {
+							ASTExpression expr1 = pop();
+							eat(Tokens.RIGHTBRACKET);
+							eat(Tokens.ASSIGN);
+							nest(this::expression, () -> {
+								ASTExpression expr2 = pop();
+								push(node(new ASTArrayAssign(id.getToken(), id, expr1, expr2)));
+							});
+						});
 					}
+					break;
 
 					case LEFTPAREN: {
-						ASTIdentifierExpr idExpr = new ASTIdentifierExpr(id.getToken(), id.getName());
+						ASTIdentifierExpr idExpr = node(new ASTIdentifierExpr(id.getToken(), id.getName()));
 						Token tok = token;
-						List<ASTExpression> exprList = new ArrayList<ASTExpression>();
 
 						eat(Tokens.LEFTPAREN);
-						if (token.getToken() != Tokens.RIGHTPAREN) {
-							ASTExpression exprArg = parseExpression();
-							exprList.add(exprArg);
-							while (token.getToken() == Tokens.COMMA) {
-								eat(Tokens.COMMA);
-								exprArg = parseExpression();
-								exprList.add(exprArg);
-							}
-						}
-						eat(Tokens.RIGHTPAREN);
-						eat(Tokens.SEMICOLON);
-						ASTCallFunctionStat callFunc = new ASTCallFunctionStat(tok, null, idExpr, exprList);
-						return callFunc;
+						expressions(Tokens.RIGHTPAREN, () -> {
+							List<ASTExpression> exprList = pop();
+							eat(Tokens.RIGHTPAREN);
+							eat(Tokens.SEMICOLON);
+							push(node(new ASTCallFunctionStat(tok, null, idExpr, exprList)));
+						});
 					}
+					break;
 
 					case DOT: {
 						Token tok = token;
 
-						ASTIdentifierExpr instance = new ASTIdentifierExpr(id.getToken(), id.getName());
+						ASTIdentifierExpr instance = node(new ASTIdentifierExpr(id.getToken(), id.getName()));
 						eat(Tokens.DOT);
-						ASTIdentifierExpr member = new ASTIdentifierExpr(token, checkNotNull(token).getSymbol());
+						ASTIdentifierExpr member = node(new ASTIdentifierExpr(token, checkNotNull(token).getSymbol()));
 						eat(Tokens.IDENTIFIER);
 
 						if (token.getToken() == Tokens.ASSIGN) {
 							eat(Tokens.ASSIGN);
-							ASTExpression value = parseExpression();
-							return new ASTFieldAssign(tok, instance, member, value);
+							nest(this::expression, () -> {
+								ASTExpression value = pop();
+								push(node(new ASTFieldAssign(tok, instance, member, value)));
+							});
 						} else if (token.getToken() == Tokens.LEFTPAREN) {
-							List<ASTExpression> exprList = new ArrayList<>();
 							eat(Tokens.LEFTPAREN);
-							if (token.getToken() != Tokens.RIGHTPAREN) {
-								ASTExpression exprArg = parseExpression();
-								exprList.add(exprArg);
-								while (token.getToken() == Tokens.COMMA) {
-									eat(Tokens.COMMA);
-									exprArg = parseExpression();
-									exprList.add(exprArg);
-								}
-							}
-							eat(Tokens.RIGHTPAREN);
-							eat(Tokens.SEMICOLON);
-							return new ASTCallFunctionStat(tok, instance, member, exprList);
+							expressions(Tokens.RIGHTPAREN, () -> {
+								List<ASTExpression> exprList = pop();
+								eat(Tokens.RIGHTPAREN);
+								eat(Tokens.SEMICOLON);
+								push(node(new ASTCallFunctionStat(tok, instance, member, exprList)));
+							});
 						} else {
 							throw new ParseException(token.getRow(), token.getCol(),
 									"Invalid token :" + token.getToken() + " after field access");
 						}
-
-						// List<ASTExpression> exprList = new ArrayList<ASTExpression>();
-
-						// eat(Tokens.LEFTPAREN);
-						// if (token.getToken() != Tokens.RIGHTPAREN) {
-						// ASTExpression exprArg = parseExpression();
-						// exprList.add(exprArg);
-						// while (token.getToken() == Tokens.COMMA) {
-						// eat(Tokens.COMMA);
-						// exprArg = parseExpression();
-						// exprList.add(exprArg);
-						// }
-						// }
-						// eat(Tokens.RIGHTPAREN);
-						// eat(Tokens.SEMICOLON);
-						// ASTCallFunctionStat callFunc = new ASTCallFunctionStat(tok, instance,
-						// functionName, exprList);
-						// return callFunc;
 					}
+					break;
 
 					default:
 						throw new ParseException(token.getRow(), token.getCol(), "Invalid token :" + token.getToken());
 				}
 			}
+			break;
 
 			default: {
 				throw new ParseException(token.getRow(), token.getCol(), "Invalid token :" + token.getToken());
@@ -579,9 +620,47 @@ public class Parser
 		}
 	}
 
+	private void conditionalBranch(Token tok, List<ASTConditionalBranch> branches) throws ParseException
+	{
+		eat(Tokens.LEFTPAREN);
+		nest(this::expression, () -> {
+			ASTExpression condition = pop();
+			eat(Tokens.RIGHTPAREN);
+			eat(Tokens.LEFTBRACE);
+			nest(this::block, () -> {
+				ASTBody body = pop();
+				eat(Tokens.RIGHTBRACE);
+				branches.add(node(new ASTConditionalBranch(tok, condition, body)));
+				elseBranch(tok, branches);
+			});
+		});
+	}
+
+	private void elseBranch(Token tok, List<ASTConditionalBranch> branches) throws ParseException
+	{
+		if (token.getToken() != Tokens.ELSE) {
+			push(node(new ASTIfChain(tok, branches, null)));
+			return;
+		}
+
+		eat(Tokens.ELSE);
+		if (token.getToken() == Tokens.IF) {
+			eat(Tokens.IF);
+			conditionalBranch(tok, branches);
+			return;
+		}
+
+		eat(Tokens.LEFTBRACE);
+		nest(this::block, () -> {
+			ASTBody elseBody = pop();
+			eat(Tokens.RIGHTBRACE);
+			push(node(new ASTIfChain(tok, branches, elseBody)));
+		});
+	}
+
 	public ASTIdentifier parseIdentifier() throws ParseException
 	{
-		ASTIdentifier id = new ASTIdentifier(token, checkNotNull(token).getSymbol());
+		ASTIdentifier id = node(new ASTIdentifier(token, checkNotNull(token).getSymbol()));
 		eat(Tokens.IDENTIFIER);
 		return id;
 	}
@@ -598,10 +677,10 @@ public class Parser
 					tok = token;
 					eat(Tokens.LEFTBRACKET);
 					eat(Tokens.RIGHTBRACKET);
-					return new ASTIntArrayType(tok);
+					return node(new ASTIntArrayType(tok));
 				}
 
-				return new ASTIntType(tok);
+				return node(new ASTIntType(tok));
 			}
 
 			case STRING: {
@@ -612,20 +691,20 @@ public class Parser
 					tok = token;
 					eat(Tokens.LEFTBRACKET);
 					eat(Tokens.RIGHTBRACKET);
-					return new ASTStringArrayType(tok);
+					return node(new ASTStringArrayType(tok));
 				}
 
-				return new ASTStringType(tok);
+				return node(new ASTStringType(tok));
 			}
 
 			case BOOLEAN: {
-				ASTBooleanType booleanType = new ASTBooleanType(token);
+				ASTBooleanType booleanType = node(new ASTBooleanType(token));
 				eat(Tokens.BOOLEAN);
 				return booleanType;
 			}
 
 			case IDENTIFIER: {
-				ASTIdentifierType identifierType = new ASTIdentifierType(token, token.getSymbol());
+				ASTIdentifierType identifierType = node(new ASTIdentifierType(token, token.getSymbol()));
 				eat(Tokens.IDENTIFIER);
 
 				if (token.getToken() == Tokens.LESSTHAN) {
@@ -639,14 +718,14 @@ public class Parser
 						}
 					}
 					eat(Tokens.GREATERTHAN);
-					return new ASTParameterizedType(tok, identifierType, templateArguments);
+					return node(new ASTParameterizedType(tok, identifierType, templateArguments));
 				}
 
 				return identifierType;
 			}
 
 			case VOID: {
-				ASTVoidType voidType = new ASTVoidType(token);
+				ASTVoidType voidType = node(new ASTVoidType(token));
 				eat(Tokens.VOID);
 				return voidType;
 			}
@@ -657,94 +736,91 @@ public class Parser
 		}
 	}
 
-	public void parseExpr() throws ParseException
+	private void expression(int minPriority) throws ParseException
+	{
+		nest(this::operand, () -> {
+			ASTExpression lhs = pop();
+			if (minPriority == 0 && (lhs instanceof ASTLambda || lhs instanceof ASTArrayLiteral)) {
+				push(lhs);
+				return;
+			}
+			operators(lhs, minPriority);
+		});
+	}
+
+	private void operators(ASTExpression lhs, int minPriority) throws ParseException
+	{
+		Token operator = checkNotNull(token);
+		int priority = getPriority(operator.getToken());
+
+		if (priority == 0) {
+			checkExpressionEnd();
+			push(lhs);
+			return;
+		}
+
+		if (priority < minPriority) {
+			push(lhs);
+			return;
+		}
+
+		eat(operator.getToken());
+
+		if (operator.getToken() == Tokens.LEFTBRACKET) {
+			nest(this::expression, () -> {
+				ASTExpression indexExpr = pop();
+				eat(Tokens.RIGHTBRACKET);
+				operators(node(new ASTArrayIndexExpr(lhs.getToken(), lhs, indexExpr)), minPriority);
+			});
+		} else {
+			nest(() -> expression(priority + 1), () -> {
+				ASTExpression rhs = pop();
+				operators(parseBinary(operator, lhs, rhs), minPriority);
+			});
+		}
+	}
+
+	public ASTExpression parseOperand() throws ParseException
+	{
+		return run(this::operand);
+	}
+
+	private void operand() throws ParseException
 	{
 		switch (token.getToken())
 		{
 			case INTEGER: {
-				ASTIntLiteral lit = new ASTIntLiteral(token, Integer.parseInt(token.getSymbol()));
+				ASTIntLiteral lit = node(new ASTIntLiteral(token, Integer.parseInt(token.getSymbol())));
 				eat(Tokens.INTEGER);
-				stOperand.push(lit);
-				parseTerm1();
+				push(lit);
 			}
 			break;
 
 			case STRING: {
-				ASTStringLiteral sl = new ASTStringLiteral(token, (String) token.getSymbol());
+				ASTStringLiteral sl = node(new ASTStringLiteral(token, (String) token.getSymbol()));
 				eat(Tokens.STRING);
-				stOperand.push(sl);
-				parseTerm1();
+				push(sl);
 			}
 			break;
 
 			case TRUE: {
-				ASTTrue true1 = new ASTTrue(token);
+				ASTTrue true1 = node(new ASTTrue(token));
 				eat(Tokens.TRUE);
-				stOperand.push(true1);
-				parseTerm1();
+				push(true1);
 			}
 			break;
 
 			case FALSE: {
-				ASTFalse false1 = new ASTFalse(token);
+				ASTFalse false1 = node(new ASTFalse(token));
 				eat(Tokens.FALSE);
-				stOperand.push(false1);
-				parseTerm1();
+				push(false1);
 			}
 			break;
 
 			case IDENTIFIER: {
-				ASTExpression expr = new ASTIdentifierExpr(token, (String) token.getSymbol());
+				ASTExpression expr = node(new ASTIdentifierExpr(token, (String) token.getSymbol()));
 				eat(Tokens.IDENTIFIER);
-
-				while (token.getToken() == Tokens.DOT || token.getToken() == Tokens.LEFTPAREN) {
-					if (token.getToken() == Tokens.DOT) {
-						eat(Tokens.DOT);
-						Token memberToken = token;
-						String memberName = (String) token.getSymbol();
-						eat(Tokens.IDENTIFIER);
-
-						ASTIdentifierExpr member = new ASTIdentifierExpr(memberToken, memberName);
-
-						expr = new ASTFieldAccessExpr(memberToken, (ASTIdentifierExpr) expr, member);
-					} else if (token.getToken() == Tokens.LEFTPAREN) {
-						Token callToken = token;
-						eat(Tokens.LEFTPAREN);
-
-						List<ASTExpression> args = new ArrayList<>();
-						if (token.getToken() != Tokens.RIGHTPAREN) {
-							args.add(parseExpression());
-							while (token.getToken() == Tokens.COMMA) {
-								eat(Tokens.COMMA);
-								args.add(parseExpression());
-							}
-						}
-						eat(Tokens.RIGHTPAREN);
-
-						if (expr instanceof ASTFieldAccessExpr) {
-							ASTFieldAccessExpr fa = (ASTFieldAccessExpr) expr;
-							expr = new ASTCallFunctionExpr(callToken, fa.getInstance(), fa.getField(), args);
-						} else if (expr instanceof ASTIdentifierExpr) {
-							expr = new ASTCallFunctionExpr(callToken, null, (ASTIdentifierExpr) expr, args);
-						} else {
-							throw new ParseException(token.getRow(), token.getCol(), "Invalid function call target");
-						}
-					}
-				}
-
-				stOperand.push(expr);
-				parseTerm1();
-
-				// ASTIdentifierExpr id = new ASTIdentifierExpr(token, (String)
-				// token.getSymbol());
-				// eat(Tokens.IDENTIFIER);
-				// if (token.getToken() == Tokens.LEFTPAREN || token.getToken() == Tokens.DOT) {
-				// ASTExpression expr = parseCallFunction(id);
-				// stOperand.push(expr);
-				// } else {
-				// stOperand.push(id);
-				// }
-				// parseTerm1();
+				postfix(expr);
 			}
 			break;
 
@@ -755,67 +831,47 @@ public class Parser
 				eat(Tokens.COLON);
 				ASTType returnType = parseType();
 				eat(Tokens.LEFTBRACE);
-				ASTBody body = this.parseBody();
-				eat(Tokens.RIGHTBRACE);
-				stOperand.push(new ASTLambda(tok, returnType, arguments, body));
+				nest(this::block, () -> {
+					ASTBody body = pop();
+					eat(Tokens.RIGHTBRACE);
+					push(node(new ASTLambda(tok, returnType, arguments, body)));
+				});
 			}
 			break;
 
 			case LEFTBRACE: {
 				Token tok = token;
 				eat(Tokens.LEFTBRACE);
-				List<ASTExpression> elements = new ArrayList<>();
-
-				if (token.getToken() != Tokens.RIGHTBRACE) {
-					elements.add(parseExpression());
-					while (token.getToken() == Tokens.COMMA) {
-						eat(Tokens.COMMA);
-						elements.add(parseExpression());
-					}
-				}
-				eat(Tokens.RIGHTBRACE);
-				ASTArrayLiteral arrayLiteral = new ASTArrayLiteral(tok, elements);
-				stOperand.push(arrayLiteral);
+				expressions(Tokens.RIGHTBRACE, () -> {
+					List<ASTExpression> elements = pop();
+					eat(Tokens.RIGHTBRACE);
+					push(node(new ASTArrayLiteral(tok, elements)));
+				});
 			}
 			break;
 
 			case NEW: {
-				pushOperator(token);
 				eat(Tokens.NEW);
 
 				switch (token.getToken())
 				{
-					case INTEGER: {
-						eat(Tokens.INTEGER);
-						eat(Tokens.LEFTBRACKET);
-						stOperator.push(SENTINEL);
-						ASTExpression arrayLength = parseExpression();
-						eat(Tokens.RIGHTBRACKET);
-						stOperator.pop();
-						stOperator.pop();
-						ASTNewArray array = new ASTNewArray(arrayLength.getToken(), arrayLength);
-						stOperand.push(array);
-					}
-					break;
-
+					case INTEGER:
 					case STRING: {
-						eat(Tokens.STRING);
+						eat(token.getToken());
 						eat(Tokens.LEFTBRACKET);
-						stOperator.push(SENTINEL);
-						ASTExpression arrayLength = parseExpression();
-						eat(Tokens.RIGHTBRACKET);
-						stOperator.pop();
-						stOperator.pop();
-						ASTNewArray array = new ASTNewArray(arrayLength.getToken(), arrayLength);
-						stOperand.push(array);
+						nest(this::expression, () -> {
+							ASTExpression arrayLength = pop();
+							eat(Tokens.RIGHTBRACKET);
+							push(node(new ASTNewArray(arrayLength.getToken(), arrayLength)));
+						});
 					}
 					break;
 
 					case IDENTIFIER: {
-						ASTIdentifierExpr idExpr = new ASTIdentifierExpr(token, token.getSymbol());
+						ASTIdentifierExpr idExpr = node(new ASTIdentifierExpr(token, token.getSymbol()));
 						eat(Tokens.IDENTIFIER);
 						List<ASTArgument> arguments = this.parseArguments();
-						stOperand.push(new ASTNewInstance(token, idExpr, arguments));
+						push(node(new ASTNewInstance(token, idExpr, arguments)));
 					}
 					break;
 
@@ -823,8 +879,6 @@ public class Parser
 						throw new ParseException(token.getRow(), token.getCol(), "Invalid token :" + token.getToken());
 					}
 				}
-
-				parseTerm1();
 			}
 			break;
 
@@ -834,10 +888,47 @@ public class Parser
 		}
 	}
 
+	private void postfix(ASTExpression target) throws ParseException
+	{
+		ASTExpression expr = target;
+		while (token.getToken() == Tokens.DOT) {
+			eat(Tokens.DOT);
+			Token memberToken = token;
+			String memberName = (String) token.getSymbol();
+			eat(Tokens.IDENTIFIER);
+
+			ASTIdentifierExpr member = node(new ASTIdentifierExpr(memberToken, memberName));
+
+			expr = node(new ASTFieldAccessExpr(memberToken, (ASTIdentifierExpr) expr, member));
+		}
+
+		if (token.getToken() != Tokens.LEFTPAREN) {
+			push(expr);
+			return;
+		}
+
+		ASTExpression callee = expr;
+		Token callToken = token;
+		eat(Tokens.LEFTPAREN);
+
+		expressions(Tokens.RIGHTPAREN, () -> {
+			List<ASTExpression> args = pop();
+			eat(Tokens.RIGHTPAREN);
+
+			if (callee instanceof ASTFieldAccessExpr) {
+				ASTFieldAccessExpr fa = (ASTFieldAccessExpr) callee;
+				postfix(node(new ASTCallFunctionExpr(callToken, fa.getInstance(), fa.getField(), args)));
+			} else if (callee instanceof ASTIdentifierExpr) {
+				postfix(node(new ASTCallFunctionExpr(callToken, null, (ASTIdentifierExpr) callee, args)));
+			} else {
+				throw new ParseException(token.getRow(), token.getCol(), "Invalid function call target");
+			}
+		});
+	}
+
 	public ASTExpression parseCallFunction(ASTIdentifierExpr id) throws ParseException
 	{
 		Token tok = token;
-		List<ASTExpression> exprList = new ArrayList<ASTExpression>();
 
 		ASTIdentifierExpr instance = null;
 		ASTIdentifierExpr function = null;
@@ -845,414 +936,64 @@ public class Parser
 		if (token.getToken() == Tokens.DOT) {
 			instance = id;
 			eat(Tokens.DOT);
-			function = new ASTIdentifierExpr(token, (String) token.getSymbol());
+			function = node(new ASTIdentifierExpr(token, (String) token.getSymbol()));
 			eat(Tokens.IDENTIFIER);
 		} else {
 			function = id;
 		}
 
 		eat(Tokens.LEFTPAREN);
-		if (token.getToken() != Tokens.RIGHTPAREN) {
-			ASTExpression exprArg = parseExpression();
-			exprList.add(exprArg);
-			while (token.getToken() == Tokens.COMMA) {
-				eat(Tokens.COMMA);
-				exprArg = parseExpression();
-				exprList.add(exprArg);
-			}
-		}
+		List<ASTExpression> exprList = run(() -> expressions(Tokens.RIGHTPAREN, () -> {
+		}));
 
 		eat(Tokens.RIGHTPAREN);
-		return new ASTCallFunctionExpr(tok, instance, function, exprList);
-	}
-
-	public void pushOperator(Token current) throws ParseException
-	{
-		Token top = stOperator.peek();
-
-		while (getPriority(top.getToken()) >= getPriority(current.getToken())) {
-			popOperator();
-			top = stOperator.peek();
-		}
-
-		stOperator.push(current);
+		return node(new ASTCallFunctionExpr(tok, instance, function, exprList));
 	}
 
-	public void popOperator() throws ParseException
-	{
-		Token top = stOperator.pop();
-
-		if (isBinary(top.getToken())) {
-			parseBinary(top);
-		} else {
-			parseUnary(top);
-		}
-	}
-
-	public void parseUnary(Token tok) throws ParseException
-	{
-//		if (Objects.requireNonNull(tok.getToken()) == Tokens.NEW) {
-//			ASTExpression expr = stOperand.pop();
-//			ASTIdentifierExpr idExpr = (ASTIdentifierExpr) expr;
-//
-//			List<ASTArgument> arguments = this.parseArguments();
-//
-//			ASTNewInstance instance = new ASTNewInstance(tok, idExpr, arguments);
-//			stOperand.push(instance);
-//		} else {
-//			System.err.println("parseUnary(): Error in parsing " + token.getToken() + " " + token.getRow());
-//		}
-	}
-
-	public void parseBinary(Token tok)
+	public ASTExpression parseBinary(Token tok, ASTExpression lhs, ASTExpression rhs) throws ParseException
 	{
 		switch (tok.getToken())
-		{
-			case OR: {
-				ASTExpression rhs = stOperand.pop();
-				ASTExpression lhs = stOperand.pop();
-				ASTOr or = new ASTOr(tok, lhs, rhs);
-				stOperand.push(or);
-			}
-			break;
-
-			case AND: {
-				ASTExpression rhs = stOperand.pop();
-				ASTExpression lhs = stOperand.pop();
-				ASTAnd and = new ASTAnd(tok, lhs, rhs);
-				stOperand.push(and);
-			}
-			break;
-
-			case EQUALS: {
-				ASTExpression rhs = stOperand.pop();
-				ASTExpression lhs = stOperand.pop();
-				ASTEquals equals = new ASTEquals(tok, lhs, rhs);
-				stOperand.push(equals);
-			}
-			break;
-
-			case NOTEQUALS: {
-				ASTExpression rhs = stOperand.pop();
-				ASTExpression lhs = stOperand.pop();
-				ASTNotEquals notEquals = new ASTNotEquals(tok, lhs, rhs);
-				stOperand.push(notEquals);
-			}
-			break;
-
-			case LESSTHAN: {
-				ASTExpression rhs = stOperand.pop();
-				ASTExpression lhs = stOperand.pop();
-				ASTLessThan lessThan = new ASTLessThan(tok, lhs, rhs);
-				stOperand.push(lessThan);
-			}
-			break;
-
-			case LESSTHANOREQUAL: {
-				ASTExpression rhs = stOperand.pop();
-				ASTExpression lhs = stOperand.pop();
-				ASTLessThanOrEqual lessThanOrEqual = new ASTLessThanOrEqual(tok, lhs, rhs);
-				stOperand.push(lessThanOrEqual);
-			}
-			break;
-
-			case GREATERTHAN: {
-				ASTExpression rhs = stOperand.pop();
-				ASTExpression lhs = stOperand.pop();
-				ASTGreaterThan greaterThan = new ASTGreaterThan(tok, lhs, rhs);
-				stOperand.push(greaterThan);
-			}
-			break;
-
-			case GREATERTHANOREQUAL: {
-				ASTExpression rhs = stOperand.pop();
-				ASTExpression lhs = stOperand.pop();
-				ASTGreaterThanOrEqual greaterThanOrEqual = new ASTGreaterThanOrEqual(tok, lhs, rhs);
-				stOperand.push(greaterThanOrEqual);
-			}
-			break;
-
-			case PLUS: {
-				ASTExpression rhs = stOperand.pop();
-				ASTExpression lhs = stOperand.pop();
-				ASTPlus plus = new ASTPlus(tok, lhs, rhs);
-				stOperand.push(plus);
-			}
-			break;
-
-			case MINUS: {
-				ASTExpression rhs = stOperand.pop();
-				ASTExpression lhs = stOperand.pop();
-				ASTMinus minus = new ASTMinus(tok, lhs, rhs);
-				stOperand.push(minus);
-			}
-			break;
-
-			case TIMES: {
-				ASTExpression rhs = stOperand.pop();
-				ASTExpression lhs = stOperand.pop();
-				ASTTimes times = new ASTTimes(tok, lhs, rhs);
-				stOperand.push(times);
-			}
-			break;
-
-			case DIV: {
-				ASTExpression rhs = stOperand.pop();
-				ASTExpression lhs = stOperand.pop();
-				ASTDivision div = new ASTDivision(tok, lhs, rhs);
-				stOperand.push(div);
-			}
-			break;
-
-			case MODULUS: {
-				ASTExpression rhs = stOperand.pop();
-				ASTExpression lhs = stOperand.pop();
-				ASTModulus modulus = new ASTModulus(tok, lhs, rhs);
-				stOperand.push(modulus);
-			}
-			break;
-
-			case DOT: {
-				ASTExpression rhs = stOperand.pop();
-				ASTExpression lhs = stOperand.pop();
-				ASTCallFunctionExpr cm = (ASTCallFunctionExpr) rhs;
-				stOperand.push(cm);
-			}
-			break;
-
-			case LEFTBRACKET: {
-				ASTExpression indexExpr = stOperand.pop();
-				ASTExpression arrayExpr = stOperand.pop();
-				ASTArrayIndexExpr indexArray = new ASTArrayIndexExpr(arrayExpr.getToken(), arrayExpr, indexExpr);
-				stOperand.push(indexArray);
-			}
-			break;
-
-			default: {
-				System.err.println("parseBinary(): Error in parsing");
-			}
-		}
-	}
-
-	public boolean isBinary(Tokens operator)
-	{
-		switch (operator)
 		{
 			case OR:
+				return node(new ASTOr(tok, lhs, rhs));
 			case AND:
+				return node(new ASTAnd(tok, lhs, rhs));
 			case EQUALS:
+				return node(new ASTEquals(tok, lhs, rhs));
 			case NOTEQUALS:
+				return node(new ASTNotEquals(tok, lhs, rhs));
 			case LESSTHAN:
+				return node(new ASTLessThan(tok, lhs, rhs));
 			case LESSTHANOREQUAL:
+				return node(new ASTLessThanOrEqual(tok, lhs, rhs));
 			case GREATERTHAN:
+				return node(new ASTGreaterThan(tok, lhs, rhs));
 			case GREATERTHANOREQUAL:
+				return node(new ASTGreaterThanOrEqual(tok, lhs, rhs));
 			case PLUS:
+				return node(new ASTPlus(tok, lhs, rhs));
 			case MINUS:
+				return node(new ASTMinus(tok, lhs, rhs));
 			case TIMES:
+				return node(new ASTTimes(tok, lhs, rhs));
 			case DIV:
+				return node(new ASTDivision(tok, lhs, rhs));
 			case MODULUS:
-			case DOT:
-			case LEFTBRACKET: {
-				return true;
-			}
-
-			case NEW: {
-				return false;
-			}
-
-			default: {
-				return false;
-			}
+				return node(new ASTModulus(tok, lhs, rhs));
+			default:
+				throw new ParseException(tok.getRow(), tok.getCol(), "Invalid operator :" + tok.getToken());
 		}
 	}
 
 	public int getPriority(Tokens operator)
 	{
-		switch (operator)
-		{
-
-			case SENTINEL: {
-				return -1;
-			}
-
-			case OR: {
-				return 1;
-			}
-
-			case AND: {
-				return 2;
-			}
-
-			case EQUALS: {
-				return 3;
-			}
-
-			case LESSTHAN: {
-				return 3;
-			}
-
-			case GREATERTHAN: {
-				return 3;
-			}
-
-			case PLUS: {
-				return 4;
-			}
-
-			case MINUS: {
-				return 4;
-			}
-
-			case MODULUS: {
-				return 4;
-			}
-
-			case TIMES: {
-				return 5;
-			}
-
-			case DIV: {
-				return 5;
-			}
-
-			case LEFTBRACKET: {
-				return 7;
-			}
-
-			case DOT: {
-				return 8;
-			}
-
-			case NEW: {
-				return 9;
-			}
-
-			default: {
-				return 0;
-			}
-		}
+		return PRIORITIES[operator.ordinal()];
 	}
 
-	public void parseTerm1() throws ParseException
+	private void checkExpressionEnd() throws ParseException
 	{
 		switch (token.getToken())
 		{
-			case AND: {
-				pushOperator(token);
-				eat(Tokens.AND);
-				parseExpr();
-				parseTerm1();
-			}
-			break;
-
-			case OR: {
-				pushOperator(token);
-				eat(Tokens.OR);
-				parseExpr();
-				parseTerm1();
-			}
-			break;
-
-			case EQUALS: {
-				pushOperator(token);
-				eat(Tokens.EQUALS);
-				parseExpr();
-				parseTerm1();
-			}
-			break;
-
-			case NOTEQUALS: {
-				pushOperator(token);
-				eat(Tokens.NOTEQUALS);
-				parseExpr();
-				parseTerm1();
-			}
-			break;
-
-			case LESSTHAN: {
-				pushOperator(token);
-				eat(Tokens.LESSTHAN);
-				parseExpr();
-				parseTerm1();
-			}
-			break;
-
-			case LESSTHANOREQUAL: {
-				pushOperator(token);
-				eat(Tokens.LESSTHANOREQUAL);
-				parseExpr();
-				parseTerm1();
-			}
-			break;
-
-			case GREATERTHAN: {
-				pushOperator(token);
-				eat(Tokens.GREATERTHAN);
-				parseExpr();
-				parseTerm1();
-			}
-			break;
-
-			case GREATERTHANOREQUAL: {
-				pushOperator(token);
-				eat(Tokens.GREATERTHANOREQUAL);
-				parseExpr();
-				parseTerm1();
-			}
-			break;
-
-			case PLUS: {
-				pushOperator(token);
-				eat(Tokens.PLUS);
-				parseExpr();
-				parseTerm1();
-			}
-			break;
-
-			case MINUS: {
-				pushOperator(token);
-				eat(Tokens.MINUS);
-				parseExpr();
-				parseTerm1();
-			}
-			break;
-
-			case TIMES: {
-				pushOperator(token);
-				eat(Tokens.TIMES);
-				parseExpr();
-				parseTerm1();
-			}
-			break;
-
-			case DIV: {
-				pushOperator(token);
-				eat(Tokens.DIV);
-				parseExpr();
-				parseTerm1();
-			}
-			break;
-
-			case MODULUS: {
-				pushOperator(token);
-				eat(Tokens.MODULUS);
-				parseExpr();
-				parseTerm1();
-			}
-			break;
-
-			case LEFTBRACKET: {
-				pushOperator(token);
-				eat(Tokens.LEFTBRACKET);
-				stOperator.push(SENTINEL);
-				ASTExpression indexExpr = parseExpression();
-				eat(Tokens.RIGHTBRACKET);
-				stOperator.pop();
-				stOperand.push(indexExpr);
-				parseTerm1();
-			}
-			break;
-
 			case RIGHTPAREN:
 			case SEMICOLON:
 			case COMMA:
@@ -1266,6 +1007,43 @@ public class Parser
 		}
 	}
 
+	private <T> T run(Task task) throws ParseException
+	{
+		int base = tasks.size();
+		int results = values.size();
+		tasks.push(task);
+
+		try {
+			while (tasks.size() > base) {
+				tasks.pop().run();
+			}
+		} catch (ParseException | RuntimeException e) {
+			while (tasks.size() > base) {
+				tasks.pop();
+			}
+			values.subList(results, values.size()).clear();
+			throw e;
+		}
+		return pop();
+	}
+
+	private void nest(Task child, Task resume)
+	{
+		tasks.push(resume);
+		tasks.push(child);
+	}
+
+	private void push(Object value)
+	{
+		values.add(value);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T pop()
+	{
+		return (T) values.remove(values.size() - 1);
+	}
+
 	public Token checkNotNull(Token token) throws ParseException
 	{
 		if (token == null) {
@@ -1318,4 +1096,9 @@ public class Parser
 		throw new ParseException(token.getRow(), token.getCol(),
 				"Invalid token : " + found + " Expected token : " + expected);
 	}
+
+	private interface Task
+	{
+		void run() throws ParseException;
+	}
 }
@@ -0,0 +1,41 @@
+package knight.compiler.preprocessor;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import knight.compiler.library.LibraryManager;
+
+public final class FileSourceProvider implements SourceProvider
+{
+	@Override
+	public String canonicalPath(String path) throws IOException
+	{
+		return new File(path).getCanonicalPath();
+	}
+
+	@Override
+	public String resolve(String importPath, String fromPath)
+	{
+		File importedFile = new File(importPath);
+		if (!importedFile.isAbsolute()) {
+			importedFile = new File(new File(fromPath).getParentFile(), importPath);
+		}
+		return importedFile.getPath();
+	}
+
+	@Override
+	public String resolveLibrary(String name, String fromPath)
+	{
+		return new File(LibraryManager.getLibraryDirectory(), name + ".knight").getPath();
+	}
+
+	@Override
+	public byte[] read(String path) throws IOException
+	{
+		try (InputStream in = new FileInputStream(path)) {
+			return in.readAllBytes();
+		}
+	}
+}
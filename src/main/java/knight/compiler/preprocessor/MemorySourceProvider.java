@@ -0,0 +1,67 @@
+package knight.compiler.preprocessor;
+
+import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import knight.compiler.library.LibraryBundle;
+
+public final class MemorySourceProvider implements SourceProvider
+{
+	public static final String LIBRARY_ROOT = "/knight-lib/";
+
+	private static final String EXTENSION = ".knight";
+	private static final Path ROOT = Path.of("/");
+
+	private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+	private final LibraryBundle bundle;
+
+	public MemorySourceProvider(LibraryBundle bundle)
+	{
+		this.bundle = bundle;
+	}
+
+	public void put(String path, String source)
+	{
+		files.put(canonicalPath(path), source.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public String canonicalPath(String path)
+	{
+		return ROOT.resolve(path).normalize().toString();
+	}
+
+	@Override
+	public String resolve(String importPath, String fromPath)
+	{
+		return Path.of(canonicalPath(fromPath)).resolveSibling(importPath).normalize().toString();
+	}
+
+	@Override
+	public String resolveLibrary(String name, String fromPath)
+	{
+		if (bundle.isStandardLibrary(name)) {
+			return null;
+		}
+		return LIBRARY_ROOT + name + EXTENSION;
+	}
+
+	@Override
+	public byte[] read(String path) throws FileNotFoundException
+	{
+		String canonical = canonicalPath(path);
+		byte[] content = files.get(canonical);
+		if (canonical.startsWith(LIBRARY_ROOT) && canonical.endsWith(EXTENSION)) {
+			content = bundle
+					.getSource(canonical.substring(LIBRARY_ROOT.length(), canonical.length() - EXTENSION.length()));
+		}
+
+		if (content == null) {
+			throw new FileNotFoundException(path + " (No such file or directory)");
+		}
+		return content;
+	}
+}
@@ -1,66 +1,138 @@
 package knight.compiler.preprocessor;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import knight.compiler.lexer.Lexer;
+import knight.compiler.lexer.LexerException;
+import knight.compiler.lexer.TokenStream;
+import knight.compiler.lexer.Tokens;
 
 public class PreProcessor
 {
-	private static final String STD_LIB_PATH = "share/";
-	private final Set<String> processedImports = new HashSet<>();
+	private final SourceProvider provider;
+	private final Map<String, ForkJoinTask<SourceFile>> tasks = new ConcurrentHashMap<>();
+	private final Map<String, SourceFile> sources = new LinkedHashMap<>();
+
+	public PreProcessor()
+	{
+		this(new FileSourceProvider());
+	}
+
+	public PreProcessor(SourceProvider provider)
+	{
+		this.provider = provider;
+	}
 
 	public List<File> process(String filename) throws IOException
 	{
-		processedImports.clear();
+		tasks.clear();
+		sources.clear();
+
 		List<File> result = new ArrayList<>();
-		processFile(new File(filename), result);
+		collect(submit(filename), result);
 		return result;
 	}
 
-	private void processFile(File file, List<File> collected) throws IOException
+	public List<SourceFile> getSources()
+	{
+		return new ArrayList<>(sources.values());
+	}
+
+	public SourceFile getSource(String canonicalPath)
+	{
+		return sources.get(canonicalPath);
+	}
+
+	private ForkJoinTask<SourceFile> submit(String filename) throws IOException
 	{
-		if (processedImports.contains(file.getCanonicalPath())) {
+		String path = provider.canonicalPath(filename);
+		return tasks.computeIfAbsent(path, key -> ForkJoinPool.commonPool().submit(() -> load(filename, key)));
+	}
+
+	private void collect(ForkJoinTask<SourceFile> task, List<File> collected) throws IOException
+	{
+		SourceFile source = join(task);
+		if (sources.containsKey(source.getPath())) {
 			return;
 		}
-		processedImports.add(file.getCanonicalPath());
-		collected.add(file);
-
-		BufferedReader reader = new BufferedReader(new FileReader(file));
-		String line;
-		while ((line = reader.readLine()) != null) {
-			line = line.trim();
-			if (line.startsWith("import ")) {
-				String importPath = extractImportPath(line);
-				File importedFile = resolveImportPath(importPath, file.getParentFile());
-				processFile(importedFile, collected);
-			}
+		sources.put(source.getPath(), source);
+		collected.add(source.getFile());
+
+		for (String imported : source.getImports()) {
+			collect(tasks.get(imported), collected);
 		}
-		reader.close();
 	}
 
-	private String extractImportPath(String line)
+	private SourceFile load(String filename, String path) throws IOException
 	{
-		String importPath = line.substring("import ".length()).trim();
-		if (importPath.endsWith(";")) {
-			importPath = importPath.substring(0, importPath.length() - 1).trim();
+		byte[] content = provider.read(filename);
+
+		Lexer lexer = new Lexer(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content))));
+		TokenStream tokens;
+		try {
+			tokens = lexer.tokenize();
+		} catch (LexerException e) {
+			tokens = lexer.getTokenStream();
+			lexer = null;
 		}
-		if (importPath.startsWith("\"") && importPath.endsWith("\"")) {
-			return importPath.substring(1, importPath.length() - 1);
+
+		List<String> imports = new ArrayList<>();
+		for (int i = 0; i + 1 < tokens.size(); i++) {
+			if (tokens.kind(i) != Tokens.IMPORT) {
+				continue;
+			}
+
+			String importPath = resolveImport(tokens, i + 1, filename);
+			if (importPath != null) {
+				imports.add(provider.canonicalPath(importPath));
+				submit(importPath);
+			}
 		}
-		return STD_LIB_PATH + importPath + ".knight";
+
+		return new SourceFile(new File(filename), path, content, imports, lexer);
 	}
 
-	private File resolveImportPath(String importPath, File baseDir)
+	private String resolveImport(TokenStream tokens, int index, String filename)
 	{
-		File importedFile = new File(importPath);
-		if (!importedFile.isAbsolute()) {
-			importedFile = new File(baseDir, importPath);
+		switch (tokens.kind(index))
+		{
+			case STRING: {
+				String literal = tokens.text(index);
+				return provider.resolve(literal.substring(1, literal.length() - 1), filename);
+			}
+
+			case IDENTIFIER: {
+				return provider.resolveLibrary(tokens.text(index), filename);
+			}
+
+			default: {
+				return null;
+			}
+		}
+	}
+
+	private static SourceFile join(ForkJoinTask<SourceFile> task) throws IOException
+	{
+		try {
+			return task.join();
+		} catch (RuntimeException e) {
+			for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+				if (cause instanceof IOException) {
+					throw (IOException) cause;
+				}
+			}
+			throw e;
 		}
-		return importedFile;
 	}
-}
\ No newline at end of file
+}
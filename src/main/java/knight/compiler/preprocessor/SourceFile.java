@@ -0,0 +1,51 @@
+package knight.compiler.preprocessor;
+
+import java.io.File;
+import java.util.List;
+
+import knight.compiler.lexer.Lexer;
+
+public final class SourceFile
+{
+	private final File file;
+	private final String path;
+	private final byte[] content;
+	private final List<String> imports;
+	private Lexer lexer;
+
+	public SourceFile(File file, String path, byte[] content, List<String> imports, Lexer lexer)
+	{
+		this.file = file;
+		this.path = path;
+		this.content = content;
+		this.imports = List.copyOf(imports);
+		this.lexer = lexer;
+	}
+
+	public File getFile()
+	{
+		return file;
+	}
+
+	public String getPath()
+	{
+		return path;
+	}
+
+	public byte[] getContent()
+	{
+		return content;
+	}
+
+	public List<String> getImports()
+	{
+		return imports;
+	}
+
+	public synchronized Lexer takeLexer()
+	{
+		Lexer taken = lexer;
+		lexer = null;
+		return taken;
+	}
+}
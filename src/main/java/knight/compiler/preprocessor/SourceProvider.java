@@ -0,0 +1,14 @@
+package knight.compiler.preprocessor;
+
+import java.io.IOException;
+
+public interface SourceProvider
+{
+	String canonicalPath(String path) throws IOException;
+
+	String resolve(String importPath, String fromPath);
+
+	String resolveLibrary(String name, String fromPath);
+
+	byte[] read(String path) throws IOException;
+}
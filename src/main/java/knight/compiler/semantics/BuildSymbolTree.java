@@ -1,5 +1,6 @@
 package knight.compiler.semantics;
 
+import knight.compiler.CompilationContext;
 import knight.compiler.ast.AST;
 import knight.compiler.ast.ASTVisitor;
 import knight.compiler.ast.controlflow.ASTConditionalBranch;
@@ -60,6 +61,7 @@ import knight.compiler.ast.types.ASTType;
 import knight.compiler.ast.types.ASTVoidType;
 import knight.compiler.semantics.diagnostics.DiagnosticReporter;
 import knight.compiler.semantics.model.Scope;
+import knight.compiler.semantics.model.SemanticModel;
 import knight.compiler.semantics.model.SymbolClass;
 import knight.compiler.semantics.model.SymbolFunction;
 import knight.compiler.semantics.model.SymbolInterface;
@@ -70,17 +72,20 @@ public class BuildSymbolTree implements ASTVisitor<ASTType>
 {
 	private final SymbolProgram symbolProgram;
 	private final ScopeManager scopeManager;
+	private final DiagnosticReporter diagnosticReporter;
+	private final SemanticModel semanticModel;
 
-	public BuildSymbolTree()
+	public BuildSymbolTree(CompilationContext context)
 	{
-		this.symbolProgram = new SymbolProgram();
-		this.scopeManager = new ScopeManager();
+		this(context, new SymbolProgram(context.getCounter()));
 	}
 
-	public BuildSymbolTree(SymbolProgram symbolProgram)
+	public BuildSymbolTree(CompilationContext context, SymbolProgram symbolProgram)
 	{
 		this.symbolProgram = symbolProgram;
-		this.scopeManager = new ScopeManager();
+		this.scopeManager = new ScopeManager(context.getCounter());
+		this.diagnosticReporter = context.getDiagnosticReporter();
+		this.semanticModel = context.getSemanticModel();
 	}
 
 	public SymbolProgram getSymbolProgram()
@@ -109,7 +114,7 @@ public class BuildSymbolTree implements ASTVisitor<ASTType>
 		String parentClassName = astClass.getExtendsClass() != null ? astClass.getExtendsClass().getName() : null;
 
 		if (!symbolProgram.addClass(className, parentClassName)) {
-			DiagnosticReporter.error(astClass.getToken(), "Class " + className + " is already defined!");
+			diagnosticReporter.error(astClass.getToken(), "Class " + className + " is already defined!");
 			return null;
 		}
 
@@ -139,7 +144,7 @@ public class BuildSymbolTree implements ASTVisitor<ASTType>
 	public ASTType visit(ASTProperty astProperty)
 	{
 		if (!scopeManager.isInClass()) {
-			DiagnosticReporter.error(astProperty.getToken(), "Property declared outside of class");
+			diagnosticReporter.error(astProperty.getToken(), "Property declared outside of class");
 			return null;
 		}
 
@@ -148,7 +153,7 @@ public class BuildSymbolTree implements ASTVisitor<ASTType>
 		SymbolClass currentClass = scopeManager.getCurrentClass();
 
 		if (!currentClass.addProperty(propertyName, astType)) {
-			DiagnosticReporter.error(astProperty.getIdentifier(),
+			diagnosticReporter.error(astProperty.getIdentifier(),
 					"Property " + propertyName + " already defined in class " + currentClass.getName());
 		}
 
@@ -165,21 +170,21 @@ public class BuildSymbolTree implements ASTVisitor<ASTType>
 		if (scopeManager.isInClass()) {
 			SymbolClass currentClass = scopeManager.getCurrentClass();
 			if (!currentClass.addFunction(functionName, returnType)) {
-				DiagnosticReporter.error(astFunction.getToken(),
+				diagnosticReporter.error(astFunction.getToken(),
 						"Function " + functionName + " already defined in class " + currentClass.getName());
 				return null;
 			}
 			symbolFunction = currentClass.getFunction(functionName);
 		} else {
 			if (!symbolProgram.addGlobalFunction(functionName, returnType)) {
-				DiagnosticReporter.error(astFunction.getToken(), "Function " + functionName + " already defined");
+				diagnosticReporter.error(astFunction.getToken(), "Function " + functionName + " already defined");
 				return null;
 			}
 			symbolFunction = symbolProgram.getGlobalFunction(functionName);
 		}
 
 		scopeManager.enterFunction(symbolFunction);
-		astFunction.setScope(scopeManager.getCurrentScope());
+		semanticModel.setScope(astFunction, scopeManager.getCurrentScope());
 
 		try {
 			for (ASTArgument astArgument : astFunction.getArguments()) {
@@ -203,7 +208,7 @@ public class BuildSymbolTree implements ASTVisitor<ASTType>
 		String paramName = astArgument.getIdentifier().getName();
 
 		if (!scopeManager.isInFunction()) {
-			DiagnosticReporter.error(astArgument, "Parameter declared outside of function");
+			diagnosticReporter.error(astArgument, "Parameter declared outside of function");
 			return null;
 		}
 
@@ -211,12 +216,12 @@ public class BuildSymbolTree implements ASTVisitor<ASTType>
 		SymbolFunction currentFunction = scopeManager.getCurrentFunction();
 
 		if (!currentScope.addVariable(paramName, type)) {
-			DiagnosticReporter.error(astArgument, "Parameter " + paramName + " already declared");
+			diagnosticReporter.error(astArgument, "Parameter " + paramName + " already declared");
 			return null;
 		}
 
 		if (!currentFunction.addParameter(paramName, type)) {
-			DiagnosticReporter.error(astArgument, "Parameter " + paramName + " already declared in function");
+			diagnosticReporter.error(astArgument, "Parameter " + paramName + " already declared in function");
 		}
 
 		return null;
@@ -226,7 +231,7 @@ public class BuildSymbolTree implements ASTVisitor<ASTType>
 	public ASTType visit(ASTBody astBody)
 	{
 		scopeManager.enterBlock();
-		astBody.setScope(scopeManager.getCurrentScope());
+		semanticModel.setScope(astBody, scopeManager.getCurrentScope());
 
 		try {
 			for (AST node : astBody.getNodes()) {
@@ -248,13 +253,13 @@ public class BuildSymbolTree implements ASTVisitor<ASTType>
 		if (scopeManager.isInFunction()) {
 			Scope currentScope = scopeManager.getCurrentScope();
 			if (!currentScope.addVariable(varName, type)) {
-				DiagnosticReporter.error(astVariable, "Variable " + varName + " already declared in this scope");
+				diagnosticReporter.error(astVariable, "Variable " + varName + " already declared in this scope");
 			}
 		} else if (scopeManager.isInClass()) {
-			DiagnosticReporter.error(astVariable, "Variables must be declared as properties in class scope");
+			diagnosticReporter.error(astVariable, "Variables must be declared as properties in class scope");
 		} else {
 			if (!symbolProgram.addGlobalVariable(varName, type)) {
-				DiagnosticReporter.error(astVariable, "Global variable " + varName + " already declared");
+				diagnosticReporter.error(astVariable, "Global variable " + varName + " already declared");
 			}
 		}
 
@@ -285,7 +290,7 @@ public class BuildSymbolTree implements ASTVisitor<ASTType>
 		String interfaceName = astInterface.getIdentifier().getName();
 
 		if (!symbolProgram.addInterface(interfaceName)) {
-			DiagnosticReporter.error(astInterface, "Interface " + interfaceName + " already defined");
+			diagnosticReporter.error(astInterface, "Interface " + interfaceName + " already defined");
 			return null;
 		}
 
@@ -300,7 +305,7 @@ public class BuildSymbolTree implements ASTVisitor<ASTType>
 			String functionName = astFunction.getIdentifier().getName();
 
 			if (!symbolInterface.addFunction(functionName, returnType)) {
-				DiagnosticReporter.error(astFunction,
+				diagnosticReporter.error(astFunction,
 						"Function " + functionName + " already defined in interface " + interfaceName);
 			}
 		}
@@ -458,7 +463,7 @@ public class BuildSymbolTree implements ASTVisitor<ASTType>
 	@Override
 	public ASTType visit(ASTIntLiteral astIntLiteral)
 	{
-		return astIntLiteral.getType();
+		return semanticModel.getType(astIntLiteral);
 	}
 
 	@Override
@@ -624,7 +629,8 @@ public class BuildSymbolTree implements ASTVisitor<ASTType>
 	@Override
 	public ASTType visit(ASTLambda astLambda)
 	{
-		SymbolFunction lambdaFunction = new SymbolFunction("lambda", astLambda.getReturnType());
+		SymbolFunction lambdaFunction = new SymbolFunction("lambda", astLambda.getReturnType(),
+				scopeManager.getCounter());
 		scopeManager.enterFunction(lambdaFunction);
 
 		try {
@@ -3,6 +3,7 @@ package knight.compiler.semantics;
 import java.util.HashSet;
 import java.util.Set;
 
+import knight.compiler.CompilationContext;
 import knight.compiler.ast.AST;
 import knight.compiler.ast.ASTVisitor;
 import knight.compiler.ast.controlflow.ASTConditionalBranch;
@@ -64,6 +65,7 @@ import knight.compiler.ast.types.ASTVoidType;
 import knight.compiler.library.LibraryManager;
 import knight.compiler.semantics.diagnostics.DiagnosticReporter;
 import knight.compiler.semantics.model.Scope;
+import knight.compiler.semantics.model.SemanticModel;
 import knight.compiler.semantics.model.SymbolClass;
 import knight.compiler.semantics.model.SymbolFunction;
 import knight.compiler.semantics.model.SymbolInterface;
@@ -77,14 +79,18 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 {
 	private final SymbolProgram symbolProgram;
 	private final ScopeManager scopeManager;
+	private final DiagnosticReporter diagnosticReporter;
+	private final SemanticModel semanticModel;
 	private final LibraryManager libraryManager = new LibraryManager();
 	public final Set<String> processedClasses = new HashSet<>();
 	public final Set<String> processedFunctions = new HashSet<>();
 
-	public NameAnalyser(SymbolProgram symbolProgram)
+	public NameAnalyser(CompilationContext context, SymbolProgram symbolProgram)
 	{
 		this.symbolProgram = symbolProgram;
-		this.scopeManager = new ScopeManager();
+		this.scopeManager = new ScopeManager(context.getCounter());
+		this.diagnosticReporter = context.getDiagnosticReporter();
+		this.semanticModel = context.getSemanticModel();
 	}
 
 	public ScopeManager getScopeManager()
@@ -114,12 +120,12 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 
 		SymbolClass symbolClass = symbolProgram.getClass(className);
 		if (symbolClass == null) {
-			DiagnosticReporter.error(astClass, "Class " + className + " not found in symbol table");
+			diagnosticReporter.error(astClass, "Class " + className + " not found in symbol table");
 			return null;
 		}
 
 		scopeManager.enterClass(symbolClass);
-		astClass.getIdentifier().setBinding(symbolClass);
+		semanticModel.setBinding(astClass.getIdentifier(), symbolClass);
 
 		try {
 			for (ASTProperty astProperty : astClass.getProperties()) {
@@ -147,9 +153,9 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 		SymbolProperty property = currentClass.getProperty(propertyName);
 
 		if (property != null) {
-			astProperty.getIdentifier().setBinding(property);
+			semanticModel.setBinding(astProperty.getIdentifier(), property);
 		} else {
-			DiagnosticReporter.error(astProperty,
+			diagnosticReporter.error(astProperty,
 					"Property " + propertyName + " not found in class " + currentClass.getName());
 		}
 
@@ -174,12 +180,12 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 		}
 
 		if (symbolFunction == null) {
-			DiagnosticReporter.error(astFunction, "Function " + functionName + " not found in symbol table");
+			diagnosticReporter.error(astFunction, "Function " + functionName + " not found in symbol table");
 			return null;
 		}
 
-		scopeManager.enterFunction(symbolFunction);
-		astFunction.getIdentifier().setBinding(symbolFunction);
+		scopeManager.enterFunction(symbolFunction, semanticModel.getScope(astFunction));
+		semanticModel.setBinding(astFunction.getIdentifier(), symbolFunction);
 
 		try {
 			astFunction.getReturnType().accept(this);
@@ -201,7 +207,7 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 	@Override
 	public ASTType visit(ASTBody astBody)
 	{
-		Scope bodyScope = astBody.getScope();
+		Scope bodyScope = semanticModel.getScope(astBody);
 		Scope savedScope = scopeManager.getCurrentScope();
 		scopeManager.setCurrentScope(bodyScope);
 
@@ -226,9 +232,9 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 		SymbolVariable parameter = currentFunction != null ? currentFunction.getParameter(paramName) : null;
 
 		if (parameter != null) {
-			astArgument.getIdentifier().setBinding(parameter);
+			semanticModel.setBinding(astArgument.getIdentifier(), parameter);
 		} else {
-			DiagnosticReporter.error(astArgument, "Parameter " + paramName + " not found in function");
+			diagnosticReporter.error(astArgument, "Parameter " + paramName + " not found in function");
 		}
 
 		return null;
@@ -243,9 +249,9 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 		SymbolVariable variable = SemanticUtils.resolveVariable(varName, scopeManager, symbolProgram);
 
 		if (variable != null) {
-			astVariable.getIdentifier().setBinding(variable);
+			semanticModel.setBinding(astVariable.getIdentifier(), variable);
 		} else {
-			DiagnosticReporter.error(astVariable, "Variable " + varName + " not declared");
+			diagnosticReporter.error(astVariable, "Variable " + varName + " not declared");
 		}
 
 		return null;
@@ -260,9 +266,9 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 		SymbolVariable variable = SemanticUtils.resolveVariable(varName, scopeManager, symbolProgram);
 
 		if (variable != null) {
-			astVariableInit.getIdentifier().setBinding(variable);
+			semanticModel.setBinding(astVariableInit.getIdentifier(), variable);
 		} else {
-			DiagnosticReporter.error(astVariableInit, "Variable " + varName + " not declared");
+			diagnosticReporter.error(astVariableInit, "Variable " + varName + " not declared");
 		}
 
 		if (astVariableInit.getExpression() != null) {
@@ -279,9 +285,9 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 		SymbolVariable variable = SemanticUtils.resolveVariable(identifier, scopeManager, symbolProgram);
 
 		if (variable != null) {
-			astIdentifier.setBinding(variable);
+			semanticModel.setBinding(astIdentifier, variable);
 		} else {
-			DiagnosticReporter.error(astIdentifier, "Variable " + identifier + " not declared");
+			diagnosticReporter.error(astIdentifier, "Variable " + identifier + " not declared");
 		}
 
 		return null;
@@ -294,9 +300,9 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 		SymbolVariable variable = SemanticUtils.resolveVariable(identifier, scopeManager, symbolProgram);
 
 		if (variable != null) {
-			astIdentifierExpr.setBinding(variable);
+			semanticModel.setBinding(astIdentifierExpr, variable);
 		} else {
-			DiagnosticReporter.error(astIdentifierExpr, "Variable " + identifier + " not declared");
+			diagnosticReporter.error(astIdentifierExpr, "Variable " + identifier + " not declared");
 		}
 
 		return null;
@@ -310,19 +316,19 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 		// First check for a class
 		SymbolClass symbolClass = symbolProgram.getClass(identifier);
 		if (symbolClass != null) {
-			astIdentifierType.setBinding(symbolClass);
+			semanticModel.setBinding(astIdentifierType, symbolClass);
 			return null;
 		}
 
 		// Then check for an interface
 		SymbolInterface symbolInterface = symbolProgram.getInterface(identifier);
 		if (symbolInterface != null) {
-			astIdentifierType.setBinding(symbolInterface);
+			semanticModel.setBinding(astIdentifierType, symbolInterface);
 			return null;
 		}
 
 		// If not found in either
-		DiagnosticReporter.error(astIdentifierType, "Type " + identifier + " not found");
+		diagnosticReporter.error(astIdentifierType, "Type " + identifier + " not found");
 		return null;
 	}
 
@@ -335,7 +341,7 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 	// if (symbolClass != null) {
 	// astIdentifierType.setBinding(symbolClass);
 	// } else {
-	// DiagnosticReporter.error(astIdentifierType, "Class " + identifier + " not
+	// diagnosticReporter.error(astIdentifierType, "Class " + identifier + " not
 	// found");
 	// }
 
@@ -373,12 +379,12 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 		}
 
 		SymbolFunction symbolFunction = SemanticUtils.resolveFunction(functionName, astCallFunctionExpr.getInstance(),
-				scopeManager, symbolProgram);
+				scopeManager, symbolProgram, diagnosticReporter);
 
 		if (symbolFunction != null) {
-			astCallFunctionExpr.getFunctionName().setBinding(symbolFunction);
+			semanticModel.setBinding(astCallFunctionExpr.getFunctionName(), symbolFunction);
 		} else {
-			DiagnosticReporter.error(astCallFunctionExpr, "Function '" + functionName + "' not found");
+			diagnosticReporter.error(astCallFunctionExpr, "Function '" + functionName + "' not found");
 		}
 
 		for (ASTExpression astExpression : astCallFunctionExpr.getArguments()) {
@@ -403,12 +409,12 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 		}
 
 		SymbolFunction symbolFunction = SemanticUtils.resolveFunction(functionName, astCallFunctionStat.getInstance(),
-				scopeManager, symbolProgram);
+				scopeManager, symbolProgram, diagnosticReporter);
 
 		if (symbolFunction != null) {
-			astCallFunctionStat.getFunctionName().setBinding(symbolFunction);
+			semanticModel.setBinding(astCallFunctionStat.getFunctionName(), symbolFunction);
 		} else {
-			DiagnosticReporter.error(astCallFunctionStat, "Function '" + functionName + "' not found");
+			diagnosticReporter.error(astCallFunctionStat, "Function '" + functionName + "' not found");
 		}
 
 		for (ASTExpression astExpression : astCallFunctionStat.getArguments()) {
@@ -425,9 +431,9 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 		SymbolClass symbolClass = symbolProgram.getClass(className);
 
 		if (symbolClass != null) {
-			astNewInstance.getClassName().setBinding(symbolClass);
+			semanticModel.setBinding(astNewInstance.getClassName(), symbolClass);
 		} else {
-			DiagnosticReporter.error(astNewInstance.getClassName(),
+			diagnosticReporter.error(astNewInstance.getClassName(),
 					"Cannot instantiate undefined class '" + className + "'");
 		}
 
@@ -516,7 +522,8 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 	@Override
 	public ASTType visit(ASTLambda astLambda)
 	{
-		SymbolFunction lambdaFunction = new SymbolFunction("lambda", astLambda.getReturnType());
+		SymbolFunction lambdaFunction = new SymbolFunction("lambda", astLambda.getReturnType(),
+				scopeManager.getCounter());
 		scopeManager.enterFunction(lambdaFunction);
 
 		try {
@@ -540,9 +547,9 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 		SymbolInterface symbolInterface = symbolProgram.getInterface(interfaceName);
 
 		if (symbolInterface != null) {
-			astInterface.getIdentifier().setBinding(symbolInterface);
+			semanticModel.setBinding(astInterface.getIdentifier(), symbolInterface);
 		} else {
-			DiagnosticReporter.error(astInterface, "Interface " + interfaceName + " not found");
+			diagnosticReporter.error(astInterface, "Interface " + interfaceName + " not found");
 		}
 
 		return null;
@@ -745,32 +752,32 @@ public class NameAnalyser implements ASTVisitor<ASTType>
 
 		SymbolVariable symbolVariable = SemanticUtils.resolveVariable(instanceName, scopeManager, symbolProgram);
 		if (symbolVariable == null) {
-			DiagnosticReporter.error(astFieldAccessExpr, "Variable " + instanceName + " not found in current scope.");
+			diagnosticReporter.error(astFieldAccessExpr, "Variable " + instanceName + " not found in current scope.");
 			return null;
 		}
 
 		ASTType varType = symbolVariable.getType();
 		if (!(varType instanceof ASTIdentifierType)) {
-			DiagnosticReporter.error(astFieldAccessExpr, "Variable " + instanceName + " is not a class instance.");
+			diagnosticReporter.error(astFieldAccessExpr, "Variable " + instanceName + " is not a class instance.");
 			return null;
 		}
 
 		String className = ((ASTIdentifierType) varType).getName();
 		SymbolClass symbolClass = symbolProgram.getClass(className);
 		if (symbolClass == null) {
-			DiagnosticReporter.error(astFieldAccessExpr, "Class " + className + " not found in symbol table.");
+			diagnosticReporter.error(astFieldAccessExpr, "Class " + className + " not found in symbol table.");
 			return null;
 		}
 
-		astFieldAccessExpr.getInstance().setBinding(symbolClass);
+		semanticModel.setBinding(astFieldAccessExpr.getInstance(), symbolClass);
 
-		SymbolProperty symbolProperty = symbolClass.getProperty(fieldName);
+		SymbolProperty symbolProperty = symbolClass.findProperty(fieldName);
 		if (symbolProperty == null) {
-			DiagnosticReporter.error(astFieldAccessExpr, "Property " + fieldName + " not found in class " + className);
+			diagnosticReporter.error(astFieldAccessExpr, "Property " + fieldName + " not found in class " + className);
 			return null;
 		}
 
-		astFieldAccessExpr.getField().setBinding(symbolProperty);
+		semanticModel.setBinding(astFieldAccessExpr.getField(), symbolProperty);
 
 		return symbolProperty.getType();
 	}
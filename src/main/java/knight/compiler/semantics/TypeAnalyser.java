@@ -4,6 +4,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import knight.compiler.CompilationContext;
 import knight.compiler.ast.AST;
 import knight.compiler.ast.ASTVisitor;
 import knight.compiler.ast.contracts.IASTCallFunction;
@@ -67,25 +68,33 @@ import knight.compiler.ast.types.ASTVoidType;
 import knight.compiler.library.LibraryManager;
 import knight.compiler.semantics.diagnostics.DiagnosticReporter;
 import knight.compiler.semantics.model.Binding;
+import knight.compiler.semantics.model.SemanticModel;
 import knight.compiler.semantics.model.SymbolClass;
 import knight.compiler.semantics.model.SymbolFunction;
 import knight.compiler.semantics.model.SymbolProgram;
 import knight.compiler.semantics.model.SymbolProperty;
 import knight.compiler.semantics.model.SymbolVariable;
+import knight.compiler.semantics.model.TypeTable;
 import knight.compiler.semantics.utils.ScopeManager;
 
 public class TypeAnalyser implements ASTVisitor<ASTType>
 {
 	private SymbolProgram symbolProgram;
 	private final ScopeManager scopeManager;
+	private final DiagnosticReporter diagnosticReporter;
+	private final SemanticModel semanticModel;
+	private final TypeTable typeTable;
 	private final Set<String> processedClasses = new HashSet<>();
 	private final Set<String> processedFunctions = new HashSet<>();
 	private final LibraryManager libraryManager = new LibraryManager();
 
-	public TypeAnalyser(SymbolProgram symbolProgram)
+	public TypeAnalyser(CompilationContext context, SymbolProgram symbolProgram)
 	{
 		this.symbolProgram = symbolProgram;
-		this.scopeManager = new ScopeManager();
+		this.scopeManager = new ScopeManager(context.getCounter());
+		this.diagnosticReporter = context.getDiagnosticReporter();
+		this.semanticModel = context.getSemanticModel();
+		this.typeTable = semanticModel.getTypeTable();
 	}
 
 	@Override
@@ -108,7 +117,7 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 		}
 		processedClasses.add(className);
 
-		SymbolClass symbolClass = (SymbolClass) astClass.getIdentifier().getBinding();
+		SymbolClass symbolClass = (SymbolClass) semanticModel.getBinding(astClass.getIdentifier());
 		scopeManager.enterClass(symbolClass);
 		processedFunctions.clear();
 
@@ -137,8 +146,8 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 		}
 		processedFunctions.add(functionName);
 
-		SymbolFunction symbolFunction = (SymbolFunction) astFunction.getIdentifier().getBinding();
-		scopeManager.enterFunction(symbolFunction);
+		SymbolFunction symbolFunction = (SymbolFunction) semanticModel.getBinding(astFunction.getIdentifier());
+		scopeManager.enterFunction(symbolFunction, semanticModel.getScope(astFunction));
 
 		try {
 			for (ASTArgument astArgument : astFunction.getArguments()) {
@@ -159,14 +168,8 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 	@Override
 	public ASTType visit(ASTBody astBody)
 	{
-		scopeManager.enterBlock();
-
-		try {
-			for (AST node : astBody.getNodes()) {
-				node.accept(this);
-			}
-		} finally {
-			scopeManager.exitBlock();
+		for (AST node : astBody.getNodes()) {
+			node.accept(this);
 		}
 
 		return null;
@@ -179,9 +182,9 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 		ASTType rightType = astAssign.getExpression().accept(this);
 
 		if (!isCompatible(leftType, rightType)) {
-			DiagnosticReporter.error(astAssign, "Cannot assign " + rightType + " to " + leftType);
+			diagnosticReporter.error(astAssign, "Cannot assign " + rightType + " to " + leftType);
 		} else {
-			astAssign.getExpression().setType(rightType);
+			semanticModel.setType(astAssign.getExpression(), rightType);
 		}
 
 		return leftType;
@@ -199,25 +202,25 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 			SymbolClass symbolClass = symbolProgram.getClass(className);
 
 			if (symbolClass != null) {
-				SymbolProperty property = symbolClass.getProperty(fieldName);
+				SymbolProperty property = symbolClass.findProperty(fieldName);
 
 				if (property != null) {
 					if (!isCompatible(property.getType(), valueType)) {
-						DiagnosticReporter.error(astFieldAssign.getValue(), "Cannot assign " + valueType + " to field '"
+						diagnosticReporter.error(astFieldAssign.getValue(), "Cannot assign " + valueType + " to field '"
 								+ fieldName + "' of type " + property.getType() + " in class " + className);
 					}
 
-					astFieldAssign.getField().setType(property.getType());
+					semanticModel.setType(astFieldAssign.getField(), property.getType());
 					return property.getType();
 				} else {
-					DiagnosticReporter.error(astFieldAssign.getField(),
+					diagnosticReporter.error(astFieldAssign.getField(),
 							"Field '" + fieldName + "' not found in class '" + className + "'");
 				}
 			} else {
-				DiagnosticReporter.error(astFieldAssign.getInstance(), "Unknown class '" + className + "'");
+				diagnosticReporter.error(astFieldAssign.getInstance(), "Unknown class '" + className + "'");
 			}
 		} else if (instanceType != null) {
-			DiagnosticReporter.error(astFieldAssign.getInstance(),
+			diagnosticReporter.error(astFieldAssign.getInstance(),
 					"Field access requires class instance, found: " + instanceType);
 		}
 
@@ -231,9 +234,9 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 		ASTType expressionType = astVariableInit.getExpression().accept(this);
 
 		if (!isCompatible(declaredType, expressionType)) {
-			DiagnosticReporter.error(astVariableInit, "Cannot initialize " + declaredType + " with " + expressionType);
+			diagnosticReporter.error(astVariableInit, "Cannot initialize " + declaredType + " with " + expressionType);
 		} else {
-			astVariableInit.getExpression().setType(expressionType);
+			semanticModel.setType(astVariableInit.getExpression(), expressionType);
 		}
 
 		return declaredType;
@@ -246,19 +249,14 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 		ASTType rightType = astPlus.getRight().accept(this);
 
 		if (leftType instanceof ASTStringType || rightType instanceof ASTStringType) {
-			ASTType resultType = new ASTStringType(astPlus.getToken());
-			astPlus.setType(resultType);
-
 			if (!(leftType instanceof ASTStringType) || !(rightType instanceof ASTStringType)) {
-				DiagnosticReporter.warning(astPlus, "Implicit conversion to string in concatenation");
+				diagnosticReporter.warning(astPlus, "Implicit conversion to string in concatenation");
 			}
-			return resultType;
+			return annotate(astPlus, TypeTable.STRING);
 		}
 
-		validateBinaryOperation(astPlus, leftType, rightType, ASTIntType.class, "+");
-		ASTType resultType = new ASTIntType(astPlus.getToken());
-		astPlus.setType(resultType);
-		return resultType;
+		validateBinaryOperation(astPlus, leftType, rightType, TypeTable.INT, "+");
+		return annotate(astPlus, TypeTable.INT);
 	}
 
 	@Override
@@ -352,53 +350,45 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 	@Override
 	public ASTType visit(ASTIntLiteral astIntLiteral)
 	{
-		ASTType astType = new ASTIntType(astIntLiteral.getToken());
-		astIntLiteral.setType(astType);
-		return astType;
+		return annotate(astIntLiteral, TypeTable.INT);
 	}
 
 	@Override
 	public ASTType visit(ASTStringLiteral astStringLiteral)
 	{
-		ASTType astType = new ASTStringType(astStringLiteral.getToken());
-		astStringLiteral.setType(astType);
-		return astType;
+		return annotate(astStringLiteral, TypeTable.STRING);
 	}
 
 	@Override
 	public ASTType visit(ASTTrue astTrue)
 	{
-		ASTType astType = new ASTBooleanType(astTrue.getToken());
-		astTrue.setType(astType);
-		return astType;
+		return annotate(astTrue, TypeTable.BOOLEAN);
 	}
 
 	@Override
 	public ASTType visit(ASTFalse astFalse)
 	{
-		ASTType astType = new ASTBooleanType(astFalse.getToken());
-		astFalse.setType(astType);
-		return astType;
+		return annotate(astFalse, TypeTable.BOOLEAN);
 	}
 
 	@Override
 	public ASTType visit(ASTIdentifierExpr astIdentifierExpr)
 	{
-		Binding binding = astIdentifierExpr.getBinding();
+		Binding binding = semanticModel.getBinding(astIdentifierExpr);
 		if (binding != null) {
 			if (binding instanceof SymbolVariable) {
 				ASTType astType = ((SymbolVariable) binding).getType();
-				astIdentifierExpr.setType(astType);
+				semanticModel.setType(astIdentifierExpr, astType);
 				return astType;
 			}
 
 			if (binding instanceof SymbolClass) {
 				ASTType astType = ((SymbolClass) binding).getType();
-				astIdentifierExpr.setType(astType);
+				semanticModel.setType(astIdentifierExpr, astType);
 				return astType;
 			}
 
-			DiagnosticReporter.error(astIdentifierExpr,
+			diagnosticReporter.error(astIdentifierExpr,
 					"Unexpected binding type: " + binding.getClass().getSimpleName());
 		}
 
@@ -408,7 +398,7 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 	@Override
 	public ASTType visit(ASTIdentifier astIdentifier)
 	{
-		Binding binding = astIdentifier.getBinding();
+		Binding binding = semanticModel.getBinding(astIdentifier);
 		if (binding != null) {
 			if (binding instanceof SymbolVariable) {
 				return ((SymbolVariable) binding).getType();
@@ -417,7 +407,7 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 				return ((SymbolClass) binding).getType();
 			}
 
-			DiagnosticReporter.error(astIdentifier, "Unexpected binding type: " + binding.getClass().getSimpleName());
+			diagnosticReporter.error(astIdentifier, "Unexpected binding type: " + binding.getClass().getSimpleName());
 		}
 		return null;
 	}
@@ -513,21 +503,19 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 	{
 		ASTType typeArrayLength = astNewArray.getArrayLength().accept(this);
 		if (typeArrayLength == null || !(typeArrayLength instanceof ASTIntType)) {
-			DiagnosticReporter.error(astNewArray.getArrayLength().getToken(), "Array length must be of type int");
+			diagnosticReporter.error(astNewArray.getArrayLength().getToken(), "Array length must be of type int");
 		}
 
-		ASTType astType = new ASTIntArrayType(astNewArray.getToken());
-		astNewArray.setType(astType);
-		return astType;
+		return annotate(astNewArray, TypeTable.INT_ARRAY);
 	}
 
 	@Override
 	public ASTType visit(ASTNewInstance astNewInstance)
 	{
-		Binding binding = astNewInstance.getClassName().getBinding();
+		Binding binding = semanticModel.getBinding(astNewInstance.getClassName());
 		if (binding instanceof SymbolClass) {
 			ASTType type = ((SymbolClass) binding).getType();
-			astNewInstance.setType(type);
+			semanticModel.setType(astNewInstance, type);
 			return type;
 		}
 		return null;
@@ -547,23 +535,21 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 	{
 		ASTType typeArray = astArrayIndexExpr.getArray().accept(this);
 		if (typeArray == null || !(typeArray instanceof ASTIntArrayType)) {
-			DiagnosticReporter.error(astArrayIndexExpr.getArray().getToken(),
+			diagnosticReporter.error(astArrayIndexExpr.getArray().getToken(),
 					"Array expression must evaluate to be of Type int[]");
 		} else {
-			astArrayIndexExpr.getArray().setType(typeArray);
+			semanticModel.setType(astArrayIndexExpr.getArray(), typeArray);
 		}
 
 		ASTType typeArrayIndex = astArrayIndexExpr.getIndex().accept(this);
 		if (typeArrayIndex == null || !(typeArrayIndex instanceof ASTIntType)) {
-			DiagnosticReporter.error(astArrayIndexExpr.getIndex().getToken(),
+			diagnosticReporter.error(astArrayIndexExpr.getIndex().getToken(),
 					"Index expression must evaluate to be of Type int");
 		} else {
-			astArrayIndexExpr.getIndex().setType(typeArrayIndex);
+			semanticModel.setType(astArrayIndexExpr.getIndex(), typeArrayIndex);
 		}
 
-		ASTType astType = new ASTIntType(astArrayIndexExpr.getToken());
-		astArrayIndexExpr.setType(astType);
-		return astType;
+		return annotate(astArrayIndexExpr, TypeTable.INT);
 	}
 
 	@Override
@@ -571,21 +557,21 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 	{
 		ASTType typeArrayId = astArrayAssign.getIdentifier().accept(this);
 		if (typeArrayId == null || !(typeArrayId instanceof ASTIntArrayType)) {
-			DiagnosticReporter.error(astArrayAssign.getIdentifier().getToken(), "Identifier must be of Type int[]");
+			diagnosticReporter.error(astArrayAssign.getIdentifier().getToken(), "Identifier must be of Type int[]");
 		}
 
 		ASTType typeArrayExpr1 = astArrayAssign.getArray().accept(this);
 		if (typeArrayExpr1 == null || !(typeArrayExpr1 instanceof ASTIntType)) {
-			DiagnosticReporter.error(astArrayAssign.getArray().getToken(), "Expression must be of Type int");
+			diagnosticReporter.error(astArrayAssign.getArray().getToken(), "Expression must be of Type int");
 		} else {
-			astArrayAssign.getArray().setType(typeArrayExpr1);
+			semanticModel.setType(astArrayAssign.getArray(), typeArrayExpr1);
 		}
 
 		ASTType typeArrayExpr2 = astArrayAssign.getValue().accept(this);
 		if (typeArrayExpr2 == null || !(typeArrayExpr2 instanceof ASTIntType)) {
-			DiagnosticReporter.error(astArrayAssign.getValue().getToken(), "Expression must be of Type int");
+			diagnosticReporter.error(astArrayAssign.getValue().getToken(), "Expression must be of Type int");
 		} else {
-			astArrayAssign.getValue().setType(typeArrayExpr2);
+			semanticModel.setType(astArrayAssign.getValue(), typeArrayExpr2);
 		}
 
 		return null;
@@ -612,9 +598,7 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 	@Override
 	public ASTType visit(ASTArrayLiteral astArrayLiteral)
 	{
-		ASTType astType = new ASTStringArrayType(astArrayLiteral.getToken());
-		astArrayLiteral.setType(astType);
-		return astType;
+		return annotate(astArrayLiteral, TypeTable.STRING_ARRAY);
 	}
 
 	@Override
@@ -624,7 +608,7 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 
 		if (iterableType != null && !(iterableType instanceof ASTIntArrayType)
 				&& !(iterableType instanceof ASTStringArrayType)) {
-			DiagnosticReporter.error(astForEach, "Foreach loop requires array type");
+			diagnosticReporter.error(astForEach, "Foreach loop requires array type");
 		}
 
 		return null;
@@ -659,20 +643,20 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 			SymbolClass symbolClass = symbolProgram.getClass(className);
 
 			if (symbolClass != null) {
-				SymbolProperty property = symbolClass.getProperty(fieldName);
+				SymbolProperty property = symbolClass.findProperty(fieldName);
 
 				if (property != null) {
-					astFieldAccessExpr.getField().setType(property.getType());
+					semanticModel.setType(astFieldAccessExpr.getField(), property.getType());
 					return property.getType();
 				} else {
-					DiagnosticReporter.error(astFieldAccessExpr.getField(),
+					diagnosticReporter.error(astFieldAccessExpr.getField(),
 							"Field '" + fieldName + "' not found in class '" + className + "'");
 				}
 			} else {
-				DiagnosticReporter.error(astFieldAccessExpr.getInstance(), "Unknown class '" + className + "'");
+				diagnosticReporter.error(astFieldAccessExpr.getInstance(), "Unknown class '" + className + "'");
 			}
 		} else if (instanceType != null) {
-			DiagnosticReporter.error(astFieldAccessExpr.getInstance(),
+			diagnosticReporter.error(astFieldAccessExpr.getInstance(),
 					"Field access requires class instance, found: " + instanceType);
 		}
 
@@ -681,45 +665,29 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 
 	private boolean isCompatible(ASTType type1, ASTType type2)
 	{
-		if (type1 == null || type2 == null) {
-			return false;
-		}
-
-		if (type1.getClass() == type2.getClass()) {
-			return true;
-		}
-
-		// TODO: Add more types
-		if (type1 instanceof ASTIntType && type2 instanceof ASTIntType) {
-			return true;
-		}
-
-		if (type1 instanceof ASTIdentifierType && type2 instanceof ASTIdentifierType) {
-			ASTIdentifierType id1 = (ASTIdentifierType) type1;
-			ASTIdentifierType id2 = (ASTIdentifierType) type2;
-
-			if (id1.getName().equals(id2.getName())) {
-				return true;
-			}
-
-			// TODO: Add inheritance and interface implementation checks
-		}
+		return typeTable.isAssignable(type1, type2);
+	}
 
-		return false;
+	private ASTType annotate(AST node, int typeId)
+	{
+		semanticModel.setTypeId(node, typeId);
+		return typeTable.get(typeId);
 	}
 
-	private void validateBinaryOperation(ASTBinaryExpression operator, ASTType left, ASTType right,
-			Class<? extends ASTType> expectedType, String operation)
+	private void validateBinaryOperation(ASTBinaryExpression operator, ASTType left, ASTType right, int expectedType,
+			String operation)
 	{
 		if (left == null || right == null) {
-			DiagnosticReporter.error(operator.getToken(),
+			diagnosticReporter.error(operator.getToken(),
 					"Operands must have valid types for " + operation + " operator");
 			return;
 		}
 
-		if (!isCompatible(left, right)
-				|| (expectedType != null && !(expectedType.isInstance(left) && expectedType.isInstance(right)))) {
-			DiagnosticReporter.error(operator,
+		int leftId = typeTable.idOf(left);
+		int rightId = typeTable.idOf(right);
+		if (!typeTable.isAssignable(leftId, rightId) && !typeTable.isAssignable(rightId, leftId)
+				|| (expectedType != TypeTable.NONE && (leftId != expectedType || rightId != expectedType))) {
+			diagnosticReporter.error(operator,
 					"Operator " + operation + " cannot be applied to " + left + " and " + right);
 		}
 	}
@@ -729,11 +697,9 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 		ASTType leftType = left.accept(this);
 		ASTType rightType = right.accept(this);
 
-		validateBinaryOperation(operator, leftType, rightType, ASTIntType.class, op);
+		validateBinaryOperation(operator, leftType, rightType, TypeTable.INT, op);
 
-		ASTType resultType = new ASTIntType(operator.getToken());
-		operator.setType(resultType);
-		return resultType;
+		return annotate(operator, TypeTable.INT);
 	}
 
 	private ASTType handleComparison(ASTBinaryExpression operator, AST left, AST right, String op)
@@ -741,11 +707,9 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 		ASTType leftType = left.accept(this);
 		ASTType rightType = right.accept(this);
 
-		validateBinaryOperation(operator, leftType, rightType, null, op);
+		validateBinaryOperation(operator, leftType, rightType, TypeTable.NONE, op);
 
-		ASTType resultType = new ASTBooleanType(operator.getToken());
-		operator.setType(resultType);
-		return resultType;
+		return annotate(operator, TypeTable.BOOLEAN);
 	}
 
 	private ASTType handleLogicalOperation(ASTBinaryExpression operator, AST left, AST right, String op)
@@ -753,18 +717,16 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 		ASTType leftType = left.accept(this);
 		ASTType rightType = right.accept(this);
 
-		validateBinaryOperation(operator, leftType, rightType, ASTBooleanType.class, op);
+		validateBinaryOperation(operator, leftType, rightType, TypeTable.BOOLEAN, op);
 
-		ASTType resultType = new ASTBooleanType(operator.getToken());
-		operator.setType(resultType);
-		return resultType;
+		return annotate(operator, TypeTable.BOOLEAN);
 	}
 
 	private void validateFunctionArguments(IASTCallFunction astCall, SymbolFunction function,
 			List<ASTExpression> arguments)
 	{
 		if (arguments.size() != function.getParameterCount()) {
-			DiagnosticReporter.error(astCall.getToken(), "Function " + function.getName() + " expects "
+			diagnosticReporter.error(astCall.getToken(), "Function " + function.getName() + " expects "
 					+ function.getParameterCount() + " arguments but got " + arguments.size());
 			return;
 		}
@@ -774,7 +736,7 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 			ASTType paramType = function.getParameter(i).getType();
 
 			if (!isCompatible(paramType, argType)) {
-				DiagnosticReporter.error(arguments.get(i),
+				diagnosticReporter.error(arguments.get(i),
 						"Argument " + (i + 1) + ": expected " + paramType + " but got " + argType);
 			}
 		}
@@ -783,7 +745,7 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 	private ASTType handleFunctionCall(IASTCallFunction astCall, ASTIdentifierExpr functionName,
 			List<ASTExpression> arguments)
 	{
-		SymbolFunction symbolFunction = (SymbolFunction) functionName.getBinding();
+		SymbolFunction symbolFunction = (SymbolFunction) semanticModel.getBinding(functionName);
 
 		if (libraryManager.isBuiltIn(functionName.getName())) {
 			// LibraryFunction libraryFunction = LibraryManager.getBuiltIn(functionName);
@@ -791,7 +753,7 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 		}
 
 		if (symbolFunction == null) {
-			DiagnosticReporter.error(functionName, "Function " + functionName + " not found");
+			diagnosticReporter.error(functionName, "Function " + functionName + " not found");
 			return null;
 		}
 
@@ -800,7 +762,7 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 		ASTType returnType = symbolFunction.getReturnType();
 
 		if (astCall instanceof ASTExpression) {
-			((ASTExpression) astCall).setType(returnType);
+			semanticModel.setType((AST) astCall, returnType);
 		}
 
 		return returnType;
@@ -809,7 +771,7 @@ public class TypeAnalyser implements ASTVisitor<ASTType>
 	private void validateBooleanCondition(AST condition, ASTType conditionType)
 	{
 		if (!(conditionType instanceof ASTBooleanType)) {
-			DiagnosticReporter.error(condition, "Condition must be boolean type");
+			diagnosticReporter.error(condition, "Condition must be boolean type");
 		}
 	}
 }
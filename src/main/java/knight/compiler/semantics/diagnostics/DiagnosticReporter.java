@@ -5,105 +5,118 @@ import java.util.Collections;
 import java.util.List;
 
 import knight.compiler.ast.AST;
+import knight.compiler.ast.SourceFileTable;
 import knight.compiler.lexer.Token;
 
 public final class DiagnosticReporter
 {
-	private static final List<Diagnostic> diagnostics = new ArrayList<>();
-	private static boolean warningsEnabled = true;
+	private final List<Diagnostic> diagnostics = new ArrayList<>();
+	private final SourceFileTable sourceFiles;
+	private boolean warningsEnabled = true;
 
-	private DiagnosticReporter()
+	public DiagnosticReporter()
 	{
+		this(new SourceFileTable());
 	}
 
-	public static void error(Token token, String message)
+	public DiagnosticReporter(SourceFileTable sourceFiles)
+	{
+		this.sourceFiles = sourceFiles;
+	}
+
+	public void error(Token token, String message)
 	{
 		report(new Diagnostic(token.getRow(), token.getCol(), message, DiagnosticSeverity.ERROR, null));
 	}
 
-	public static void error(Token token, String message, String sourceFile)
+	public void error(Token token, String message, String sourceFile)
 	{
 		report(new Diagnostic(token.getRow(), token.getCol(), message, DiagnosticSeverity.ERROR, sourceFile));
 	}
 
-	public static void error(AST ast, String message)
+	public void error(AST ast, String message)
 	{
-		String sourceFile = ast.getSourceFile();
+		String sourceFile = sourceFiles.getPath(ast);
 		report(new Diagnostic(ast.getToken().getRow(), ast.getToken().getCol(), message, DiagnosticSeverity.ERROR,
 				sourceFile));
 	}
 
-	public static void warning(Token token, String message)
+	public void warning(Token token, String message)
 	{
 		if (warningsEnabled) {
 			report(new Diagnostic(token.getRow(), token.getCol(), message, DiagnosticSeverity.WARNING, null));
 		}
 	}
 
-	public static void warning(Token token, String message, String sourceFile)
+	public void warning(Token token, String message, String sourceFile)
 	{
 		if (warningsEnabled) {
 			report(new Diagnostic(token.getRow(), token.getCol(), message, DiagnosticSeverity.WARNING, sourceFile));
 		}
 	}
 
-	public static void warning(AST ast, String message)
+	public void warning(AST ast, String message)
 	{
 		if (warningsEnabled) {
-			String sourceFile = ast.getSourceFile();
+			String sourceFile = sourceFiles.getPath(ast);
 			report(new Diagnostic(ast.getToken().getRow(), ast.getToken().getCol(), message, DiagnosticSeverity.WARNING,
 					sourceFile));
 		}
 	}
 
-	public static void info(Token token, String message)
+	public void info(Token token, String message)
 	{
 		report(new Diagnostic(token.getRow(), token.getCol(), message, DiagnosticSeverity.INFO, null));
 	}
 
-	public static void info(Token token, String message, String sourceFile)
+	public void info(Token token, String message, String sourceFile)
 	{
 		report(new Diagnostic(token.getRow(), token.getCol(), message, DiagnosticSeverity.INFO, sourceFile));
 	}
 
-	public static void info(AST ast, String message)
+	public void info(AST ast, String message)
 	{
-		String sourceFile = ast.getSourceFile();
+		String sourceFile = sourceFiles.getPath(ast);
 		report(new Diagnostic(ast.getToken().getRow(), ast.getToken().getCol(), message, DiagnosticSeverity.INFO,
 				sourceFile));
 	}
 
-	private static synchronized void report(Diagnostic diagnostic)
+	private synchronized void report(Diagnostic diagnostic)
 	{
 		diagnostics.add(diagnostic);
 	}
 
-	public static synchronized void setWarningsEnabled(boolean enabled)
+	public synchronized void report(List<Diagnostic> reported)
+	{
+		diagnostics.addAll(reported);
+	}
+
+	public synchronized void setWarningsEnabled(boolean enabled)
 	{
 		warningsEnabled = enabled;
 	}
 
-	public static synchronized List<Diagnostic> getDiagnostics()
+	public synchronized List<Diagnostic> getDiagnostics()
 	{
 		return Collections.unmodifiableList(new ArrayList<>(diagnostics));
 	}
 
-	public static synchronized boolean hasErrors()
+	public synchronized boolean hasErrors()
 	{
 		return diagnostics.stream().anyMatch(d -> d.getSeverity() == DiagnosticSeverity.ERROR);
 	}
 
-	public static synchronized List<Diagnostic> getErrors()
+	public synchronized List<Diagnostic> getErrors()
 	{
 		return diagnostics.stream().filter(d -> d.getSeverity() == DiagnosticSeverity.ERROR).toList();
 	}
 
-	public static synchronized void clear()
+	public synchronized void clear()
 	{
 		diagnostics.clear();
 	}
 
-	public static synchronized void sort()
+	public synchronized void sort()
 	{
 		diagnostics.sort((a, b) -> {
 			// First sort by source file
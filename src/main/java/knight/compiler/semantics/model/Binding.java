@@ -6,11 +6,13 @@ import knight.compiler.semantics.utils.Counter;
 public abstract class Binding
 {
 	protected final ASTType type;
+	protected final Counter counter;
 	private final int uniqueId;
 
-	public Binding(ASTType type)
+	public Binding(ASTType type, Counter counter)
 	{
-		this.uniqueId = Counter.getInstance().getCount();
+		this.uniqueId = counter.getCount();
+		this.counter = counter;
 		this.type = type;
 	}
 
@@ -0,0 +1,117 @@
+package knight.compiler.semantics.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public final class MemberTable
+{
+	private final Map<String, SymbolFunction> functions;
+	private final Map<String, SymbolProperty> properties;
+	private final List<SymbolFunction> vtable;
+	private final Map<String, Integer> vtableSlots;
+	private final Set<String> supertypes;
+
+	private MemberTable(Map<String, SymbolFunction> functions, Map<String, SymbolProperty> properties,
+			List<SymbolFunction> vtable, Map<String, Integer> vtableSlots, Set<String> supertypes)
+	{
+		this.functions = Collections.unmodifiableMap(functions);
+		this.properties = Collections.unmodifiableMap(properties);
+		this.vtable = List.copyOf(vtable);
+		this.vtableSlots = Collections.unmodifiableMap(vtableSlots);
+		this.supertypes = Collections.unmodifiableSet(supertypes);
+	}
+
+	static MemberTable build(SymbolClass symbolClass, MemberTable parent, List<SymbolInterface> interfaces)
+	{
+		Map<String, SymbolFunction> functions = new LinkedHashMap<>();
+		Map<String, SymbolProperty> properties = new LinkedHashMap<>();
+		List<SymbolFunction> vtable = new ArrayList<>();
+		Map<String, Integer> vtableSlots = new HashMap<>();
+		Set<String> supertypes = new LinkedHashSet<>();
+
+		if (parent != null) {
+			functions.putAll(parent.functions);
+			properties.putAll(parent.properties);
+			vtable.addAll(parent.vtable);
+			vtableSlots.putAll(parent.vtableSlots);
+			supertypes.add(symbolClass.getParentClassName());
+			supertypes.addAll(parent.supertypes);
+		}
+
+		properties.putAll(symbolClass.getProperties());
+		for (SymbolFunction function : symbolClass.getFunctions().values()) {
+			functions.put(function.getName(), function);
+			addToVtable(function, vtable, vtableSlots);
+		}
+
+		for (SymbolInterface symbolInterface : interfaces) {
+			supertypes.add(symbolInterface.getName());
+			for (SymbolFunction function : symbolInterface.getFunctions().values()) {
+				if (functions.putIfAbsent(function.getName(), function) == null) {
+					addToVtable(function, vtable, vtableSlots);
+				}
+			}
+		}
+
+		return new MemberTable(functions, properties, vtable, vtableSlots, supertypes);
+	}
+
+	private static void addToVtable(SymbolFunction function, List<SymbolFunction> vtable,
+			Map<String, Integer> vtableSlots)
+	{
+		Integer slot = vtableSlots.get(function.getName());
+		if (slot != null) {
+			vtable.set(slot, function);
+		} else {
+			vtableSlots.put(function.getName(), vtable.size());
+			vtable.add(function);
+		}
+	}
+
+	public SymbolFunction getFunction(String name)
+	{
+		return functions.get(name);
+	}
+
+	public SymbolProperty getProperty(String name)
+	{
+		return properties.get(name);
+	}
+
+	public Map<String, SymbolFunction> getFunctions()
+	{
+		return functions;
+	}
+
+	public Map<String, SymbolProperty> getProperties()
+	{
+		return properties;
+	}
+
+	public List<SymbolFunction> getVtable()
+	{
+		return vtable;
+	}
+
+	public int getVtableSlot(String name)
+	{
+		Integer slot = vtableSlots.get(name);
+		return slot != null ? slot : -1;
+	}
+
+	public boolean isSubtypeOf(String name)
+	{
+		return supertypes.contains(name);
+	}
+
+	public Set<String> getSupertypes()
+	{
+		return supertypes;
+	}
+}
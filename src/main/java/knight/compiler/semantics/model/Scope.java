@@ -1,47 +1,76 @@
 package knight.compiler.semantics.model;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import knight.compiler.ast.types.ASTType;
+import knight.compiler.semantics.utils.Counter;
 
 public class Scope
 {
 	private final Scope parentScope;
-	private final Map<String, SymbolVariable> variables;
+	private final Scope frame;
+	private final int depth;
+	private final Counter counter;
+	private final Map<String, SymbolVariable> variables = new LinkedHashMap<>();
+	private final Map<String, List<Scope>> declarations;
+	private int frameSize;
 
 	public Scope(Scope parentScope)
+	{
+		this(parentScope, parentScope != null ? parentScope.counter : new Counter());
+	}
+
+	public Scope(Scope parentScope, Counter counter)
 	{
 		this.parentScope = parentScope;
-		this.variables = new HashMap<>();
+		this.frame = parentScope != null ? parentScope.frame : this;
+		this.depth = parentScope != null ? parentScope.depth + 1 : 0;
+		this.counter = counter;
+		this.declarations = frame == this ? new HashMap<>() : null;
 	}
 
 	public boolean addVariable(String name, ASTType type)
 	{
-		if (variables.containsKey(name)) {
+		if (variables.containsKey(name) || getVariable(name) != null) {
 			return false;
 		}
 
-		Scope currentScope = this;
-		while (currentScope != null) {
-			if (currentScope.variables.containsKey(name)) {
-				return false;
-			}
-			currentScope = currentScope.parentScope;
-		}
-
-		variables.put(name, new SymbolVariable(name, type));
+		SymbolVariable variable = new SymbolVariable(name, type, counter);
+		variable.setLocalVariableIndex(frame.frameSize++);
+		variable.setScopeDepth(depth);
+		variables.put(name, variable);
+		frame.declarations.computeIfAbsent(name, key -> new ArrayList<>(1)).add(this);
 		return true;
 	}
 
 	public SymbolVariable getVariable(String name)
 	{
-		SymbolVariable variable = variables.get(name);
-		if (variable != null) {
-			return variable;
+		List<Scope> owners = frame.declarations.get(name);
+		if (owners == null) {
+			return null;
+		}
+
+		for (Scope owner : owners) {
+			if (encloses(owner)) {
+				return owner.variables.get(name);
+			}
+		}
+		return null;
+	}
+
+	private boolean encloses(Scope owner)
+	{
+		for (Scope scope = this; scope != null && scope.depth >= owner.depth; scope = scope.parentScope) {
+			if (scope == owner) {
+				return true;
+			}
 		}
-		return parentScope != null ? parentScope.getVariable(name) : null;
+		return false;
 	}
 
 	public boolean containsVariable(String name)
@@ -54,6 +83,16 @@ public class Scope
 		return parentScope;
 	}
 
+	public int getDepth()
+	{
+		return depth;
+	}
+
+	public int getFrameSize()
+	{
+		return frame.frameSize;
+	}
+
 	public Map<String, SymbolVariable> getVariables()
 	{
 		return Collections.unmodifiableMap(variables);
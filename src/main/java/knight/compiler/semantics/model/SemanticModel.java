@@ -0,0 +1,156 @@
+package knight.compiler.semantics.model;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import knight.compiler.ast.AST;
+import knight.compiler.ast.SourceFileTable;
+import knight.compiler.ast.types.ASTType;
+
+public final class SemanticModel
+{
+	private static final int INITIAL_CAPACITY = 64;
+
+	private final TypeTable typeTable = new TypeTable();
+	private Table[] files = new Table[8];
+	private final Table unnumbered = new Table();
+	private final Map<AST, Integer> unnumberedIds = new IdentityHashMap<>();
+	private SemanticModel standardLibrary;
+
+	public TypeTable getTypeTable()
+	{
+		return typeTable;
+	}
+
+	public void setStandardLibrary(SemanticModel standardLibrary)
+	{
+		this.standardLibrary = standardLibrary != this ? standardLibrary : null;
+	}
+
+	public ASTType getType(AST node)
+	{
+		if (isStandardLibrary(node)) {
+			return standardLibrary.getType(node);
+		}
+
+		int typeId = getTypeId(node);
+		return typeId == TypeTable.NONE ? null : typeTable.get(typeId);
+	}
+
+	public void setType(AST node, ASTType type)
+	{
+		setTypeId(node, typeTable.idOf(type));
+	}
+
+	public int getTypeId(AST node)
+	{
+		if (isStandardLibrary(node)) {
+			return typeTable.idOf(standardLibrary.getType(node));
+		}
+
+		Table table = table(node, false);
+		int index = index(node, false);
+		return table == null || index >= table.types.length ? TypeTable.NONE : table.types[index];
+	}
+
+	public void setTypeId(AST node, int typeId)
+	{
+		int index = index(node, true);
+		table(node, true).ensureCapacity(index + 1).types[index] = typeId;
+	}
+
+	public Binding getBinding(AST node)
+	{
+		if (isStandardLibrary(node)) {
+			return standardLibrary.getBinding(node);
+		}
+
+		Table table = table(node, false);
+		int index = index(node, false);
+		return table == null || index >= table.bindings.length ? null : table.bindings[index];
+	}
+
+	public void setBinding(AST node, Binding binding)
+	{
+		int index = index(node, true);
+		table(node, true).ensureCapacity(index + 1).bindings[index] = binding;
+	}
+
+	public Scope getScope(AST node)
+	{
+		if (isStandardLibrary(node)) {
+			return standardLibrary.getScope(node);
+		}
+
+		Table table = table(node, false);
+		int index = index(node, false);
+		return table == null || index >= table.scopes.length ? null : table.scopes[index];
+	}
+
+	public void setScope(AST node, Scope scope)
+	{
+		int index = index(node, true);
+		table(node, true).ensureCapacity(index + 1).scopes[index] = scope;
+	}
+
+	private boolean isStandardLibrary(AST node)
+	{
+		return standardLibrary != null && node.getFileId() == SourceFileTable.STANDARD_LIBRARY;
+	}
+
+	private Table table(AST node, boolean create)
+	{
+		if (node.getId() <= 0) {
+			return unnumbered;
+		}
+
+		int fileId = node.getFileId();
+		if (fileId >= files.length) {
+			if (!create) {
+				return null;
+			}
+			files = Arrays.copyOf(files, Math.max(fileId + 1, files.length * 2));
+		}
+
+		if (files[fileId] == null && create) {
+			files[fileId] = new Table();
+		}
+		return files[fileId];
+	}
+
+	private int index(AST node, boolean create)
+	{
+		if (node.getId() > 0) {
+			return node.getId();
+		}
+
+		Integer id = unnumberedIds.get(node);
+		if (id == null) {
+			if (!create) {
+				return Integer.MAX_VALUE;
+			}
+			id = unnumberedIds.size();
+			unnumberedIds.put(node, id);
+		}
+		return id;
+	}
+
+	private static final class Table
+	{
+		private int[] types = new int[0];
+		private Binding[] bindings = new Binding[0];
+		private Scope[] scopes = new Scope[0];
+
+		private Table ensureCapacity(int capacity)
+		{
+			if (capacity > types.length) {
+				int length = Math.max(capacity, Math.max(INITIAL_CAPACITY, types.length * 2));
+				types = Arrays.copyOf(types, length);
+				bindings = Arrays.copyOf(bindings, length);
+				scopes = Arrays.copyOf(scopes, length);
+			}
+			return this;
+		}
+	}
+}
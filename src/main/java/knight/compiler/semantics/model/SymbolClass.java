@@ -1,13 +1,14 @@
 package knight.compiler.semantics.model;
 
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
 import knight.compiler.ast.types.ASTIdentifierType;
 import knight.compiler.ast.types.ASTType;
+import knight.compiler.semantics.utils.Counter;
 
 public class SymbolClass extends Binding
 {
@@ -16,15 +17,16 @@ public class SymbolClass extends Binding
 	private final Map<String, SymbolFunction> functions;
 	private final Map<String, SymbolProperty> properties;
 	private final Set<String> implementedInterfaces;
+	private MemberTable memberTable;
 
-	public SymbolClass(String name, String parentClassName)
+	public SymbolClass(String name, String parentClassName, Counter counter)
 	{
-		super(new ASTIdentifierType(null, name));
+		super(new ASTIdentifierType(null, name), counter);
 		this.name = name;
 		this.parentClassName = parentClassName;
-		this.functions = new HashMap<>();
-		this.properties = new HashMap<>();
-		this.implementedInterfaces = new HashSet<>();
+		this.functions = new LinkedHashMap<>();
+		this.properties = new LinkedHashMap<>();
+		this.implementedInterfaces = new LinkedHashSet<>();
 	}
 
 	public String getName()
@@ -42,7 +44,7 @@ public class SymbolClass extends Binding
 		if (functions.containsKey(functionName)) {
 			return false;
 		}
-		functions.put(functionName, new SymbolFunction(functionName, returnType));
+		functions.put(functionName, new SymbolFunction(functionName, returnType, counter));
 		return true;
 	}
 
@@ -66,7 +68,7 @@ public class SymbolClass extends Binding
 		if (properties.containsKey(propertyName)) {
 			return false;
 		}
-		properties.put(propertyName, new SymbolProperty(propertyName, type));
+		properties.put(propertyName, new SymbolProperty(propertyName, type, counter));
 		return true;
 	}
 
@@ -100,6 +102,26 @@ public class SymbolClass extends Binding
 		return implementedInterfaces.contains(interfaceName);
 	}
 
+	public MemberTable getMemberTable()
+	{
+		return memberTable;
+	}
+
+	public void setMemberTable(MemberTable memberTable)
+	{
+		this.memberTable = memberTable;
+	}
+
+	public SymbolFunction findFunction(String functionName)
+	{
+		return memberTable != null ? memberTable.getFunction(functionName) : functions.get(functionName);
+	}
+
+	public SymbolProperty findProperty(String propertyName)
+	{
+		return memberTable != null ? memberTable.getProperty(propertyName) : properties.get(propertyName);
+	}
+
 	public boolean hasParentClass()
 	{
 		return parentClassName != null;
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Map;
 
 import knight.compiler.ast.types.ASTType;
+import knight.compiler.semantics.utils.Counter;
 
 public class SymbolFunction extends Binding
 {
@@ -14,9 +15,9 @@ public class SymbolFunction extends Binding
 	private final List<SymbolVariable> parameters;
 	private final Map<String, SymbolVariable> parameterMap;
 
-	public SymbolFunction(String name, ASTType returnType)
+	public SymbolFunction(String name, ASTType returnType, Counter counter)
 	{
-		super(returnType);
+		super(returnType, counter);
 		this.name = name;
 		this.parameters = new ArrayList<>();
 		this.parameterMap = new HashMap<>();
@@ -33,7 +34,7 @@ public class SymbolFunction extends Binding
 			return false;
 		}
 
-		SymbolVariable parameter = new SymbolVariable(parameterName, parameterType);
+		SymbolVariable parameter = new SymbolVariable(parameterName, parameterType, counter);
 		parameters.add(parameter);
 		parameterMap.put(parameterName, parameter);
 		return true;
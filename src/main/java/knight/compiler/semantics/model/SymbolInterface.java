@@ -1,13 +1,14 @@
 package knight.compiler.semantics.model;
 
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
 import knight.compiler.ast.types.ASTIdentifierType;
 import knight.compiler.ast.types.ASTType;
+import knight.compiler.semantics.utils.Counter;
 
 public class SymbolInterface extends Binding
 {
@@ -15,12 +16,12 @@ public class SymbolInterface extends Binding
 	private final Map<String, SymbolFunction> functions;
 	private final Set<String> extendedInterfaces;
 
-	public SymbolInterface(String name)
+	public SymbolInterface(String name, Counter counter)
 	{
-		super(new ASTIdentifierType(null, name));
+		super(new ASTIdentifierType(null, name), counter);
 		this.name = name;
-		this.functions = new HashMap<>();
-		this.extendedInterfaces = new HashSet<>();
+		this.functions = new LinkedHashMap<>();
+		this.extendedInterfaces = new LinkedHashSet<>();
 	}
 
 	public String getName()
@@ -33,7 +34,7 @@ public class SymbolInterface extends Binding
 		if (functions.containsKey(functionName)) {
 			return false;
 		}
-		functions.put(functionName, new SymbolFunction(functionName, returnType));
+		functions.put(functionName, new SymbolFunction(functionName, returnType, counter));
 		return true;
 	}
 
@@ -1,10 +1,17 @@
 package knight.compiler.semantics.model;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import knight.compiler.ast.types.ASTType;
+import knight.compiler.semantics.utils.Counter;
 
 public class SymbolProgram
 {
@@ -12,15 +19,27 @@ public class SymbolProgram
 	private final Map<String, SymbolInterface> interfaces;
 	private final Map<String, SymbolFunction> globalFunctions;
 	private final Map<String, SymbolVariable> globalVariables;
+	private final Counter counter;
 
 	public SymbolProgram()
 	{
+		this(new Counter());
+	}
+
+	public SymbolProgram(Counter counter)
+	{
+		this.counter = counter;
 		this.classes = new HashMap<>();
 		this.interfaces = new HashMap<>();
 		this.globalFunctions = new HashMap<>();
 		this.globalVariables = new HashMap<>();
 	}
 
+	public Counter getCounter()
+	{
+		return counter;
+	}
+
 	public void clear()
 	{
 		classes.clear();
@@ -34,10 +53,15 @@ public class SymbolProgram
 		if (classes.containsKey(name)) {
 			return false;
 		}
-		classes.put(name, new SymbolClass(name, parentClassName));
+		classes.put(name, new SymbolClass(name, parentClassName, counter));
 		return true;
 	}
 
+	public boolean addClass(SymbolClass symbolClass)
+	{
+		return classes.putIfAbsent(symbolClass.getName(), symbolClass) == null;
+	}
+
 	public SymbolClass getClass(String name)
 	{
 		return classes.get(name);
@@ -53,15 +77,61 @@ public class SymbolProgram
 		return classes.containsKey(name);
 	}
 
+	public void buildMemberTables()
+	{
+		Set<String> visiting = new HashSet<>();
+		for (SymbolClass symbolClass : classes.values()) {
+			buildMemberTable(symbolClass, visiting);
+		}
+	}
+
+	private MemberTable buildMemberTable(SymbolClass symbolClass, Set<String> visiting)
+	{
+		if (symbolClass.getMemberTable() != null) {
+			return symbolClass.getMemberTable();
+		}
+
+		MemberTable parent = null;
+		if (visiting.add(symbolClass.getName())) {
+			SymbolClass parentClass = symbolClass.hasParentClass() ? classes.get(symbolClass.getParentClassName())
+					: null;
+			if (parentClass != null && !visiting.contains(parentClass.getName())) {
+				parent = buildMemberTable(parentClass, visiting);
+			}
+			visiting.remove(symbolClass.getName());
+		}
+
+		List<SymbolInterface> implemented = new ArrayList<>();
+		Deque<String> pending = new ArrayDeque<>(symbolClass.getImplementedInterfaces());
+		Set<String> seen = new HashSet<>();
+		while (!pending.isEmpty()) {
+			String name = pending.poll();
+			SymbolInterface symbolInterface = interfaces.get(name);
+			if (seen.add(name) && symbolInterface != null) {
+				implemented.add(symbolInterface);
+				pending.addAll(symbolInterface.getExtendedInterfaces());
+			}
+		}
+
+		MemberTable memberTable = MemberTable.build(symbolClass, parent, implemented);
+		symbolClass.setMemberTable(memberTable);
+		return memberTable;
+	}
+
 	public boolean addInterface(String name)
 	{
 		if (interfaces.containsKey(name)) {
 			return false;
 		}
-		interfaces.put(name, new SymbolInterface(name));
+		interfaces.put(name, new SymbolInterface(name, counter));
 		return true;
 	}
 
+	public boolean addInterface(SymbolInterface symbolInterface)
+	{
+		return interfaces.putIfAbsent(symbolInterface.getName(), symbolInterface) == null;
+	}
+
 	public SymbolInterface getInterface(String name)
 	{
 		return interfaces.get(name);
@@ -82,10 +152,15 @@ public class SymbolProgram
 		if (globalFunctions.containsKey(name)) {
 			return false;
 		}
-		globalFunctions.put(name, new SymbolFunction(name, returnType));
+		globalFunctions.put(name, new SymbolFunction(name, returnType, counter));
 		return true;
 	}
 
+	public boolean addGlobalFunction(SymbolFunction symbolFunction)
+	{
+		return globalFunctions.putIfAbsent(symbolFunction.getName(), symbolFunction) == null;
+	}
+
 	public SymbolFunction getGlobalFunction(String name)
 	{
 		return globalFunctions.get(name);
@@ -106,10 +181,15 @@ public class SymbolProgram
 		if (globalVariables.containsKey(name)) {
 			return false;
 		}
-		globalVariables.put(name, new SymbolVariable(name, type));
+		globalVariables.put(name, new SymbolVariable(name, type, counter));
 		return true;
 	}
 
+	public boolean addGlobalVariable(SymbolVariable symbolVariable)
+	{
+		return globalVariables.putIfAbsent(symbolVariable.getName(), symbolVariable) == null;
+	}
+
 	public SymbolVariable getGlobalVariable(String name)
 	{
 		return globalVariables.get(name);
@@ -1,14 +1,15 @@
 package knight.compiler.semantics.model;
 
 import knight.compiler.ast.types.ASTType;
+import knight.compiler.semantics.utils.Counter;
 
 public class SymbolProperty extends Binding
 {
 	private final String name;
 
-	public SymbolProperty(String name, ASTType type)
+	public SymbolProperty(String name, ASTType type, Counter counter)
 	{
-		super(type);
+		super(type, counter);
 		this.name = name;
 	}
 
@@ -1,15 +1,17 @@
 package knight.compiler.semantics.model;
 
 import knight.compiler.ast.types.ASTType;
+import knight.compiler.semantics.utils.Counter;
 
 public class SymbolVariable extends Binding
 {
 	private final String name;
 	private int localVariableIndex = -1;
+	private int scopeDepth = -1;
 
-	public SymbolVariable(String name, ASTType type)
+	public SymbolVariable(String name, ASTType type, Counter counter)
 	{
-		super(type);
+		super(type, counter);
 		this.name = name;
 	}
 
@@ -28,6 +30,16 @@ public class SymbolVariable extends Binding
 		this.localVariableIndex = localVariableIndex;
 	}
 
+	public int getScopeDepth()
+	{
+		return scopeDepth;
+	}
+
+	public void setScopeDepth(int scopeDepth)
+	{
+		this.scopeDepth = scopeDepth;
+	}
+
 	public boolean isLocalVariable()
 	{
 		return localVariableIndex >= 0;
@@ -0,0 +1,227 @@
+package knight.compiler.semantics.model;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import knight.compiler.ast.types.ASTBooleanType;
+import knight.compiler.ast.types.ASTFunctionType;
+import knight.compiler.ast.types.ASTIdentifierType;
+import knight.compiler.ast.types.ASTIntArrayType;
+import knight.compiler.ast.types.ASTIntType;
+import knight.compiler.ast.types.ASTParameterizedType;
+import knight.compiler.ast.types.ASTStringArrayType;
+import knight.compiler.ast.types.ASTStringType;
+import knight.compiler.ast.types.ASTType;
+import knight.compiler.ast.types.ASTVoidType;
+
+public final class TypeTable
+{
+	public static final int NONE = 0;
+	public static final int INT = 1;
+	public static final int STRING = 2;
+	public static final int BOOLEAN = 3;
+	public static final int VOID = 4;
+	public static final int INT_ARRAY = 5;
+	public static final int STRING_ARRAY = 6;
+	public static final int FUNCTION = 7;
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private ASTType[] types = new ASTType[INITIAL_CAPACITY];
+	private long[][] assignable = new long[INITIAL_CAPACITY][];
+	private int size = 1;
+
+	private final Map<String, Integer> named = new HashMap<>();
+	private final Map<ASTType, Integer> ids = new IdentityHashMap<>();
+	private final Map<String, Set<String>> supertypes = new HashMap<>();
+
+	public TypeTable()
+	{
+		add(new ASTIntType(null));
+		add(new ASTStringType(null));
+		add(new ASTBooleanType(null));
+		add(new ASTVoidType(null));
+		add(new ASTIntArrayType(null));
+		add(new ASTStringArrayType(null));
+		add(new ASTFunctionType(null));
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public ASTType get(int id)
+	{
+		return types[id];
+	}
+
+	public int idOf(ASTType type)
+	{
+		if (type == null) {
+			return NONE;
+		}
+
+		Integer id = ids.get(type);
+		if (id == null) {
+			id = intern(type);
+			ids.put(type, id);
+		}
+		return id;
+	}
+
+	public void setHierarchy(SymbolProgram symbolProgram)
+	{
+		supertypes.clear();
+		for (SymbolClass symbolClass : symbolProgram.getClasses().values()) {
+			MemberTable memberTable = symbolClass.getMemberTable();
+			supertypes.put(symbolClass.getName(), memberTable != null ? memberTable.getSupertypes() : Set.of());
+		}
+		for (SymbolInterface symbolInterface : symbolProgram.getInterfaces().values()) {
+			supertypes.put(symbolInterface.getName(), extendedInterfaces(symbolInterface, symbolProgram));
+		}
+
+		for (int id = 1; id < size; id++) {
+			Arrays.fill(assignable[id], 0L);
+		}
+		for (int id = 1; id < size; id++) {
+			link(id);
+		}
+	}
+
+	private static Set<String> extendedInterfaces(SymbolInterface symbolInterface, SymbolProgram symbolProgram)
+	{
+		Set<String> result = new LinkedHashSet<>();
+		Deque<String> pending = new ArrayDeque<>(symbolInterface.getExtendedInterfaces());
+		while (!pending.isEmpty()) {
+			String name = pending.poll();
+			SymbolInterface extended = symbolProgram.getInterface(name);
+			if (result.add(name) && extended != null) {
+				pending.addAll(extended.getExtendedInterfaces());
+			}
+		}
+		return result;
+	}
+
+	public boolean isAssignable(ASTType target, ASTType source)
+	{
+		return isAssignable(idOf(target), idOf(source));
+	}
+
+	public boolean isAssignable(int target, int source)
+	{
+		return target != NONE && source != NONE && (assignable[target][source >>> 6] & (1L << source)) != 0;
+	}
+
+	private int intern(ASTType type)
+	{
+		if (type instanceof ASTIntType) {
+			return INT;
+		}
+		if (type instanceof ASTStringType) {
+			return STRING;
+		}
+		if (type instanceof ASTBooleanType) {
+			return BOOLEAN;
+		}
+		if (type instanceof ASTVoidType) {
+			return VOID;
+		}
+		if (type instanceof ASTIntArrayType) {
+			return INT_ARRAY;
+		}
+		if (type instanceof ASTStringArrayType) {
+			return STRING_ARRAY;
+		}
+		if (type instanceof ASTFunctionType) {
+			return FUNCTION;
+		}
+
+		String key = key(type);
+		Integer id = named.get(key);
+		if (id == null) {
+			id = add(type);
+			named.put(key, id);
+		}
+		return id;
+	}
+
+	private String key(ASTType type)
+	{
+		if (type instanceof ASTParameterizedType) {
+			ASTParameterizedType parameterized = (ASTParameterizedType) type;
+			StringBuilder key = new StringBuilder(parameterized.getBaseType().getName()).append('<');
+			for (int i = 0; i < parameterized.getTemplateArguments().getSize(); i++) {
+				if (i > 0) {
+					key.append(',');
+				}
+				key.append(idOf(parameterized.getTemplateArguments().getAt(i)));
+			}
+			return key.append('>').toString();
+		}
+
+		if (type instanceof ASTIdentifierType) {
+			return ((ASTIdentifierType) type).getName();
+		}
+
+		return type.getClass().getName();
+	}
+
+	private int add(ASTType type)
+	{
+		if (size == types.length) {
+			types = Arrays.copyOf(types, size * 2);
+			assignable = Arrays.copyOf(assignable, size * 2);
+		}
+
+		int id = size++;
+		types[id] = type;
+
+		int words = (types.length + 63) >>> 6;
+		for (int i = 1; i < id; i++) {
+			if (assignable[i].length < words) {
+				assignable[i] = Arrays.copyOf(assignable[i], words);
+			}
+		}
+		assignable[id] = new long[words];
+
+		link(id);
+		return id;
+	}
+
+	private void link(int id)
+	{
+		for (int other = 1; other <= id; other++) {
+			if (compatible(types[id], types[other])) {
+				assignable[id][other >>> 6] |= 1L << other;
+			}
+			if (compatible(types[other], types[id])) {
+				assignable[other][id >>> 6] |= 1L << id;
+			}
+		}
+	}
+
+	private boolean compatible(ASTType target, ASTType source)
+	{
+		if (target.getClass() != source.getClass()) {
+			return false;
+		}
+		if (!(target instanceof ASTIdentifierType)) {
+			return true;
+		}
+
+		String targetName = ((ASTIdentifierType) target).getName();
+		String sourceName = ((ASTIdentifierType) source).getName();
+		Set<String> sourceSupertypes = supertypes.get(sourceName);
+		if (targetName.equals(sourceName) || sourceSupertypes == null || !supertypes.containsKey(targetName)) {
+			return true;
+		}
+		return sourceSupertypes.contains(targetName);
+	}
+}
@@ -6,10 +6,21 @@ import knight.compiler.semantics.model.SymbolFunction;
 
 public class ScopeManager
 {
+	private final Counter counter;
 	private Scope currentScope;
 	private SymbolClass currentClass;
 	private SymbolFunction currentFunction;
 
+	public ScopeManager(Counter counter)
+	{
+		this.counter = counter;
+	}
+
+	public Counter getCounter()
+	{
+		return counter;
+	}
+
 	public void enterClass(SymbolClass symbolClass)
 	{
 		this.currentClass = symbolClass;
@@ -23,9 +34,14 @@ public class ScopeManager
 	}
 
 	public void enterFunction(SymbolFunction symbolFunction)
+	{
+		enterFunction(symbolFunction, null);
+	}
+
+	public void enterFunction(SymbolFunction symbolFunction, Scope functionScope)
 	{
 		this.currentFunction = symbolFunction;
-		this.currentScope = new Scope(currentScope);
+		this.currentScope = functionScope != null ? functionScope : new Scope(currentScope, counter);
 	}
 
 	public void exitFunction()
@@ -38,7 +54,7 @@ public class ScopeManager
 
 	public void enterBlock()
 	{
-		this.currentScope = new Scope(currentScope);
+		this.currentScope = new Scope(currentScope, counter);
 	}
 
 	public void exitBlock()
@@ -22,9 +22,9 @@ public class SemanticUtils
 		}
 
 		if (scopeManager.isInClass()) {
-			SymbolProperty property = scopeManager.getCurrentClass().getProperty(name);
+			SymbolProperty property = scopeManager.getCurrentClass().findProperty(name);
 			if (property != null) {
-				return new SymbolVariable(property.getName(), property.getType());
+				return new SymbolVariable(property.getName(), property.getType(), scopeManager.getCounter());
 			}
 		}
 
@@ -32,20 +32,20 @@ public class SemanticUtils
 	}
 
 	public static SymbolFunction resolveFunction(String functionName, ASTIdentifierExpr instanceExpr,
-			ScopeManager scopeManager, SymbolProgram symbolProgram)
+			ScopeManager scopeManager, SymbolProgram symbolProgram, DiagnosticReporter diagnosticReporter)
 	{
 		if (instanceExpr != null) {
 			String instanceName = instanceExpr.getName();
 			SymbolVariable symbolVariable = resolveVariable(instanceName, scopeManager, symbolProgram);
 
 			if (symbolVariable == null) {
-				DiagnosticReporter.error(instanceExpr, "Variable '" + instanceName + "' not found in current scope.");
+				diagnosticReporter.error(instanceExpr, "Variable '" + instanceName + "' not found in current scope.");
 				return null;
 			}
 
 			ASTType varType = symbolVariable.getType();
 			if (!(varType instanceof ASTIdentifierType)) {
-				DiagnosticReporter.error(instanceExpr, "Variable '" + instanceName + "' is not a class instance.");
+				diagnosticReporter.error(instanceExpr, "Variable '" + instanceName + "' is not a class instance.");
 				return null;
 			}
 
@@ -53,7 +53,7 @@ public class SemanticUtils
 
 			SymbolClass symbolClass = symbolProgram.getClass(typeName);
 			if (symbolClass != null) {
-				SymbolFunction func = symbolClass.getFunction(functionName);
+				SymbolFunction func = symbolClass.findFunction(functionName);
 				if (func != null) {
 					return func;
 				}
@@ -67,13 +67,13 @@ public class SemanticUtils
 				}
 			}
 
-			DiagnosticReporter.error(instanceExpr,
+			diagnosticReporter.error(instanceExpr,
 					"Function '" + functionName + "' not found in type '" + typeName + "'.");
 			return null;
 		}
 
 		if (scopeManager.isInClass()) {
-			SymbolFunction function = scopeManager.getCurrentClass().getFunction(functionName);
+			SymbolFunction function = scopeManager.getCurrentClass().findFunction(functionName);
 			if (function != null) {
 				return function;
 			}
@@ -0,0 +1,217 @@
+package knight.daemon;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import knight.Main;
+import knight.compiler.cache.CacheDirectory;
+import knight.compiler.library.StandardLibrary;
+
+public final class CompilerDaemon
+{
+	public static final String STOP = "stop";
+
+	private static final String SOCKET_NAME = "daemon.sock";
+
+	private final Path socket;
+	private final Main main;
+	private final ExecutorService executor;
+	private ServerSocketChannel server;
+	private volatile boolean running;
+
+	public CompilerDaemon(Path socket, Main main)
+	{
+		this.socket = socket;
+		this.main = main;
+		this.executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+	}
+
+	public static Path defaultSocket()
+	{
+		String configured = System.getenv("KNIGHT_SOCKET");
+		if (configured != null && !configured.isBlank()) {
+			return Path.of(configured);
+		}
+		String runtime = System.getenv("XDG_RUNTIME_DIR");
+		if (runtime != null && Path.of(runtime).isAbsolute()) {
+			return Path.of(runtime, "knight", SOCKET_NAME);
+		}
+		return CacheDirectory.root().resolve(SOCKET_NAME);
+	}
+
+	public void run() throws IOException
+	{
+		CacheDirectory.ensurePrivate(socket.toAbsolutePath().getParent());
+		if (Files.exists(socket, LinkOption.NOFOLLOW_LINKS)) {
+			if (isListening(socket)) {
+				throw new IOException("A compiler daemon is already listening on " + socket);
+			}
+			Files.delete(socket);
+		}
+
+		server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+		server.bind(UnixDomainSocketAddress.of(socket));
+		Files.setPosixFilePermissions(socket, PosixFilePermissions.fromString("rw-------"));
+		running = true;
+
+		Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
+		StandardLibrary.get();
+
+		try {
+			while (running) {
+				SocketChannel client;
+				try {
+					client = server.accept();
+				} catch (ClosedChannelException e) {
+					break;
+				}
+				executor.execute(() -> handle(client));
+			}
+		} finally {
+			stop();
+			executor.shutdown();
+		}
+	}
+
+	private static boolean isListening(Path socket)
+	{
+		try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+			channel.connect(UnixDomainSocketAddress.of(socket));
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	public synchronized void stop()
+	{
+		running = false;
+
+		try {
+			if (server != null) {
+				server.close();
+			}
+			Files.deleteIfExists(socket);
+		} catch (IOException ignored) {
+		}
+	}
+
+	public boolean isRunning()
+	{
+		return running;
+	}
+
+	private void handle(SocketChannel client)
+	{
+		try (client;
+				BufferedReader reader = new BufferedReader(Channels.newReader(client, StandardCharsets.UTF_8));
+				PrintWriter writer = new PrintWriter(Channels.newWriter(client, StandardCharsets.UTF_8))) {
+			Path workingDirectory = null;
+			List<String> args = new ArrayList<>();
+
+			String line;
+			while ((line = reader.readLine()) != null && !line.isEmpty()) {
+				if (line.equals(STOP)) {
+					writer.println("exit 0");
+					writer.flush();
+					stop();
+					return;
+				} else if (line.startsWith("cwd ")) {
+					workingDirectory = Path.of(unescape(line.substring(4)));
+				} else if (line.startsWith("arg ")) {
+					args.add(unescape(line.substring(4)));
+				}
+			}
+
+			if (line == null) {
+				return;
+			}
+
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			ByteArrayOutputStream err = new ByteArrayOutputStream();
+			int status;
+			try {
+				status = main.compile(args.toArray(new String[0]), workingDirectory,
+						new PrintStream(out, true, StandardCharsets.UTF_8),
+						new PrintStream(err, true, StandardCharsets.UTF_8));
+			} catch (RuntimeException e) {
+				new PrintStream(err, true, StandardCharsets.UTF_8).println("Daemon error: " + e);
+				status = 1;
+			}
+
+			writeLines(writer, "out ", out);
+			writeLines(writer, "err ", err);
+			writer.println("exit " + status);
+		} catch (IOException ignored) {
+		}
+	}
+
+	static String unescape(String value)
+	{
+		if (value.indexOf('\\') < 0) {
+			return value;
+		}
+
+		StringBuilder result = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c != '\\' || i + 1 == value.length()) {
+				result.append(c);
+				continue;
+			}
+
+			char next = value.charAt(++i);
+			switch (next)
+			{
+				case 'n': {
+					result.append('\n');
+				}
+				break;
+
+				case 'r': {
+					result.append('\r');
+				}
+				break;
+
+				default: {
+					result.append(next);
+				}
+				break;
+			}
+		}
+		return result.toString();
+	}
+
+	private static void writeLines(PrintWriter writer, String prefix, ByteArrayOutputStream output)
+	{
+		String text = output.toString(StandardCharsets.UTF_8);
+		if (text.isEmpty()) {
+			return;
+		}
+		if (text.endsWith("\n")) {
+			text = text.substring(0, text.length() - 1);
+		}
+
+		for (String line : text.split("\n", -1)) {
+			writer.println(prefix + line);
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package knight.playground;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import knight.compiler.Compiler;
+
+public final class CompileCache
+{
+	private final int capacity;
+	private final Map<String, CompileResult> entries;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	public CompileCache(int capacity)
+	{
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Cache capacity must be positive");
+		}
+
+		this.capacity = capacity;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CompileResult> eldest)
+			{
+				if (size() > CompileCache.this.capacity) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	public static String keyForContents(String source, List<byte[]> imports, byte[] stdLibrary)
+	{
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			update(digest, Compiler.VERSION);
+			update(digest, source);
+
+			for (byte[] content : imports) {
+				update(digest, content);
+			}
+
+			if (stdLibrary != null) {
+				update(digest, stdLibrary);
+			}
+
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private static void update(MessageDigest digest, String value)
+	{
+		update(digest, value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void update(MessageDigest digest, byte[] bytes)
+	{
+		digest.update((byte) (bytes.length >>> 24));
+		digest.update((byte) (bytes.length >>> 16));
+		digest.update((byte) (bytes.length >>> 8));
+		digest.update((byte) bytes.length);
+		digest.update(bytes);
+	}
+
+	public synchronized CompileResult get(String key)
+	{
+		CompileResult result = entries.get(key);
+		if (result == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return result;
+	}
+
+	public synchronized void put(String key, CompileResult result)
+	{
+		entries.put(key, result);
+	}
+
+	public synchronized void clear()
+	{
+		entries.clear();
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	public synchronized int size()
+	{
+		return entries.size();
+	}
+
+	public int getCapacity()
+	{
+		return capacity;
+	}
+
+	public synchronized long getHits()
+	{
+		return hits;
+	}
+
+	public synchronized long getMisses()
+	{
+		return misses;
+	}
+
+	public synchronized long getEvictions()
+	{
+		return evictions;
+	}
+}
@@ -3,15 +3,28 @@ package knight.playground;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import knight.compiler.CompilationContext;
 import knight.compiler.Compiler;
 import knight.compiler.ast.program.ASTProgram;
+import knight.compiler.cache.ASTCache;
 import knight.compiler.codegen.CodeGenerator;
+import knight.compiler.incremental.DependencyGraph;
+import knight.compiler.incremental.ExportCollector;
+import knight.compiler.incremental.FileEntry;
+import knight.compiler.library.LibraryBundle;
+import knight.compiler.library.LibraryManager;
 import knight.compiler.optimizations.ConstantFolding;
+import knight.compiler.preprocessor.MemorySourceProvider;
 import knight.compiler.preprocessor.PreProcessor;
+import knight.compiler.preprocessor.SourceFile;
 import knight.compiler.semantics.diagnostics.Diagnostic;
 import knight.compiler.semantics.diagnostics.DiagnosticReporter;
 import knight.compiler.semantics.diagnostics.DiagnosticSeverity;
@@ -21,8 +34,10 @@ import knight.utils.FileHelper;
 public final class CompilerFacade
 {
 	public static final int MAX_SOURCE_SIZE = 64 * 1024;
+	public static final int CACHE_CAPACITY = 256;
+	public static final String PLAYGROUND_FILE = "/playground/playground.knight";
 
-	private static final Object COMPILE_LOCK = new Object();
+	private static final CompileCache cache = new CompileCache(CACHE_CAPACITY);
 
 	private CompilerFacade()
 	{
@@ -38,80 +53,304 @@ public final class CompilerFacade
 			return CompileResult.failure(List.of("Source exceeds maximum size of 64 KB"), List.of(), "");
 		}
 
+		LibraryBundle bundle = LibraryBundle.getDefault();
+		MemorySourceProvider provider = new MemorySourceProvider(bundle);
+		provider.put(PLAYGROUND_FILE, source);
+
+		PreProcessor preProcessor = new PreProcessor(provider);
+		String key;
 		try {
-			Path tempDir = Files.createTempDirectory("knight-playground-");
-			try {
-				Path sourceFile = tempDir.resolve("playground.knight");
-				Files.writeString(sourceFile, source, StandardCharsets.UTF_8);
-				return compileFromPath(sourceFile.toString());
-			} finally {
-				deleteDirectory(tempDir);
+			preProcessor.process(PLAYGROUND_FILE);
+			List<SourceFile> sources = preProcessor.getSources();
+			List<byte[]> imports = new ArrayList<>();
+			for (SourceFile imported : sources.subList(1, sources.size())) {
+				imports.add(imported.getContent());
 			}
+			key = CompileCache.keyForContents(source, imports, bundle.getSource(LibraryBundle.STANDARD_LIBRARY));
+		} catch (Exception e) {
+			return CompileResult.failure(List.of("Compilation failed: " + e.getMessage()), List.of(), "");
+		}
+
+		CompileResult cached = cache.get(key);
+		if (cached != null) {
+			return cached;
+		}
+
+		CompilationContext context = new CompilationContext();
+		CompileResult result;
+		try {
+			result = compile(context, PLAYGROUND_FILE, preProcessor.getSources(), bundle, null);
 		} catch (Exception e) {
-			return CompileResult.failure(List.of("Failed to prepare source: " + e.getMessage()), List.of(), "");
+			return exceptionResult(context, e);
 		}
+		cache.put(key, result);
+		return result;
+	}
+
+	public static CompileCache getCache()
+	{
+		return cache;
 	}
 
 	public static CompileResult compileFromPath(String filename)
 	{
-		synchronized (COMPILE_LOCK) {
-			DiagnosticReporter.clear();
+		return compileFromPath(filename, ASTCache.getDefault());
+	}
+
+	public static CompileResult compileFromPath(String filename, ASTCache astCache)
+	{
+		CompileResult invalid = validateSourceFile(filename);
+		if (invalid != null) {
+			return invalid;
+		}
+
+		PreProcessor preProcessor = new PreProcessor();
+		try {
+			preProcessor.process(filename);
+		} catch (Exception e) {
+			return CompileResult.failure(List.of("Compilation failed: " + e.getMessage()), List.of(), "");
+		}
+
+		CompilationContext context = new CompilationContext();
+		try {
+			return compile(context, filename, preProcessor.getSources(), null, astCache);
+		} catch (Exception e) {
+			return exceptionResult(context, e);
+		}
+	}
+
+	private static CompileResult compile(CompilationContext context, String filename, List<SourceFile> sources,
+			LibraryBundle bundle, ASTCache astCache)
+	{
+		DiagnosticReporter diagnosticReporter = context.getDiagnosticReporter();
+		Compiler compiler = new Compiler(context);
+		if (bundle != null) {
+			compiler.setStandardLibrary(bundle.getStandardLibrary());
+		}
+		compiler.setASTCache(astCache);
+		List<ASTProgram> astPrograms = compiler.parseSources(sources);
+
+		if (astPrograms.isEmpty()) {
+			return buildFailureResult(diagnosticReporter, "");
+		}
+
+		SymbolProgram symbolProgram = compiler.buildSymbolProgram(astPrograms);
+		compiler.semantics(astPrograms, symbolProgram);
+
+		if (diagnosticReporter.hasErrors()) {
+			return buildFailureResult(diagnosticReporter, "");
+		}
+
+		String path = FileHelper.getFileDirPath(filename);
+		CodeGenerator codeGenerator = new CodeGenerator(path, filename, context.getSemanticModel());
+
+		for (ASTProgram astProgram : astPrograms) {
+			if (!compiler.isStandardLibrary(astProgram)) {
+				ConstantFolding.optimize(astProgram, context.getSemanticModel());
+			}
+			codeGenerator.visit(astProgram);
+		}
+
+		String generatedCpp = codeGenerator.getGeneratedCode();
+		return CompileResult.success(generatedCpp, collectDiagnostics(diagnosticReporter, DiagnosticSeverity.WARNING));
+	}
+
+	private static CompileResult exceptionResult(CompilationContext context, Exception e)
+	{
+		return CompileResult.failure(List.of("Compilation failed: " + e.getMessage()),
+				collectDiagnostics(context.getDiagnosticReporter(), DiagnosticSeverity.WARNING), "");
+	}
+
+	public static CompileResult compileIncremental(String filename, DependencyGraph graph)
+	{
+		return compileIncremental(filename, graph, ASTCache.getDefault());
+	}
+
+	public static CompileResult compileIncremental(String filename, DependencyGraph graph, ASTCache astCache)
+	{
+		CompilationContext context = new CompilationContext();
+		DiagnosticReporter diagnosticReporter = context.getDiagnosticReporter();
+
+		try {
+			CompileResult invalid = validateSourceFile(filename);
+			if (invalid != null) {
+				return invalid;
+			}
 
-			try {
-				File file = new File(filename);
-				if (!file.exists()) {
-					return CompileResult.failure(List.of(filename + ": No such file!"), List.of(), "");
+			PreProcessor preProcessor = new PreProcessor();
+			preProcessor.process(filename);
+			List<SourceFile> sources = preProcessor.getSources();
+
+			List<String> order = new ArrayList<>();
+			Map<String, String> hashes = new HashMap<>();
+			Map<String, List<String>> imports = new HashMap<>();
+			Set<String> changed = new LinkedHashSet<>();
+
+			for (SourceFile sourceFile : sources) {
+				String path = sourceFile.getPath();
+				String hash = DependencyGraph.hash(sourceFile.getContent());
+				order.add(path);
+				hashes.put(path, hash);
+				imports.put(path, sourceFile.getImports());
+
+				FileEntry entry = graph.get(path);
+				if (entry == null || !entry.getContentHash().equals(hash)) {
+					changed.add(path);
+				}
+			}
+
+			File stdLibrary = LibraryManager.getStandardLibraryFile();
+			String stdPath = null;
+			if (stdLibrary.exists()) {
+				stdPath = stdLibrary.getCanonicalPath();
+				String hash = DependencyGraph.hash(Files.readAllBytes(stdLibrary.toPath()));
+				order.add(stdPath);
+				hashes.put(stdPath, hash);
+				imports.put(stdPath, List.of());
+
+				FileEntry entry = graph.get(stdPath);
+				if (entry == null || !entry.getContentHash().equals(hash)) {
+					changed.addAll(order);
 				}
+			}
+
+			if (changed.isEmpty()) {
+				graph.retain(order);
+				graph.setRebuilt(Set.of());
+				return assembleIncremental(filename, graph, order, diagnosticReporter);
+			}
+
+			Compiler compiler = new Compiler(context);
+			compiler.setASTCache(astCache);
+			List<ASTProgram> astPrograms = compiler.parseSources(sources);
+
+			if (astPrograms.isEmpty()) {
+				return buildFailureResult(diagnosticReporter, "");
+			}
+
+			Map<String, ASTProgram> programs = new HashMap<>();
+			Map<String, List<String>> exports = new HashMap<>();
+			Set<String> changedExports = new HashSet<>();
+
+			for (ASTProgram astProgram : astPrograms) {
+				String path = compiler.isStandardLibrary(astProgram) ? stdPath
+						: context.getSourceFiles().getPath(astProgram);
+				programs.put(path, astProgram);
 
-				if (!"knight".equals(FileHelper.getFileExtension(file))) {
-					return CompileResult.failure(List.of(filename + ": Invalid file extension!"), List.of(), "");
+				if (changed.contains(path)) {
+					List<String> exported = ExportCollector.collect(astProgram);
+					FileEntry entry = graph.get(path);
+					if (entry == null || !entry.getExports().equals(exported)) {
+						changedExports.add(path);
+					}
+					exports.put(path, exported);
 				}
+			}
 
-				PreProcessor preProcessor = new PreProcessor();
-				List<File> sourceFiles = preProcessor.process(filename);
+			for (FileEntry entry : graph.getEntries()) {
+				if (!hashes.containsKey(entry.getPath())) {
+					changedExports.add(entry.getPath());
+				}
+			}
 
-				Compiler compiler = new Compiler();
-				List<ASTProgram> astPrograms = compiler.parseFiles(sourceFiles);
+			Set<String> rebuilt = new LinkedHashSet<>(changed);
+			rebuilt.addAll(DependencyGraph.importers(imports, changedExports));
+			graph.setRebuilt(rebuilt);
 
-				if (astPrograms.isEmpty()) {
-					return buildFailureResult("");
+			List<ASTProgram> analysed = new ArrayList<>();
+			for (String path : rebuilt) {
+				if (programs.containsKey(path)) {
+					analysed.add(programs.get(path));
 				}
+			}
+
+			SymbolProgram symbolProgram = compiler.buildSymbolProgram(astPrograms);
+			compiler.semantics(analysed, symbolProgram);
+
+			if (diagnosticReporter.hasErrors()) {
+				return buildFailureResult(diagnosticReporter, "");
+			}
 
-				SymbolProgram symbolProgram = compiler.buildSymbolProgram(astPrograms);
-				compiler.semantics(astPrograms, symbolProgram);
+			String path = FileHelper.getFileDirPath(filename);
+			for (String source : rebuilt) {
+				ASTProgram astProgram = programs.get(source);
+				if (astProgram == null) {
+					continue;
+				}
 
-				if (DiagnosticReporter.hasErrors()) {
-					return buildFailureResult("");
+				if (!compiler.isStandardLibrary(astProgram)) {
+					ConstantFolding.optimize(astProgram, context.getSemanticModel());
 				}
 
-				String path = FileHelper.getFileDirPath(filename);
-				CodeGenerator codeGenerator = new CodeGenerator(path, filename);
+				CodeGenerator codeGenerator = new CodeGenerator(path, filename, context.getSemanticModel());
+				codeGenerator.visit(astProgram);
 
-				for (ASTProgram astProgram : astPrograms) {
-					ConstantFolding.optimize(astProgram);
-					codeGenerator.visit(astProgram);
+				List<String> exported = exports.get(source);
+				if (exported == null) {
+					exported = graph.get(source).getExports();
 				}
 
-				String generatedCpp = codeGenerator.getGeneratedCode();
-				return CompileResult.success(generatedCpp, collectDiagnostics(DiagnosticSeverity.WARNING));
-			} catch (Exception e) {
-				return CompileResult.failure(List.of("Compilation failed: " + e.getMessage()),
-						collectDiagnostics(DiagnosticSeverity.WARNING), "");
+				graph.put(new FileEntry(source, hashes.get(source), imports.get(source), exported,
+						codeGenerator.getDeclarations(), codeGenerator.getImplementations(),
+						new ArrayList<>(codeGenerator.getRequiredHeaders()),
+						collectDiagnostics(diagnosticReporter, DiagnosticSeverity.WARNING, source)));
 			}
+
+			graph.retain(order);
+			return assembleIncremental(filename, graph, order, diagnosticReporter);
+		} catch (Exception e) {
+			return CompileResult.failure(List.of("Compilation failed: " + e.getMessage()),
+					collectDiagnostics(diagnosticReporter, DiagnosticSeverity.WARNING), "");
 		}
 	}
 
-	private static CompileResult buildFailureResult(String generatedCpp)
+	private static CompileResult assembleIncremental(String filename, DependencyGraph graph, List<String> order,
+			DiagnosticReporter diagnosticReporter)
 	{
-		DiagnosticReporter.sort();
-		return CompileResult.failure(collectDiagnostics(DiagnosticSeverity.ERROR),
-				collectDiagnostics(DiagnosticSeverity.WARNING), generatedCpp);
+		CodeGenerator codeGenerator = new CodeGenerator(FileHelper.getFileDirPath(filename), filename);
+		List<String> warnings = new ArrayList<>();
+
+		for (String source : order) {
+			FileEntry entry = graph.get(source);
+			codeGenerator.appendGenerated(entry.getDeclarations(), entry.getImplementations(), entry.getHeaders());
+			warnings.addAll(entry.getWarnings());
+		}
+
+		for (Diagnostic diagnostic : diagnosticReporter.getDiagnostics()) {
+			if (diagnostic.getSeverity() == DiagnosticSeverity.WARNING
+					&& graph.get(diagnostic.getSourceFile()) == null) {
+				warnings.add(diagnostic.toString());
+			}
+		}
+
+		return CompileResult.success(codeGenerator.getGeneratedCode(), warnings);
 	}
 
-	private static List<String> collectDiagnostics(DiagnosticSeverity severity)
+	private static CompileResult validateSourceFile(String filename)
+	{
+		File file = new File(filename);
+		if (!file.exists()) {
+			return CompileResult.failure(List.of(filename + ": No such file!"), List.of(), "");
+		}
+
+		if (!"knight".equals(FileHelper.getFileExtension(file))) {
+			return CompileResult.failure(List.of(filename + ": Invalid file extension!"), List.of(), "");
+		}
+
+		return null;
+	}
+
+	private static CompileResult buildFailureResult(DiagnosticReporter diagnosticReporter, String generatedCpp)
+	{
+		diagnosticReporter.sort();
+		return CompileResult.failure(collectDiagnostics(diagnosticReporter, DiagnosticSeverity.ERROR),
+				collectDiagnostics(diagnosticReporter, DiagnosticSeverity.WARNING), generatedCpp);
+	}
+
+	private static List<String> collectDiagnostics(DiagnosticReporter diagnosticReporter, DiagnosticSeverity severity)
 	{
 		List<String> messages = new ArrayList<>();
-		for (Diagnostic diagnostic : DiagnosticReporter.getDiagnostics()) {
+		for (Diagnostic diagnostic : diagnosticReporter.getDiagnostics()) {
 			if (diagnostic.getSeverity() == severity) {
 				messages.add(diagnostic.toString());
 			}
@@ -119,20 +358,15 @@ public final class CompilerFacade
 		return messages;
 	}
 
-	private static void deleteDirectory(Path directory)
+	private static List<String> collectDiagnostics(DiagnosticReporter diagnosticReporter, DiagnosticSeverity severity,
+			String sourceFile)
 	{
-		try {
-			if (!Files.exists(directory)) {
-				return;
+		List<String> messages = new ArrayList<>();
+		for (Diagnostic diagnostic : diagnosticReporter.getDiagnostics()) {
+			if (diagnostic.getSeverity() == severity && sourceFile.equals(diagnostic.getSourceFile())) {
+				messages.add(diagnostic.toString());
 			}
-
-			Files.walk(directory).sorted((a, b) -> b.compareTo(a)).forEach(path -> {
-				try {
-					Files.deleteIfExists(path);
-				} catch (Exception ignored) {
-				}
-			});
-		} catch (Exception ignored) {
 		}
+		return messages;
 	}
 }
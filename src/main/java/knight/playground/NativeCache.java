@@ -0,0 +1,95 @@
+package knight.playground;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import knight.compiler.cache.CacheDirectory;
+
+public final class NativeCache
+{
+	private final CacheDirectory directory;
+
+	public NativeCache(Path directory, long maxBytes)
+	{
+		this.directory = new CacheDirectory(directory, maxBytes);
+	}
+
+	public static String key(String cppSource, String compilerVersion, List<String> flags)
+	{
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(compilerVersion.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			for (String flag : flags) {
+				digest.update(flag.getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) 0);
+			}
+			digest.update((byte) 0);
+			digest.update(cppSource.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	public boolean fetch(String key, Path target)
+	{
+		if (!directory.prepare()) {
+			return false;
+		}
+
+		Path entry = directory.resolve(key);
+		if (!Files.exists(entry)) {
+			return false;
+		}
+
+		try {
+			try {
+				Files.createLink(target, entry);
+			} catch (UnsupportedOperationException | IOException e) {
+				Files.copy(entry, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+			directory.touch(entry);
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	public void publish(String key, Path executable)
+	{
+		if (!directory.prepare()) {
+			return;
+		}
+
+		Path temp = directory.createTemp();
+		try {
+			Files.copy(executable, temp, StandardCopyOption.COPY_ATTRIBUTES);
+			Files.move(temp, directory.resolve(key), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+			directory.added(key, Files.size(directory.resolve(key)));
+		} catch (IOException e) {
+			try {
+				Files.deleteIfExists(temp);
+			} catch (IOException ignored) {
+			}
+		}
+	}
+
+	public Path getDirectory()
+	{
+		return directory.getPath();
+	}
+
+	public long getMaxBytes()
+	{
+		return directory.getMaxBytes();
+	}
+}
@@ -10,6 +10,8 @@ public class PlaygroundApp
 			port = Integer.parseInt(portEnv.trim());
 		}
 
+		new Thread(ProgramRunner::precompilePrelude, "knight-prelude").start();
+
 		PlaygroundServer server = new PlaygroundServer(port);
 		server.start();
 
@@ -29,6 +29,7 @@ public final class PlaygroundServer
 		app.before(this::applySecurityHeaders);
 		app.get("/", ctx -> ctx.redirect("/index.html"));
 		app.get("/health", ctx -> ctx.status(HttpStatus.OK).result("OK"));
+		app.get("/api/cache", this::handleCacheStats);
 		app.post("/api/run", this::handleRun);
 
 		app.start(port);
@@ -60,6 +61,18 @@ public final class PlaygroundServer
 		ctx.json(toJsonMap(response));
 	}
 
+	private void handleCacheStats(Context ctx)
+	{
+		CompileCache cache = CompilerFacade.getCache();
+		Map<String, Object> json = new HashMap<>();
+		json.put("size", cache.size());
+		json.put("capacity", cache.getCapacity());
+		json.put("hits", cache.getHits());
+		json.put("misses", cache.getMisses());
+		json.put("evictions", cache.getEvictions());
+		ctx.json(json);
+	}
+
 	private Map<String, Object> toJsonMap(PlaygroundResponse response)
 	{
 		Map<String, Object> json = new HashMap<>();
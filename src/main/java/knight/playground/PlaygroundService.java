@@ -22,17 +22,14 @@ public final class PlaygroundService
 					.failure(java.util.List.of("Source exceeds maximum size of 64 KB"), java.util.List.of(), ""));
 		}
 
+		CompileResult compileResult = CompilerFacade.compileFromSource(source);
+		if (!compileResult.isSuccess()) {
+			return PlaygroundResponse.fromCompileFailure(compileResult);
+		}
+
 		Path workDir = null;
 		try {
 			workDir = Files.createTempDirectory("knight-playground-");
-			Path sourceFile = workDir.resolve("playground.knight");
-			Files.writeString(sourceFile, source, StandardCharsets.UTF_8);
-
-			CompileResult compileResult = CompilerFacade.compileFromPath(sourceFile.toString());
-			if (!compileResult.isSuccess()) {
-				return PlaygroundResponse.fromCompileFailure(compileResult);
-			}
-
 			RunResult runResult = ProgramRunner.run(compileResult.getGeneratedCpp(), workDir);
 			return PlaygroundResponse.fromCompileAndRun(compileResult, runResult);
 		} catch (Exception e) {
@@ -4,12 +4,30 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import knight.compiler.cache.CacheDirectory;
+import knight.compiler.codegen.HeaderManager;
+
 public final class ProgramRunner
 {
 	private static final int COMPILE_TIMEOUT_SECONDS = 10;
 	private static final int RUN_TIMEOUT_SECONDS = 5;
+	private static final int PRELUDE_TIMEOUT_SECONDS = 60;
+	private static final long NATIVE_CACHE_MAX_BYTES = 256L * 1024 * 1024;
+	private static final List<String> COMPILER_FLAGS = List.of("-std=c++17", "-O2");
+
+	private static final Path CACHE_ROOT = CacheDirectory.root();
+
+	private static final NativeCache nativeCache = new NativeCache(CACHE_ROOT.resolve("native"),
+			NATIVE_CACHE_MAX_BYTES);
+
+	private static String compilerVersion;
+	private static Path preludeDirectory;
+	private static boolean preludeFailed;
 
 	private ProgramRunner()
 	{
@@ -22,21 +40,39 @@ public final class ProgramRunner
 			Path executable = workDir.resolve("program");
 			Files.writeString(cppFile, cppSource, StandardCharsets.UTF_8);
 
-			ProcessBuilder compileProcess = new ProcessBuilder("g++", "-std=c++17", "-O2", "-o", executable.toString(),
-					cppFile.toString());
-			compileProcess.directory(workDir.toFile());
-			compileProcess.redirectErrorStream(false);
+			String cacheKey = NativeCache.key(cppSource, compilerVersion(), COMPILER_FLAGS);
+			if (!nativeCache.fetch(cacheKey, executable)) {
+				List<String> command = new ArrayList<>();
+				command.add("g++");
+				command.addAll(COMPILER_FLAGS);
 
-			Process compile = compileProcess.start();
-			String compileStderr = readStream(compile.getErrorStream());
-			if (!compile.waitFor(COMPILE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
-				compile.destroyForcibly();
-				return RunResult.failure("C++ compilation timed out after " + COMPILE_TIMEOUT_SECONDS + " seconds");
-			}
+				Path prelude = precompilePrelude();
+				if (prelude != null) {
+					command.add("-I");
+					command.add(prelude.toString());
+				}
 
-			if (compile.exitValue() != 0) {
-				String message = compileStderr.isBlank() ? "C++ compilation failed" : compileStderr.trim();
-				return RunResult.failure(message);
+				command.add("-o");
+				command.add(executable.toString());
+				command.add(cppFile.toString());
+
+				ProcessBuilder compileProcess = new ProcessBuilder(command);
+				compileProcess.directory(workDir.toFile());
+				compileProcess.redirectErrorStream(false);
+
+				Process compile = compileProcess.start();
+				String compileStderr = readStream(compile.getErrorStream());
+				if (!compile.waitFor(COMPILE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+					compile.destroyForcibly();
+					return RunResult.failure("C++ compilation timed out after " + COMPILE_TIMEOUT_SECONDS + " seconds");
+				}
+
+				if (compile.exitValue() != 0) {
+					String message = compileStderr.isBlank() ? "C++ compilation failed" : compileStderr.trim();
+					return RunResult.failure(message);
+				}
+
+				nativeCache.publish(cacheKey, executable);
 			}
 
 			ProcessBuilder runProcess = new ProcessBuilder(executable.toString());
@@ -64,6 +100,101 @@ public final class ProgramRunner
 		}
 	}
 
+	private static synchronized String compilerVersion() throws IOException, InterruptedException
+	{
+		if (compilerVersion == null) {
+			Process process = new ProcessBuilder("g++", "--version").redirectErrorStream(true).start();
+			String output = readStream(process.getInputStream());
+			if (!process.waitFor(COMPILE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+				throw new IOException("g++ --version timed out");
+			}
+			compilerVersion = output.trim();
+		}
+		return compilerVersion;
+	}
+
+	public static synchronized Path precompilePrelude()
+	{
+		if (preludeDirectory != null || preludeFailed) {
+			return preludeDirectory;
+		}
+
+		String prelude = HeaderManager.generatePrelude();
+		Path staging = null;
+		try {
+			Path pchRoot = CACHE_ROOT.resolve("pch");
+			CacheDirectory.ensurePrivate(pchRoot);
+
+			String key = NativeCache.key(prelude, compilerVersion(), COMPILER_FLAGS);
+			Path directory = pchRoot.resolve(key.substring(0, 16));
+
+			if (Files.exists(directory.resolve(HeaderManager.PRELUDE_HEADER + ".gch"))) {
+				preludeDirectory = directory;
+				return preludeDirectory;
+			}
+
+			staging = Files.createTempDirectory(pchRoot, ".tmp-");
+			Path header = staging.resolve(HeaderManager.PRELUDE_HEADER);
+			Files.writeString(header, prelude, StandardCharsets.UTF_8);
+
+			List<String> command = new ArrayList<>();
+			command.add("g++");
+			command.addAll(COMPILER_FLAGS);
+			command.add("-x");
+			command.add("c++-header");
+			command.add(header.toString());
+			command.add("-o");
+			command.add(header.toString() + ".gch");
+
+			Process compile = new ProcessBuilder(command).redirectErrorStream(true).start();
+			readStream(compile.getInputStream());
+			if (!compile.waitFor(PRELUDE_TIMEOUT_SECONDS, TimeUnit.SECONDS) || compile.exitValue() != 0) {
+				compile.destroyForcibly();
+				preludeFailed = true;
+				return null;
+			}
+
+			try {
+				Files.move(staging, directory, StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				if (!Files.exists(directory.resolve(HeaderManager.PRELUDE_HEADER + ".gch"))) {
+					throw e;
+				}
+			}
+
+			preludeDirectory = directory;
+			return preludeDirectory;
+		} catch (IOException e) {
+			preludeFailed = true;
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} finally {
+			if (staging != null) {
+				deleteDirectory(staging);
+			}
+		}
+	}
+
+	private static void deleteDirectory(Path directory)
+	{
+		try {
+			if (!Files.exists(directory)) {
+				return;
+			}
+
+			Files.walk(directory).sorted((a, b) -> b.compareTo(a)).forEach(path -> {
+				try {
+					Files.deleteIfExists(path);
+				} catch (Exception ignored) {
+				}
+			});
+		} catch (Exception ignored) {
+		}
+	}
+
 	private static boolean isGppMissing(IOException e)
 	{
 		String message = e.getMessage();
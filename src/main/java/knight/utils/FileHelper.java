@@ -1,23 +1,37 @@
 package knight.utils;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class FileHelper
 {
 	public static boolean isFileValid(String filename)
+	{
+		return isFileValid(filename, System.err);
+	}
+
+	public static boolean isFileValid(String filename, PrintStream err)
 	{
 		File file = new File(filename);
 
 		if (!file.exists()) {
-			System.err.println(filename + ": No such file!");
+			err.println(filename + ": No such file!");
 			return false;
 		}
 
 		String fileExtension = FileHelper.getFileExtension(file);
 		if (!"knight".equals(fileExtension)) {
-			System.err.println(filename + ": Invalid file extension!");
+			err.println(filename + ": Invalid file extension!");
 			return false;
 		}
 
@@ -75,4 +89,77 @@ public class FileHelper
 
 		return null;
 	}
+
+	public static List<String> expandSources(String input, Path workingDirectory) throws IOException
+	{
+		Path base = workingDirectory != null ? workingDirectory : Path.of("");
+
+		if (!isGlob(input)) {
+			Path path = base.resolve(input);
+			if (!Files.isDirectory(path)) {
+				return List.of(path.toString());
+			}
+
+			try (Stream<Path> files = Files.walk(path)) {
+				return files.filter(file -> Files.isRegularFile(file) && !isHidden(path, file))
+						.filter(file -> "knight".equals(getFileExtension(file.toFile()))).map(Path::toString).sorted()
+						.collect(Collectors.toList());
+			}
+		}
+
+		Path root = base;
+		Path pattern = Path.of(input);
+		if (pattern.isAbsolute()) {
+			root = pattern.getRoot();
+			pattern = root.relativize(pattern);
+		}
+
+		int literal = 0;
+		while (literal < pattern.getNameCount() - 1 && !isGlob(pattern.getName(literal).toString())) {
+			literal++;
+		}
+		if (literal > 0) {
+			root = root.resolve(pattern.subpath(0, literal));
+			pattern = pattern.subpath(literal, pattern.getNameCount());
+		}
+
+		Path start = root.toString().isEmpty() ? Path.of(".") : root;
+		if (!Files.isDirectory(start)) {
+			return List.of();
+		}
+
+		PathMatcher matcher = globMatcher(pattern);
+		try (Stream<Path> files = Files.walk(start)) {
+			return files.filter(file -> Files.isRegularFile(file) && !isHidden(start, file))
+					.filter(file -> matcher.matches(start.relativize(file))).map(file -> file.normalize().toString())
+					.sorted().collect(Collectors.toList());
+		}
+	}
+
+	private static PathMatcher globMatcher(Path pattern)
+	{
+		PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+		if (pattern.getNameCount() < 2 || !pattern.getName(0).toString().equals("**")) {
+			return matcher;
+		}
+
+		PathMatcher top = globMatcher(pattern.subpath(1, pattern.getNameCount()));
+		return path -> matcher.matches(path) || top.matches(path);
+	}
+
+	private static boolean isGlob(String input)
+	{
+		return input.indexOf('*') != -1 || input.indexOf('?') != -1 || input.indexOf('[') != -1
+				|| input.indexOf('{') != -1;
+	}
+
+	private static boolean isHidden(Path directory, Path file)
+	{
+		for (Path name : directory.relativize(file)) {
+			if (name.toString().startsWith(".")) {
+				return true;
+			}
+		}
+		return false;
+	}
 }
@@ -0,0 +1,75 @@
+package knight;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MainTest
+{
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void compile_should_build_every_entry_point_in_a_directory() throws Exception
+	{
+		Files.createDirectories(tempDir.resolve("apps"));
+		Files.writeString(tempDir.resolve("util.knight"), "fn twice(int x): int\n{\n    ret x * 2;\n}\n");
+		for (int i = 0; i < 4; i++) {
+			Files.writeString(tempDir.resolve("apps/app" + i + ".knight"),
+					"import \"../util.knight\"\n\nfn main(): int\n{\n    ret twice(" + i + ");\n}\n");
+		}
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		int status = new Main().compile(new String[] { "--jobs", "2", "apps" }, tempDir,
+				new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(new ByteArrayOutputStream()));
+
+		String output = out.toString(StandardCharsets.UTF_8);
+		assertEquals(0, status, output);
+		assertTrue(output.contains("Compiled 4 files in"), output);
+		for (int i = 0; i < 4; i++) {
+			assertTrue(Files.exists(tempDir.resolve("apps/app" + i + ".cpp")));
+		}
+	}
+
+	@Test
+	public void compile_should_fail_the_batch_when_one_entry_point_fails() throws Exception
+	{
+		Files.writeString(tempDir.resolve("good.knight"), "fn main(): int\n{\n    ret 0;\n}\n");
+		Files.writeString(tempDir.resolve("bad.knight"), "fn main(): int\n{\n    ret missing;\n}\n");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+		int status = new Main().compile(new String[] { "*.knight" }, tempDir,
+				new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+
+		String output = out.toString(StandardCharsets.UTF_8);
+		assertEquals(1, status);
+		assertTrue(output.contains("FAILED " + tempDir.resolve("bad.knight")), output);
+		assertTrue(output.contains("ok     " + tempDir.resolve("good.knight")), output);
+		assertTrue(err.toString(StandardCharsets.UTF_8).contains("missing"));
+		assertTrue(Files.exists(tempDir.resolve("good.cpp")));
+	}
+
+	@Test
+	public void compile_should_fail_for_an_invalid_single_input() throws Exception
+	{
+		Files.writeString(tempDir.resolve("notes.txt"), "");
+
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(new ByteArrayOutputStream());
+
+		assertEquals(1, new Main().compile(new String[] { "notes.txt" }, tempDir, out,
+				new PrintStream(err, true, StandardCharsets.UTF_8)));
+		assertEquals(1, new Main().compile(new String[] { "missing.knight" }, tempDir, out,
+				new PrintStream(err, true, StandardCharsets.UTF_8)));
+		assertTrue(err.toString(StandardCharsets.UTF_8).contains("Invalid file extension"));
+	}
+}
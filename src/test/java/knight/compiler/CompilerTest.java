@@ -0,0 +1,68 @@
+package knight.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import knight.compiler.ast.program.ASTFunction;
+import knight.compiler.ast.program.ASTProgram;
+
+public class CompilerTest
+{
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void parseFiles_should_keep_input_order() throws IOException
+	{
+		List<File> files = new ArrayList<>();
+		for (int i = 0; i < 32; i++) {
+			Path file = tempDir.resolve("module" + i + ".knight");
+			StringBuilder source = new StringBuilder();
+			for (int j = 0; j <= i * 10; j++) {
+				source.append("fn f").append(i).append('_').append(j).append("(): int\n{\n\tret ").append(j)
+						.append(";\n}\n");
+			}
+			Files.writeString(file, source);
+			files.add(file.toFile());
+		}
+
+		CompilationContext context = new CompilationContext();
+		List<ASTProgram> programs = new Compiler(context).parseFiles(files);
+
+		for (int i = 0; i < files.size(); i++) {
+			ASTProgram program = programs.get(i);
+			ASTFunction first = assertInstanceOf(ASTFunction.class, program.getNodes().get(0));
+			assertEquals("f" + i + "_0", first.getIdentifier().getName());
+			assertEquals(i * 10 + 1, program.getNodes().size());
+			assertEquals(files.get(i).getCanonicalPath(), context.getSourceFiles().getPath(program));
+			assertEquals(program.getFileId(), first.getIdentifier().getFileId());
+		}
+	}
+
+	@Test
+	public void parseFiles_should_report_unreadable_files_in_order() throws IOException
+	{
+		Path valid = tempDir.resolve("valid.knight");
+		Files.writeString(valid, "fn main(): int\n{\n\tret 0;\n}\n");
+		File first = tempDir.resolve("missing1.knight").toFile();
+		File second = tempDir.resolve("missing2.knight").toFile();
+
+		CompilationContext context = new CompilationContext();
+		List<ASTProgram> programs = new Compiler(context).parseFiles(List.of(first, valid.toFile(), second));
+
+		assertEquals(valid.toFile().getCanonicalPath(), context.getSourceFiles().getPath(programs.get(0)));
+		assertEquals(2, context.getDiagnosticReporter().getErrors().size());
+		assertEquals(first.getPath(), context.getDiagnosticReporter().getDiagnostics().get(0).getSourceFile());
+		assertEquals(second.getPath(), context.getDiagnosticReporter().getDiagnostics().get(1).getSourceFile());
+	}
+}
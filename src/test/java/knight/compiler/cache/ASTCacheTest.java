@@ -0,0 +1,141 @@
+package knight.compiler.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import knight.compiler.CompilationContext;
+import knight.compiler.Compiler;
+import knight.compiler.ast.program.ASTProgram;
+
+public class ASTCacheTest
+{
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void load_should_return_stored_program() throws Exception
+	{
+		ASTCache cache = new ASTCache(tempDir.resolve("cache"));
+		ASTProgram program = ASTSerializerTest.parse(ASTSerializerTest.SOURCE);
+		String key = ASTCache.key(ASTSerializerTest.SOURCE.getBytes(StandardCharsets.UTF_8));
+
+		assertNull(cache.load(key));
+		cache.store(key, program);
+
+		ASTSerializerTest.assertSameTree(program, cache.load(key));
+		assertTrue(Files.exists(cache.getDirectory().resolve(key + ASTCache.EXTENSION)));
+	}
+
+	@Test
+	public void retaining_should_return_fresh_trees_without_the_disk_entry() throws Exception
+	{
+		ASTCache cache = new ASTCache(tempDir).retaining();
+		ASTProgram program = ASTSerializerTest.parse(ASTSerializerTest.SOURCE);
+		String key = ASTCache.key(ASTSerializerTest.SOURCE.getBytes(StandardCharsets.UTF_8));
+
+		cache.store(key, program);
+		Files.delete(tempDir.resolve(key + ASTCache.EXTENSION));
+
+		ASTProgram first = cache.load(key);
+		ASTProgram second = cache.load(key);
+		ASTSerializerTest.assertSameTree(program, first);
+		ASTSerializerTest.assertSameTree(program, second);
+		assertNotSame(first, second);
+		assertNull(new ASTCache(tempDir).load(key));
+	}
+
+	@Test
+	public void load_should_ignore_corrupt_entries() throws Exception
+	{
+		ASTCache cache = new ASTCache(tempDir);
+		Files.write(tempDir.resolve("broken" + ASTCache.EXTENSION), new byte[] { 0x4B, 0x41, 0x53, 0x54, 0, 0 });
+
+		assertNull(cache.load("broken"));
+	}
+
+	@Test
+	public void key_should_depend_on_content()
+	{
+		assertEquals(ASTCache.key("fn a(): int { ret 1; }".getBytes()),
+				ASTCache.key("fn a(): int { ret 1; }".getBytes()));
+		assertNotEquals(ASTCache.key("fn a(): int { ret 1; }".getBytes()),
+				ASTCache.key("fn a(): int { ret 2; }".getBytes()));
+	}
+
+	@Test
+	public void key_should_cover_the_serializer_and_the_ast_classes()
+	{
+		List<String> classes = ASTCache.fingerprintedClasses();
+
+		assertTrue(classes.contains("knight/compiler/cache/ASTDeserializer.class"));
+		assertTrue(classes.contains("knight/compiler/cache/ASTSerializer.class"));
+		assertTrue(classes.contains("knight/compiler/ast/AST.class"));
+		assertTrue(classes.contains("knight/compiler/ast/program/ASTProgram.class"));
+	}
+
+	@Test
+	public void parseFiles_should_reuse_cached_trees() throws Exception
+	{
+		Path source = tempDir.resolve("shapes.knight");
+		Files.writeString(source, ASTSerializerTest.SOURCE);
+		List<File> files = List.of(source.toFile());
+		ASTCache cache = new ASTCache(tempDir.resolve("cache"));
+
+		Compiler first = new Compiler(new CompilationContext());
+		first.setASTCache(cache);
+		ASTProgram parsed = first.parseFiles(files).get(0);
+
+		try (var entries = Files.list(cache.getDirectory())) {
+			assertEquals(1, entries.count());
+		}
+
+		CompilationContext context = new CompilationContext();
+		Compiler second = new Compiler(context);
+		second.setASTCache(cache);
+		ASTProgram cached = second.parseFiles(files).get(0);
+
+		ASTSerializerTest.assertSameTree(parsed, cached);
+		assertEquals(source.toFile().getCanonicalPath(), context.getSourceFiles().getPath(cached.getNodes().get(0)));
+	}
+
+	@Test
+	public void store_should_evict_least_recently_used_entries() throws Exception
+	{
+		Path directory = tempDir.resolve("cache");
+		ASTProgram program = ASTSerializerTest.parse(ASTSerializerTest.SOURCE);
+		long size = ASTSerializer.serialize(program).length;
+		ASTCache cache = new ASTCache(directory, size + size / 2);
+
+		cache.store("old", program);
+		Files.setLastModifiedTime(directory.resolve("old" + ASTCache.EXTENSION), FileTime.fromMillis(1000));
+		cache.store("new", program);
+
+		assertFalse(Files.exists(directory.resolve("old" + ASTCache.EXTENSION)));
+		assertTrue(Files.exists(directory.resolve("new" + ASTCache.EXTENSION)));
+	}
+
+	@Test
+	public void load_should_ignore_entries_in_a_shared_directory() throws Exception
+	{
+		Path directory = tempDir.resolve("shared");
+		new ASTCache(directory).store("planted", ASTSerializerTest.parse(ASTSerializerTest.SOURCE));
+		Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwxrwxrwx"));
+
+		assertNull(new ASTCache(directory).load("planted"));
+	}
+}
@@ -0,0 +1,266 @@
+package knight.compiler.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import knight.compiler.ast.AST;
+import knight.compiler.ast.ASTVisitor;
+import knight.compiler.ast.expressions.ASTIntLiteral;
+import knight.compiler.ast.program.ASTFunction;
+import knight.compiler.ast.program.ASTIdentifier;
+import knight.compiler.ast.program.ASTProgram;
+import knight.compiler.ast.statements.ASTArrayAssign;
+import knight.compiler.ast.types.ASTFunctionType;
+import knight.compiler.ast.utils.ASTList;
+import knight.compiler.lexer.Keywords;
+import knight.compiler.lexer.Lexer;
+import knight.compiler.lexer.Symbol;
+import knight.compiler.lexer.Token;
+import knight.compiler.lexer.Tokens;
+import knight.compiler.parser.ParseException;
+import knight.compiler.parser.Parser;
+
+public class ASTSerializerTest
+{
+	static final String SOURCE = """
+			import std
+
+			interface Shape extends Named, Sized
+			{
+				fn area(): int;
+			}
+
+			abstract class Base
+			{
+				abstract fn size(): int;
+			}
+
+			class Circle extends Base implements Shape, Named
+			{
+				int radius;
+				static string label;
+				List<int> values;
+
+				fn area(): int
+				{
+					ret radius * radius;
+				}
+
+				static fn make(int r, string[] names, int[] sizes): Circle
+				{
+					Circle c = new Circle();
+					c.radius = r;
+					ret c;
+				}
+			}
+
+			string greeting = "hi \\"there\\"";
+
+			fn main(): void
+			{
+				int[] numbers = new int[10];
+				string[] words = new string[2 + 3];
+				int[] literal = {1, 2, 4 - 3 / 1 % 2};
+				bool flag = true || false && 1 != 2;
+				Func square = fn(int x): int { ret x * x; }
+				flag = 1 < 2 && 2 <= 3 && 3 > 2 && 3 >= 3 && 1 == 1;
+				for (int n : numbers) {
+					println(n + numbers[1]);
+				}
+				while (flag) {
+					flag = false;
+				}
+				if (flag) {
+					ret 0;
+				} else if (numbers[0] > 1) {
+					Circle.make(1, words, numbers);
+				} else {
+					int z = c.radius + c.area();
+				}
+			}
+			""";
+
+	@Test
+	public void serialize_should_round_trip_every_parsed_node() throws ParseException
+	{
+		ASTProgram program = parse(SOURCE, 3);
+
+		byte[] bytes = ASTSerializer.serialize(program);
+		ASTProgram copy = ASTDeserializer.deserialize(bytes, 3);
+
+		assertSameTree(program, copy);
+		assertArrayEquals(bytes, ASTSerializer.serialize(copy));
+	}
+
+	@Test
+	public void serialize_should_cover_every_visitor_node_type() throws ParseException
+	{
+		ASTProgram program = parse(SOURCE);
+		Set<Class<?>> seen = new HashSet<>();
+		collectTypes(program, seen);
+		seen.add(ASTFunctionType.class);
+		seen.add(ASTArrayAssign.class);
+
+		Set<Class<?>> visitable = new HashSet<>();
+		for (java.lang.reflect.Method method : ASTVisitor.class.getMethods()) {
+			visitable.add(method.getParameterTypes()[0]);
+		}
+
+		visitable.removeAll(seen);
+		assertTrue(visitable.isEmpty(), () -> "Sample source does not cover " + visitable);
+	}
+
+	@Test
+	public void serialize_should_round_trip_nodes_the_parser_does_not_produce()
+	{
+		Token token = new Token(Keywords.fixed(Tokens.FUNCTION), 3, 7);
+		ASTFunctionType type = new ASTFunctionType(token);
+		ASTFunction function = new ASTFunction(token, type, null, List.of(), null, true, false);
+		Token id = new Token(new Symbol("values", Tokens.IDENTIFIER), 5, 6);
+		ASTArrayAssign assign = new ASTArrayAssign(id, new ASTIdentifier(id, "values"), new ASTIntLiteral(id, 0),
+				new ASTIntLiteral(id, -12));
+		ASTProgram program = new ASTProgram(new Token(Keywords.EOF, 4, 0), List.of(), List.of(function, assign));
+
+		ASTProgram copy = ASTDeserializer.deserialize(ASTSerializer.serialize(program));
+
+		assertSameTree(program, copy);
+		ASTFunction copied = (ASTFunction) copy.getNodes().get(0);
+		assertNull(copied.getIdentifier());
+		assertSame(Keywords.fixed(Tokens.FUNCTION), symbolOf(copied.getReturnType().getToken()));
+	}
+
+	@Test
+	public void deserialize_should_reject_foreign_data()
+	{
+		assertThrows(IllegalArgumentException.class,
+				() -> ASTDeserializer.deserialize(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+	}
+
+	static ASTProgram parse(String source) throws ParseException
+	{
+		return parse(source, 0);
+	}
+
+	static ASTProgram parse(String source, int fileId) throws ParseException
+	{
+		Lexer lexer = new Lexer(new BufferedReader(new StringReader(source)));
+		lexer.setFileId(fileId);
+		Parser parser = new Parser(lexer);
+		ASTProgram program = (ASTProgram) parser.parse();
+		assertFalse(parser.hasErrors());
+		return program;
+	}
+
+	private static void collectTypes(Object node, Set<Class<?>> seen)
+	{
+		if (node instanceof AST) {
+			seen.add(node.getClass());
+		}
+		forEachChild(node, child -> collectTypes(child, seen));
+	}
+
+	private static void forEachChild(Object node, java.util.function.Consumer<Object> action)
+	{
+		if (node instanceof List) {
+			((List<?>) node).forEach(action);
+			return;
+		}
+		if (node instanceof ASTList) {
+			forEachChild(((ASTList<?>) node).getList(), action);
+			return;
+		}
+		if (!(node instanceof AST)) {
+			return;
+		}
+
+		for (Field field : fields(node.getClass())) {
+			Object value = get(field, node);
+			if (value instanceof AST || value instanceof ASTList || value instanceof List) {
+				action.accept(value);
+			}
+		}
+	}
+
+	static void assertSameTree(Object expected, Object actual)
+	{
+		if (expected == null || actual == null) {
+			assertSame(expected, actual);
+			return;
+		}
+
+		if (expected instanceof Token) {
+			Token e = (Token) expected;
+			Token a = (Token) actual;
+			assertEquals(e.getToken(), a.getToken());
+			assertEquals(e.getSymbol(), a.getSymbol());
+			assertEquals(e.getRow(), a.getRow(), () -> "row of " + e);
+			assertEquals(e.getCol(), a.getCol(), () -> "col of " + e);
+			assertEquals(e.getFileId(), a.getFileId(), () -> "file of " + e);
+		} else if (expected instanceof List) {
+			List<?> e = (List<?>) expected;
+			List<?> a = (List<?>) actual;
+			assertEquals(e.size(), a.size());
+			for (int i = 0; i < e.size(); i++) {
+				assertSameTree(e.get(i), a.get(i));
+			}
+		} else if (expected instanceof AST || expected instanceof ASTList) {
+			assertEquals(expected.getClass(), actual.getClass());
+			for (Field field : fields(expected.getClass())) {
+				if (field.getDeclaringClass() == AST.class && field.getName().equals("id")) {
+					continue;
+				}
+				assertSameTree(get(field, expected), get(field, actual));
+			}
+		} else {
+			assertEquals(expected, actual);
+		}
+	}
+
+	private static Object symbolOf(Token token)
+	{
+		for (Field field : fields(Token.class)) {
+			if (field.getName().equals("symbol")) {
+				return get(field, token);
+			}
+		}
+		return null;
+	}
+
+	private static List<Field> fields(Class<?> type)
+	{
+		List<Field> fields = new java.util.ArrayList<>();
+		for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+			for (Field field : c.getDeclaredFields()) {
+				if (!Modifier.isStatic(field.getModifiers())) {
+					field.setAccessible(true);
+					fields.add(field);
+				}
+			}
+		}
+		return fields;
+	}
+
+	private static Object get(Field field, Object target)
+	{
+		try {
+			return field.get(target);
+		} catch (IllegalAccessException e) {
+			throw new AssertionError(e);
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package knight.compiler.codegen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class HeaderManagerTest
+{
+	@Test
+	public void generateHeaderIncludes_should_emit_single_prelude_include()
+	{
+		HeaderManager headerManager = new HeaderManager();
+		headerManager.addRequiredHeader("string");
+		headerManager.addRequiredHeader("vector");
+
+		String includes = headerManager.generateHeaderIncludes();
+
+		assertTrue(includes.startsWith("#if __has_include(\"knight_prelude.h\")\n#include \"knight_prelude.h\"\n"));
+		assertEquals(1, includes.split("#include <string>", -1).length - 1);
+	}
+
+	@Test
+	public void generateHeaderIncludes_should_append_headers_outside_prelude()
+	{
+		HeaderManager headerManager = new HeaderManager();
+		headerManager.addRequiredHeader("map");
+
+		assertTrue(headerManager.generateHeaderIncludes().endsWith("#endif\n#include <map>\n"));
+	}
+
+	@Test
+	public void generatePrelude_should_include_all_prelude_headers()
+	{
+		String prelude = HeaderManager.generatePrelude();
+
+		for (String header : HeaderManager.PRELUDE_INCLUDES) {
+			assertTrue(prelude.contains("#include <" + header + ">"));
+		}
+	}
+}
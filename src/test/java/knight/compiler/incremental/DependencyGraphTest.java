@@ -0,0 +1,70 @@
+package knight.compiler.incremental;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DependencyGraphTest
+{
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void importers_should_follow_import_chains()
+	{
+		Map<String, List<String>> imports = Map.of("main", List.of("shapes", "io"), "shapes", List.of("util"), "io",
+				List.of(), "util", List.of());
+
+		assertEquals(Set.of("shapes", "main"), DependencyGraph.importers(imports, List.of("util")));
+		assertEquals(Set.of("main"), DependencyGraph.importers(imports, List.of("io")));
+		assertEquals(Set.of(), DependencyGraph.importers(imports, List.of("main")));
+	}
+
+	@Test
+	public void load_should_return_saved_entries() throws Exception
+	{
+		DependencyGraph graph = new DependencyGraph();
+		graph.put(new FileEntry("/a.knight", "abc", List.of("/b.knight"), List.of("fn a(): int"), "int a();\n",
+				"int a() {\n}\n", List.of("cmath"), List.of("warning")));
+
+		Path file = tempDir.resolve(DependencyGraph.DIRECTORY).resolve("a" + DependencyGraph.EXTENSION);
+		graph.save(file);
+		DependencyGraph loaded = DependencyGraph.load(file);
+
+		FileEntry entry = loaded.get("/a.knight");
+		assertEquals(1, loaded.size());
+		assertEquals("abc", entry.getContentHash());
+		assertEquals(List.of("/b.knight"), entry.getImports());
+		assertEquals(List.of("fn a(): int"), entry.getExports());
+		assertEquals("int a();\n", entry.getDeclarations());
+		assertEquals("int a() {\n}\n", entry.getImplementations());
+		assertEquals(List.of("cmath"), entry.getHeaders());
+		assertEquals(List.of("warning"), entry.getWarnings());
+	}
+
+	@Test
+	public void load_should_ignore_corrupt_graphs() throws Exception
+	{
+		Path file = tempDir.resolve("broken" + DependencyGraph.EXTENSION);
+		Files.write(file, new byte[] { 0x4B, 0x44, 0x45, 0x50, 0, 0, 0, 1, 0 });
+
+		assertEquals(0, DependencyGraph.load(file).size());
+		assertNull(DependencyGraph.load(tempDir.resolve("missing")).get("/a.knight"));
+	}
+
+	@Test
+	public void pathFor_should_place_graph_next_to_source()
+	{
+		Path source = tempDir.resolve("main.knight");
+
+		assertEquals(tempDir.resolve(".knight").resolve("main.kdeps"), DependencyGraph.pathFor(source.toString()));
+	}
+}
@@ -0,0 +1,59 @@
+package knight.compiler.lexer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class KeywordsTest
+{
+	@ParameterizedTest
+	@CsvSource({ "fn, FUNCTION", "if, IF", "int, INTEGER", "new, NEW", "for, FOR", "ret, RETURN", "bool, BOOLEAN",
+			"true, TRUE", "else, ELSE", "void, VOID", "false, FALSE", "class, CLASS", "while, WHILE", "string, STRING",
+			"public, PUBLIC", "import, IMPORT", "static, STATIC", "private, PRIVATE", "extends, EXTENDS",
+			"default, DEFAULT", "abstract, ABSTRACT", "protected, PROTECTED", "interface, INTERFACE",
+			"implements, IMPLEMENTS" })
+	public void keyword_should_classify_keywords(String text, Tokens expected)
+	{
+		Symbol symbol = Keywords.keyword(text);
+
+		assertEquals(expected, symbol.getToken());
+		assertEquals(text, symbol.getSymbol());
+		assertSame(symbol, Keywords.keyword(text));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "f", "fnn", "iff", "integer", "strin", "stat", "x", "Class", "EOF", "implement" })
+	public void keyword_should_return_null_for_identifiers(String text)
+	{
+		assertNull(Keywords.keyword(text));
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "'(', LEFTPAREN", "'=', ASSIGN", "'<', LESSTHAN", "'>', GREATERTHAN", "'.', DOT", "'%', MODULUS" })
+	public void operator_should_classify_single_characters(char c, Tokens expected)
+	{
+		assertEquals(expected, Keywords.operator(c).getToken());
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "'==', EQUALS", "'!=', NOTEQUALS", "'<=', LESSTHANOREQUAL", "'>=', GREATERTHANOREQUAL", "'&&', AND",
+			"'||', OR" })
+	public void operator_should_classify_character_pairs(String text, Tokens expected)
+	{
+		Symbol symbol = Keywords.operator(text.charAt(0), text.charAt(1));
+
+		assertEquals(expected, symbol.getToken());
+		assertEquals(text, symbol.getSymbol());
+	}
+
+	@ParameterizedTest
+	@ValueSource(chars = { '!', '&', '|', '#', '\u00e9' })
+	public void operator_should_return_null_for_invalid_characters(char c)
+	{
+		assertNull(Keywords.operator(c));
+	}
+}
@@ -0,0 +1,76 @@
+package knight.compiler.lexer;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+
+public class LexerBenchmark
+{
+	private static final int WARMUP_ROUNDS = 20;
+	private static final int MEASURED_ROUNDS = 50;
+
+	public static void main(String[] args)
+	{
+		int functions = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		String source = generateSource(functions);
+
+		System.out.printf("source: %d chars%n", source.length());
+		measure("nextToken", source, false);
+		measure("tokenize", source, true);
+	}
+
+	private static void measure(String name, String source, boolean packed)
+	{
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			lex(source, packed);
+		}
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+
+		long tokens = 0;
+		long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+		long start = System.nanoTime();
+
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			tokens += lex(source, packed);
+		}
+
+		long elapsed = System.nanoTime() - start;
+		long allocated = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+		System.out.printf("%-10s %d tokens, %.1f ns/token, %.1f bytes/token%n", name, tokens / MEASURED_ROUNDS,
+				(double) elapsed / tokens, (double) allocated / tokens);
+	}
+
+	private static long lex(String source, boolean packed)
+	{
+		Lexer lexer = new Lexer(new BufferedReader(new StringReader(source)));
+		if (packed) {
+			return lexer.tokenize().size();
+		}
+
+		long count = 0;
+
+		while (lexer.nextToken().getToken() != Tokens.EOF) {
+			count++;
+		}
+		return count;
+	}
+
+	private static String generateSource(int functions)
+	{
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < functions; i++) {
+			sb.append("fn compute").append(i).append("(int a, int b): int\n");
+			sb.append("{\n");
+			sb.append("    int total = (a + b) * (a - b) / 2 % 7;\n");
+			sb.append("    if (total >= 10 && a != b || total <= 0) {\n");
+			sb.append("        total = total + values[a] - 1;\n");
+			sb.append("    }\n");
+			sb.append("    ret total;\n");
+			sb.append("}\n\n");
+		}
+		return sb.toString();
+	}
+}
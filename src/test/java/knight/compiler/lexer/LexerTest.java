@@ -29,6 +29,55 @@ public class LexerTest
 		assertEquals("identifier", actual.getSymbol());
 	}
 
+	@Test
+	public void peek_should_look_ahead_without_consuming()
+	{
+		BufferedReader bufferedReader = new BufferedReader(new StringReader("a b c;\n\nd"));
+		Lexer lexer = new Lexer(bufferedReader);
+
+		assertEquals("c", lexer.peek(3).getSymbol());
+		assertEquals("a", lexer.peek(1).getSymbol());
+		assertEquals(";", lexer.peek(4).getSymbol());
+
+		assertEquals("a", lexer.nextToken().getSymbol());
+		assertEquals("b", lexer.nextToken().getSymbol());
+		assertEquals("c", lexer.peekToken().getSymbol());
+		assertEquals("c", lexer.nextToken().getSymbol());
+		assertEquals(";", lexer.nextToken().getSymbol());
+		Token last = lexer.nextToken();
+		assertEquals("d", last.getSymbol());
+		assertEquals(2, last.getRow());
+		assertEquals(Tokens.EOF, lexer.nextToken().getToken());
+	}
+
+	@Test
+	public void peek_should_reach_past_materialised_lookahead()
+	{
+		Lexer lexer = new Lexer(new BufferedReader(new StringReader("a b c d e f")));
+
+		assertEquals("f", lexer.peek(Lexer.LOOKAHEAD + 2).getSymbol());
+		assertEquals(Tokens.EOF, lexer.peek(Lexer.LOOKAHEAD + 3).getToken());
+		assertEquals(Tokens.EOF, lexer.peek(Lexer.LOOKAHEAD + 10).getToken());
+		assertEquals("a", lexer.nextToken().getSymbol());
+		assertThrows(IllegalArgumentException.class, () -> lexer.peek(0));
+	}
+
+	@Test
+	public void tokenize_should_pack_all_tokens()
+	{
+		Lexer lexer = new Lexer(new BufferedReader(new StringReader("fn main(): int { ret 42; }")));
+
+		TokenStream stream = lexer.tokenize();
+
+		assertEquals(12, stream.size());
+		assertEquals(Tokens.FUNCTION, stream.kind(0));
+		assertEquals("main", stream.text(1));
+		assertEquals(Tokens.INTEGER, stream.kind(8));
+		assertEquals("42", stream.token(8).getSymbol());
+		assertEquals(Tokens.EOF, stream.kind(11));
+		assertEquals("fn", lexer.nextToken().getSymbol());
+	}
+
 	@Test
 	public void peekNext_should_not_consume_characters()
 	{
@@ -112,7 +112,7 @@ public class SourceReaderTest
 		sourceReader = new SourceReader(bufferedReader);
 
 		assertEquals('A', sourceReader.read());
-		SourceReaderProperties snapshot = sourceReader.snapshot();
+		int snapshot = sourceReader.snapshot();
 
 		assertEquals('B', sourceReader.read());
 		sourceReader.restore(snapshot);
@@ -130,11 +130,36 @@ public class SourceReaderTest
 	}
 
 	@Test
-	public void restore_with_null_should_throw()
+	public void restore_out_of_range_should_throw()
 	{
 		BufferedReader br = new BufferedReader(new StringReader("ABC"));
 		sourceReader = new SourceReader(br);
 
-		assertThrows(IllegalArgumentException.class, () -> sourceReader.restore(null));
+		assertThrows(IllegalArgumentException.class, () -> sourceReader.restore(-1));
+		assertThrows(IllegalArgumentException.class, () -> sourceReader.restore(5));
+	}
+
+	@Test
+	public void snapshot_and_restore_should_work_across_lines() throws IOException
+	{
+		BufferedReader bufferedReader = new BufferedReader(new StringReader("AB\n\nCD"));
+		sourceReader = new SourceReader(bufferedReader);
+
+		assertEquals('A', sourceReader.read());
+		int snapshot = sourceReader.snapshot();
+
+		assertEquals('B', sourceReader.read());
+		assertEquals(' ', sourceReader.read());
+		assertEquals(1, sourceReader.getRow());
+		assertEquals(0, sourceReader.getCol());
+		assertEquals('C', sourceReader.read());
+		assertEquals(2, sourceReader.getRow());
+		assertEquals(1, sourceReader.getCol());
+
+		sourceReader.restore(snapshot);
+
+		assertEquals(0, sourceReader.getRow());
+		assertEquals(1, sourceReader.getCol());
+		assertEquals('B', sourceReader.read());
 	}
 }
@@ -0,0 +1,48 @@
+package knight.compiler.lexer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+public class SymbolTableTest
+{
+	@Test
+	public void intern_should_return_same_symbol_for_same_text()
+	{
+		SymbolTable symbols = new SymbolTable();
+		char[] chars = "foo bar foo".toCharArray();
+
+		Symbol first = symbols.intern(chars, 0, 3, Tokens.IDENTIFIER);
+		Symbol second = symbols.intern(chars, 8, 3, Tokens.IDENTIFIER);
+
+		assertSame(first, second);
+		assertSame(first, symbols.intern("foo", Tokens.IDENTIFIER));
+		assertEquals("foo", first.getSymbol());
+		assertEquals(1, symbols.size());
+	}
+
+	@Test
+	public void intern_should_grow_beyond_initial_capacity()
+	{
+		SymbolTable symbols = new SymbolTable();
+
+		for (int i = 0; i < 1000; i++) {
+			symbols.intern("name" + i, Tokens.IDENTIFIER);
+		}
+
+		assertEquals(1000, symbols.size());
+		assertEquals("name500", symbols.intern("name500".toCharArray(), 0, 7, Tokens.IDENTIFIER).getSymbol());
+		assertEquals(1000, symbols.size());
+	}
+
+	@Test
+	public void tables_should_be_independent()
+	{
+		Symbol first = new SymbolTable().intern("x", Tokens.IDENTIFIER);
+		Symbol second = new SymbolTable().intern("x", Tokens.IDENTIFIER);
+
+		assertNotSame(first, second);
+	}
+}
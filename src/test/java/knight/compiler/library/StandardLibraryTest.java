@@ -0,0 +1,141 @@
+package knight.compiler.library;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import knight.compiler.CompilationContext;
+import knight.compiler.ast.expressions.ASTPlus;
+import knight.compiler.ast.program.ASTFunction;
+import knight.compiler.ast.statements.ASTReturnStatement;
+import knight.compiler.ast.types.ASTIntType;
+import knight.compiler.codegen.CodeGenerator;
+import knight.compiler.semantics.diagnostics.Diagnostic;
+import knight.compiler.semantics.diagnostics.DiagnosticReporter;
+import knight.compiler.semantics.model.SemanticModel;
+import knight.compiler.semantics.model.SymbolProgram;
+import knight.compiler.semantics.model.TypeTable;
+
+public class StandardLibraryTest
+{
+	private static final String LIBRARY = """
+			fn greet(string name): void
+			{
+			    __builtin_print(name);
+			}
+			""";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void get_should_reuse_library_until_file_changes() throws Exception
+	{
+		Path file = tempDir.resolve("std.knight");
+		Files.writeString(file, LIBRARY);
+
+		StandardLibrary first = StandardLibrary.get(file.toFile());
+		StandardLibrary second = StandardLibrary.get(file.toFile());
+
+		assertNotNull(first);
+		assertSame(first, second);
+
+		Files.writeString(file, LIBRARY + "\nfn shout(string name): void\n{\n    __builtin_print(name);\n}\n");
+		file.toFile().setLastModified(file.toFile().lastModified() + 1000);
+		StandardLibrary reloaded = StandardLibrary.get(file.toFile());
+
+		assertNotSame(first, reloaded);
+		assertNotNull(reloaded.getSymbols().getGlobalFunction("shout"));
+	}
+
+	@Test
+	public void get_should_return_null_for_missing_file()
+	{
+		assertNull(StandardLibrary.get(new File(tempDir.toFile(), "missing.knight")));
+	}
+
+	@Test
+	public void install_should_share_prebuilt_symbols() throws Exception
+	{
+		Path file = tempDir.resolve("std.knight");
+		Files.writeString(file, LIBRARY);
+		StandardLibrary library = StandardLibrary.get(file.toFile());
+
+		SymbolProgram symbolProgram = new SymbolProgram();
+		DiagnosticReporter diagnosticReporter = new DiagnosticReporter();
+		library.install(symbolProgram, diagnosticReporter);
+
+		assertSame(library.getSymbols().getGlobalFunction("greet"), symbolProgram.getGlobalFunction("greet"));
+		assertFalse(diagnosticReporter.hasErrors());
+	}
+
+	@Test
+	public void install_should_report_redefined_functions() throws Exception
+	{
+		Path file = tempDir.resolve("std.knight");
+		Files.writeString(file, LIBRARY);
+		StandardLibrary library = StandardLibrary.get(file.toFile());
+
+		SymbolProgram symbolProgram = new SymbolProgram();
+		symbolProgram.addGlobalFunction("greet", null);
+		DiagnosticReporter diagnosticReporter = new DiagnosticReporter();
+		library.install(symbolProgram, diagnosticReporter);
+
+		assertTrue(diagnosticReporter.hasErrors());
+	}
+
+	@Test
+	public void attach_should_expose_library_annotations_and_path() throws Exception
+	{
+		Path file = tempDir.resolve("std.knight");
+		Files.writeString(file,
+				"fn twice(int x): int\n{\n    ret x + x;\n}\n\nfn broken(): int\n{\n    ret missing;\n}\n");
+		StandardLibrary library = StandardLibrary.get(file.toFile());
+
+		CompilationContext context = new CompilationContext();
+		library.attach(context);
+
+		ASTFunction twice = (ASTFunction) library.getProgram().getNodes().get(0);
+		ASTPlus sum = (ASTPlus) ((ASTReturnStatement) twice.getBody().getNodes().get(0)).getExpression();
+		SemanticModel semanticModel = context.getSemanticModel();
+		assertInstanceOf(ASTIntType.class, semanticModel.getType(sum));
+		assertEquals(TypeTable.INT, semanticModel.getTypeId(sum));
+		assertNotNull(semanticModel.getBinding(sum.getLeft()));
+		assertEquals(library.getPath(), context.getSourceFiles().getPath(twice));
+
+		DiagnosticReporter diagnosticReporter = context.getDiagnosticReporter();
+		library.install(new SymbolProgram(), diagnosticReporter);
+		assertTrue(diagnosticReporter.hasErrors());
+		for (Diagnostic diagnostic : diagnosticReporter.getErrors()) {
+			assertEquals(library.getPath(), diagnostic.getSourceFile());
+		}
+	}
+
+	@Test
+	public void folded_library_code_should_keep_its_types() throws Exception
+	{
+		Path file = tempDir.resolve("std.knight");
+		Files.writeString(file, "fn tag(int x): string\n{\n    ret \"a\" + \"b\" + x;\n}\n");
+		StandardLibrary library = StandardLibrary.get(file.toFile());
+
+		CompilationContext context = new CompilationContext();
+		library.attach(context);
+		CodeGenerator codeGenerator = new CodeGenerator(tempDir.toString(), "main.knight", context.getSemanticModel());
+		codeGenerator.visit(library.getProgram());
+
+		assertTrue(codeGenerator.getGeneratedCode().contains("return \"a\"\"b\" + std::to_string(x)"),
+				codeGenerator.getGeneratedCode());
+	}
+}
@@ -5,6 +5,8 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -40,44 +42,47 @@ import knight.compiler.ast.types.ASTBooleanType;
 import knight.compiler.ast.types.ASTIntType;
 import knight.compiler.ast.types.ASTStringType;
 import knight.compiler.lexer.Token;
+import knight.compiler.semantics.model.SemanticModel;
 
 public class ConstantFoldingTest
 {
+	private SemanticModel semanticModel;
 	private ConstantFolding optimizer;
 	private Token dummyToken;
 
 	@BeforeEach
 	public void setUp()
 	{
-		optimizer = new ConstantFolding();
+		semanticModel = new SemanticModel();
+		optimizer = new ConstantFolding(semanticModel);
 		dummyToken = new Token(null, 0, 0);
 	}
 
 	private ASTIntLiteral createIntLiteral(int value)
 	{
 		ASTIntLiteral lit = new ASTIntLiteral(dummyToken, value);
-		lit.setType(new ASTIntType(dummyToken));
+		semanticModel.setType(lit, new ASTIntType(dummyToken));
 		return lit;
 	}
 
 	private ASTStringLiteral createStringLiteral(String value)
 	{
 		ASTStringLiteral lit = new ASTStringLiteral(dummyToken, value);
-		lit.setType(new ASTStringType(dummyToken));
+		semanticModel.setType(lit, new ASTStringType(dummyToken));
 		return lit;
 	}
 
 	private ASTTrue createTrue()
 	{
 		ASTTrue lit = new ASTTrue(dummyToken);
-		lit.setType(new ASTBooleanType(dummyToken));
+		semanticModel.setType(lit, new ASTBooleanType(dummyToken));
 		return lit;
 	}
 
 	private ASTFalse createFalse()
 	{
 		ASTFalse lit = new ASTFalse(dummyToken);
-		lit.setType(new ASTBooleanType(dummyToken));
+		semanticModel.setType(lit, new ASTBooleanType(dummyToken));
 		return lit;
 	}
 
@@ -85,31 +90,31 @@ public class ConstantFoldingTest
 	public void arithmetic_operations_should_fold_constants()
 	{
 		ASTPlus plus = new ASTPlus(dummyToken, createIntLiteral(5), createIntLiteral(3));
-		plus.setType(new ASTIntType(dummyToken));
+		semanticModel.setType(plus, new ASTIntType(dummyToken));
 		ASTExpression result = optimizer.visit(plus);
 		assertInstanceOf(ASTIntLiteral.class, result);
 		assertEquals(8, ((ASTIntLiteral) result).getValue());
 
 		ASTMinus minus = new ASTMinus(dummyToken, createIntLiteral(10), createIntLiteral(4));
-		minus.setType(new ASTIntType(dummyToken));
+		semanticModel.setType(minus, new ASTIntType(dummyToken));
 		result = optimizer.visit(minus);
 		assertInstanceOf(ASTIntLiteral.class, result);
 		assertEquals(6, ((ASTIntLiteral) result).getValue());
 
 		ASTTimes times = new ASTTimes(dummyToken, createIntLiteral(6), createIntLiteral(7));
-		times.setType(new ASTIntType(dummyToken));
+		semanticModel.setType(times, new ASTIntType(dummyToken));
 		result = optimizer.visit(times);
 		assertInstanceOf(ASTIntLiteral.class, result);
 		assertEquals(42, ((ASTIntLiteral) result).getValue());
 
 		ASTDivision div = new ASTDivision(dummyToken, createIntLiteral(20), createIntLiteral(4));
-		div.setType(new ASTIntType(dummyToken));
+		semanticModel.setType(div, new ASTIntType(dummyToken));
 		result = optimizer.visit(div);
 		assertInstanceOf(ASTIntLiteral.class, result);
 		assertEquals(5, ((ASTIntLiteral) result).getValue());
 
 		ASTModulus mod = new ASTModulus(dummyToken, createIntLiteral(17), createIntLiteral(5));
-		mod.setType(new ASTIntType(dummyToken));
+		semanticModel.setType(mod, new ASTIntType(dummyToken));
 		result = optimizer.visit(mod);
 		assertInstanceOf(ASTIntLiteral.class, result);
 		assertEquals(2, ((ASTIntLiteral) result).getValue());
@@ -119,7 +124,7 @@ public class ConstantFoldingTest
 	public void string_concatenation_should_fold_constants()
 	{
 		ASTPlus concat = new ASTPlus(dummyToken, createStringLiteral("hello"), createStringLiteral(" world"));
-		concat.setType(new ASTStringType(dummyToken));
+		semanticModel.setType(concat, new ASTStringType(dummyToken));
 		ASTExpression result = optimizer.visit(concat);
 
 		assertInstanceOf(ASTStringLiteral.class, result);
@@ -130,22 +135,22 @@ public class ConstantFoldingTest
 	public void comparison_operations_should_fold_constants()
 	{
 		ASTEquals equals = new ASTEquals(dummyToken, createIntLiteral(5), createIntLiteral(5));
-		equals.setType(new ASTIntType(dummyToken));
+		semanticModel.setType(equals, new ASTIntType(dummyToken));
 		ASTExpression equalsResult = optimizer.visit(equals);
 		assertInstanceOf(ASTTrue.class, equalsResult);
 
 		ASTNotEquals notEquals = new ASTNotEquals(dummyToken, createIntLiteral(5), createIntLiteral(3));
-		notEquals.setType(new ASTBooleanType(dummyToken));
+		semanticModel.setType(notEquals, new ASTBooleanType(dummyToken));
 		ASTExpression notEqualsResult = optimizer.visit(notEquals);
 		assertInstanceOf(ASTTrue.class, notEqualsResult);
 
 		ASTLessThan lessThan = new ASTLessThan(dummyToken, createIntLiteral(3), createIntLiteral(5));
-		lessThan.setType(new ASTBooleanType(dummyToken));
+		semanticModel.setType(lessThan, new ASTBooleanType(dummyToken));
 		ASTExpression lessThanResult = optimizer.visit(lessThan);
 		assertInstanceOf(ASTTrue.class, lessThanResult);
 
 		ASTGreaterThan greaterThan = new ASTGreaterThan(dummyToken, createIntLiteral(5), createIntLiteral(3));
-		greaterThan.setType(new ASTBooleanType(dummyToken));
+		semanticModel.setType(greaterThan, new ASTBooleanType(dummyToken));
 		ASTExpression greaterThanResult = optimizer.visit(greaterThan);
 		assertInstanceOf(ASTTrue.class, greaterThanResult);
 	}
@@ -154,22 +159,22 @@ public class ConstantFoldingTest
 	public void logical_operations_should_fold_constants()
 	{
 		ASTAnd andTrue = new ASTAnd(dummyToken, createTrue(), createTrue());
-		andTrue.setType(new ASTBooleanType(dummyToken));
+		semanticModel.setType(andTrue, new ASTBooleanType(dummyToken));
 		ASTExpression result = optimizer.visit(andTrue);
 		assertInstanceOf(ASTTrue.class, result);
 
 		ASTAnd andFalse = new ASTAnd(dummyToken, createTrue(), createFalse());
-		andFalse.setType(new ASTBooleanType(dummyToken));
+		semanticModel.setType(andFalse, new ASTBooleanType(dummyToken));
 		result = optimizer.visit(andFalse);
 		assertInstanceOf(ASTFalse.class, result);
 
 		ASTOr orTrue = new ASTOr(dummyToken, createTrue(), createFalse());
-		orTrue.setType(new ASTBooleanType(dummyToken));
+		semanticModel.setType(orTrue, new ASTBooleanType(dummyToken));
 		result = optimizer.visit(orTrue);
 		assertInstanceOf(ASTTrue.class, result);
 
 		ASTOr orFalse = new ASTOr(dummyToken, createFalse(), createFalse());
-		orFalse.setType(new ASTBooleanType(dummyToken));
+		semanticModel.setType(orFalse, new ASTBooleanType(dummyToken));
 		result = optimizer.visit(orFalse);
 		assertInstanceOf(ASTFalse.class, result);
 	}
@@ -206,7 +211,7 @@ public class ConstantFoldingTest
 	public void variable_initialization_should_optimize_expression()
 	{
 		ASTPlus plus = new ASTPlus(dummyToken, createIntLiteral(2), createIntLiteral(3));
-		plus.setType(new ASTIntType(dummyToken));
+		semanticModel.setType(plus, new ASTIntType(dummyToken));
 
 		ASTVariableInit varInit = new ASTVariableInit(dummyToken, new ASTIntType(dummyToken),
 				new ASTIdentifier(dummyToken, "x"), plus, false);
@@ -221,7 +226,7 @@ public class ConstantFoldingTest
 	public void return_statement_should_optimize_expression()
 	{
 		ASTTimes times = new ASTTimes(dummyToken, createIntLiteral(6), createIntLiteral(7));
-		times.setType(new ASTIntType(dummyToken));
+		semanticModel.setType(times, new ASTIntType(dummyToken));
 
 		ASTReturnStatement returnStmt = new ASTReturnStatement(dummyToken, times);
 
@@ -235,7 +240,7 @@ public class ConstantFoldingTest
 	public void division_by_zero_should_not_fold()
 	{
 		ASTDivision div = new ASTDivision(dummyToken, createIntLiteral(5), createIntLiteral(0));
-		div.setType(new ASTIntType(dummyToken));
+		semanticModel.setType(div, new ASTIntType(dummyToken));
 
 		ASTExpression result = optimizer.visit(div);
 
@@ -246,7 +251,7 @@ public class ConstantFoldingTest
 	public void modulus_by_zero_should_not_fold()
 	{
 		ASTModulus mod = new ASTModulus(dummyToken, createIntLiteral(5), createIntLiteral(0));
-		mod.setType(new ASTIntType(dummyToken));
+		semanticModel.setType(mod, new ASTIntType(dummyToken));
 
 		ASTExpression result = optimizer.visit(mod);
 
@@ -257,14 +262,14 @@ public class ConstantFoldingTest
 	public void mixed_type_concatenation_should_work()
 	{
 		ASTPlus concat1 = new ASTPlus(dummyToken, createStringLiteral("num: "), createIntLiteral(42));
-		concat1.setType(new ASTStringType(dummyToken));
+		semanticModel.setType(concat1, new ASTStringType(dummyToken));
 
 		ASTExpression result = optimizer.visit(concat1);
 		assertInstanceOf(ASTStringLiteral.class, result);
 		assertEquals("num: 42", ((ASTStringLiteral) result).getValue());
 
 		ASTPlus concat2 = new ASTPlus(dummyToken, createIntLiteral(100), createStringLiteral(" people"));
-		concat2.setType(new ASTStringType(dummyToken));
+		semanticModel.setType(concat2, new ASTStringType(dummyToken));
 
 		result = optimizer.visit(concat2);
 		assertInstanceOf(ASTStringLiteral.class, result);
@@ -275,17 +280,17 @@ public class ConstantFoldingTest
 	public void boolean_equality_should_fold()
 	{
 		ASTEquals eq1 = new ASTEquals(dummyToken, createTrue(), createTrue());
-		eq1.setType(new ASTBooleanType(dummyToken));
+		semanticModel.setType(eq1, new ASTBooleanType(dummyToken));
 		ASTExpression result = optimizer.visit(eq1);
 		assertInstanceOf(ASTTrue.class, result);
 
 		ASTEquals eq2 = new ASTEquals(dummyToken, createFalse(), createFalse());
-		eq2.setType(new ASTBooleanType(dummyToken));
+		semanticModel.setType(eq2, new ASTBooleanType(dummyToken));
 		result = optimizer.visit(eq2);
 		assertInstanceOf(ASTTrue.class, result);
 
 		ASTEquals eq3 = new ASTEquals(dummyToken, createTrue(), createFalse());
-		eq3.setType(new ASTBooleanType(dummyToken));
+		semanticModel.setType(eq3, new ASTBooleanType(dummyToken));
 		result = optimizer.visit(eq3);
 		assertInstanceOf(ASTFalse.class, result);
 	}
@@ -294,14 +299,36 @@ public class ConstantFoldingTest
 	public void recursive_optimization_should_work()
 	{
 		ASTPlus inner = new ASTPlus(dummyToken, createIntLiteral(2), createIntLiteral(3));
-		inner.setType(new ASTIntType(dummyToken));
+		semanticModel.setType(inner, new ASTIntType(dummyToken));
 
 		ASTTimes outer = new ASTTimes(dummyToken, inner, createIntLiteral(4));
-		outer.setType(new ASTIntType(dummyToken));
+		semanticModel.setType(outer, new ASTIntType(dummyToken));
 
 		ASTExpression result = optimizer.visit(outer);
 
 		assertInstanceOf(ASTIntLiteral.class, result);
 		assertEquals(20, ((ASTIntLiteral) result).getValue());
 	}
+
+	@Test
+	public void optimize_should_return_change_count_without_printing()
+	{
+		ASTPlus plus = new ASTPlus(dummyToken, createIntLiteral(2), createIntLiteral(3));
+		semanticModel.setType(plus, new ASTIntType(dummyToken));
+		ASTReturnStatement statement = new ASTReturnStatement(dummyToken, plus);
+
+		PrintStream out = System.out;
+		ByteArrayOutputStream captured = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(captured));
+		int changes;
+		try {
+			changes = ConstantFolding.optimize(statement, semanticModel);
+		} finally {
+			System.setOut(out);
+		}
+
+		assertEquals(1, changes);
+		assertEquals("", captured.toString());
+		assertEquals(5, ((ASTIntLiteral) statement.getExpression()).getValue());
+	}
 }
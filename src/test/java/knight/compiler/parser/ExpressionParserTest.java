@@ -287,4 +287,70 @@ public class ExpressionParserTest extends ParserTest
 
 		assertInstanceOf(ASTArrayIndexExpr.class, parser.parseExpression());
 	}
+
+	@Test
+	public void parseExpression_NotEquals_should_bind_tighter_than_And() throws Exception
+	{
+		this.parser.token = createToken("a", Tokens.IDENTIFIER);
+		mockTokens(createToken("!=", Tokens.NOTEQUALS), createToken("b", Tokens.IDENTIFIER),
+				createToken("&&", Tokens.AND), createToken("c", Tokens.IDENTIFIER), createToken(";", Tokens.SEMICOLON));
+
+		ASTAnd and = assertInstanceOf(ASTAnd.class, parser.parseExpression());
+		assertInstanceOf(ASTNotEquals.class, and.getLeft());
+		assertInstanceOf(ASTIdentifierExpr.class, and.getRight());
+	}
+
+	@Test
+	public void parseExpression_LessThanOrEqual_should_bind_looser_than_Plus() throws Exception
+	{
+		this.parser.token = createToken("a", Tokens.IDENTIFIER);
+		mockTokens(createToken("<=", Tokens.LESSTHANOREQUAL), createToken("b", Tokens.IDENTIFIER),
+				createToken("+", Tokens.PLUS), createToken("1", Tokens.INTEGER), createToken("||", Tokens.OR),
+				createToken("c", Tokens.IDENTIFIER), createToken(">=", Tokens.GREATERTHANOREQUAL),
+				createToken("2", Tokens.INTEGER), createToken(";", Tokens.SEMICOLON));
+
+		ASTOr or = assertInstanceOf(ASTOr.class, parser.parseExpression());
+		ASTLessThanOrEqual lessThanOrEqual = assertInstanceOf(ASTLessThanOrEqual.class, or.getLeft());
+		assertInstanceOf(ASTPlus.class, lessThanOrEqual.getRight());
+		assertInstanceOf(ASTGreaterThanOrEqual.class, or.getRight());
+	}
+
+	@Test
+	public void parseExpression_should_be_left_associative() throws Exception
+	{
+		this.parser.token = createToken("1", Tokens.INTEGER);
+		mockTokens(createToken("-", Tokens.MINUS), createToken("2", Tokens.INTEGER), createToken("-", Tokens.MINUS),
+				createToken("3", Tokens.INTEGER), createToken(";", Tokens.SEMICOLON));
+
+		ASTMinus minus = assertInstanceOf(ASTMinus.class, parser.parseExpression());
+		assertInstanceOf(ASTMinus.class, minus.getLeft());
+		assertEquals(3, assertInstanceOf(ASTIntLiteral.class, minus.getRight()).getValue());
+	}
+
+	@Test
+	public void parseExpression_call_arguments_should_not_capture_outer_operators() throws Exception
+	{
+		this.parser.token = createToken("a", Tokens.IDENTIFIER);
+		mockTokens(createToken("+", Tokens.PLUS), createToken("f", Tokens.IDENTIFIER),
+				createToken("(", Tokens.LEFTPAREN), createToken("b", Tokens.IDENTIFIER),
+				createToken(")", Tokens.RIGHTPAREN), createToken("*", Tokens.TIMES),
+				createToken("c", Tokens.IDENTIFIER), createToken(";", Tokens.SEMICOLON));
+
+		ASTPlus plus = assertInstanceOf(ASTPlus.class, parser.parseExpression());
+		assertInstanceOf(ASTIdentifierExpr.class, plus.getLeft());
+		ASTTimes times = assertInstanceOf(ASTTimes.class, plus.getRight());
+		assertInstanceOf(ASTCallFunctionExpr.class, times.getLeft());
+	}
+
+	@Test
+	public void parseExpression_ArrayIndexExpr_should_bind_tighter_than_Times() throws Exception
+	{
+		this.parser.token = createToken("2", Tokens.INTEGER);
+		mockTokens(createToken("*", Tokens.TIMES), createToken("v", Tokens.IDENTIFIER),
+				createToken("[", Tokens.LEFTBRACKET), createToken("0", Tokens.INTEGER),
+				createToken("]", Tokens.RIGHTBRACKET), createToken(";", Tokens.SEMICOLON));
+
+		ASTTimes times = assertInstanceOf(ASTTimes.class, parser.parseExpression());
+		assertInstanceOf(ASTArrayIndexExpr.class, times.getRight());
+	}
 }
@@ -0,0 +1,79 @@
+package knight.compiler.parser;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+
+import knight.compiler.lexer.Lexer;
+
+public class ParserBenchmark
+{
+	private static final int WARMUP_ROUNDS = 20;
+	private static final int MEASURED_ROUNDS = 50;
+	private static final String[] ARITHMETIC = { " + ", " - ", " * ", " / ", " % " };
+	private static final String[] COMPARISON = { " < ", " <= ", " > ", " >= ", " == ", " != " };
+
+	public static void main(String[] args) throws ParseException
+	{
+		int terms = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		int statements = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+		measure("arithmetic", arithmeticSource(terms, statements));
+		measure("boolean", booleanSource(terms, statements));
+	}
+
+	private static void measure(String name, String source) throws ParseException
+	{
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			parse(source);
+		}
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+
+		long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+		long start = System.nanoTime();
+
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			parse(source);
+		}
+
+		long elapsed = System.nanoTime() - start;
+		long allocated = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+		System.out.printf("%-10s %d chars, %.2f ms/parse, %.1f KB/parse%n", name, source.length(),
+				elapsed / 1e6 / MEASURED_ROUNDS, allocated / 1024.0 / MEASURED_ROUNDS);
+	}
+
+	private static void parse(String source) throws ParseException
+	{
+		new Parser(new Lexer(new BufferedReader(new StringReader(source)))).parse();
+	}
+
+	private static String arithmeticSource(int terms, int statements)
+	{
+		StringBuilder sb = new StringBuilder("fn arithmetic(int a, int[] v): int\n{\n");
+		for (int s = 0; s < statements; s++) {
+			sb.append("\tint x").append(s).append(" = a");
+			for (int t = 0; t < terms; t++) {
+				sb.append(ARITHMETIC[t % ARITHMETIC.length])
+						.append(t % 3 == 0 ? "v[" + t + "]" : String.valueOf(t + 1));
+			}
+			sb.append(";\n");
+		}
+		return sb.append("\tret a;\n}\n").toString();
+	}
+
+	private static String booleanSource(int terms, int statements)
+	{
+		StringBuilder sb = new StringBuilder("fn logic(int a, int b): bool\n{\n");
+		for (int s = 0; s < statements; s++) {
+			sb.append("\tbool b").append(s).append(" = a < b");
+			for (int t = 0; t < terms; t++) {
+				sb.append(t % 2 == 0 ? " && " : " || ").append("a").append(COMPARISON[t % COMPARISON.length]).append(t);
+			}
+			sb.append(";\n");
+		}
+		return sb.append("\tret true;\n}\n").toString();
+	}
+}
@@ -0,0 +1,121 @@
+package knight.compiler.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import knight.compiler.ast.AST;
+import knight.compiler.ast.controlflow.ASTIfChain;
+import knight.compiler.ast.expressions.ASTCallFunctionExpr;
+import knight.compiler.ast.expressions.ASTExpression;
+import knight.compiler.ast.expressions.ASTIntLiteral;
+import knight.compiler.ast.expressions.ASTPlus;
+import knight.compiler.ast.program.ASTFunction;
+import knight.compiler.ast.program.ASTProgram;
+import knight.compiler.ast.program.ASTVariableInit;
+import knight.compiler.ast.statements.ASTBody;
+import knight.compiler.lexer.Lexer;
+
+public class ParserStressTest
+{
+	private static final int TERMS = 100_000;
+	private static final int NESTING = 10_000;
+
+	@Test
+	@Timeout(value = 30, unit = TimeUnit.SECONDS)
+	public void parse_should_handle_long_operator_chains() throws ParseException
+	{
+		StringBuilder sb = new StringBuilder("int x = 0");
+		for (int i = 1; i < TERMS; i++) {
+			sb.append(" + ").append(i);
+		}
+		sb.append(";\n");
+
+		ASTProgram program = parse(sb.toString());
+		ASTVariableInit variable = assertInstanceOf(ASTVariableInit.class, program.getNodes().get(0));
+
+		int terms = 1;
+		ASTExpression expression = variable.getExpression();
+		while (expression instanceof ASTPlus) {
+			ASTPlus plus = (ASTPlus) expression;
+			assertEquals(TERMS - terms, assertInstanceOf(ASTIntLiteral.class, plus.getRight()).getValue());
+			expression = plus.getLeft();
+			terms++;
+		}
+
+		assertEquals(TERMS, terms);
+		assertEquals(0, assertInstanceOf(ASTIntLiteral.class, expression).getValue());
+	}
+
+	@Test
+	@Timeout(value = 30, unit = TimeUnit.SECONDS)
+	public void parse_should_handle_deeply_nested_blocks() throws ParseException
+	{
+		ASTProgram program = parse(nestedBlocks(NESTING));
+		ASTFunction function = assertInstanceOf(ASTFunction.class, program.getNodes().get(0));
+
+		int depth = 0;
+		ASTBody body = function.getBody();
+		while (body.getNodes().get(0) instanceof ASTIfChain) {
+			body = ((ASTIfChain) body.getNodes().get(0)).getBranches().get(0).getBody();
+			depth++;
+		}
+
+		assertEquals(NESTING, depth);
+	}
+
+	@Test
+	@Timeout(value = 30, unit = TimeUnit.SECONDS)
+	public void parse_should_handle_deeply_nested_expressions() throws ParseException
+	{
+		StringBuilder sb = new StringBuilder("int x = ");
+		for (int i = 0; i < NESTING; i++) {
+			sb.append("f(");
+		}
+		sb.append("1");
+		for (int i = 0; i < NESTING; i++) {
+			sb.append(")");
+		}
+		sb.append(";\n");
+
+		ASTProgram program = parse(sb.toString());
+		ASTVariableInit variable = assertInstanceOf(ASTVariableInit.class, program.getNodes().get(0));
+
+		int depth = 0;
+		ASTExpression expression = variable.getExpression();
+		while (expression instanceof ASTCallFunctionExpr) {
+			expression = ((ASTCallFunctionExpr) expression).getArguments().get(0);
+			depth++;
+		}
+
+		assertEquals(NESTING, depth);
+		assertEquals(1, assertInstanceOf(ASTIntLiteral.class, expression).getValue());
+	}
+
+	private String nestedBlocks(int nesting)
+	{
+		StringBuilder sb = new StringBuilder("fn nested(bool a): void\n{\n");
+		for (int i = 0; i < nesting; i++) {
+			sb.append("if (a) {\n");
+		}
+		sb.append("ret a;\n");
+		for (int i = 0; i < nesting; i++) {
+			sb.append("}\n");
+		}
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	private ASTProgram parse(String source) throws ParseException
+	{
+		Lexer lexer = new Lexer(new BufferedReader(new StringReader(source)));
+		AST program = new Parser(lexer).parse();
+		return assertInstanceOf(ASTProgram.class, program);
+	}
+}
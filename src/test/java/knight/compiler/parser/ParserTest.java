@@ -27,7 +27,7 @@ public class ParserTest
 
 	protected Token createToken(String text, Tokens type)
 	{
-		return new Token(Symbol.symbol(text, type), 1, 1);
+		return new Token(new Symbol(text, type), 1, 1);
 	}
 
 	protected void mockTokens(Token... tokens)
@@ -0,0 +1,63 @@
+package knight.compiler.preprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import knight.compiler.library.LibraryBundle;
+
+public class MemorySourceProviderTest
+{
+	private static final LibraryBundle BUNDLE = new LibraryBundle(
+			Map.of("math", "fn square(int x): int\n{\n    ret x * x;\n}\n".getBytes(StandardCharsets.UTF_8)));
+
+	@Test
+	public void process_should_read_sources_from_memory() throws Exception
+	{
+		MemorySourceProvider provider = new MemorySourceProvider(BUNDLE);
+		provider.put("/app/main.knight",
+				"import \"lib/util.knight\"\nimport math\n\nimport std\n\nfn main(): int { ret 0; }");
+		provider.put("/app/lib/util.knight", "import \"../main.knight\"\nfn util(): int { ret 1; }");
+
+		PreProcessor preProcessor = new PreProcessor(provider);
+		preProcessor.process("/app/main.knight");
+
+		List<SourceFile> sources = preProcessor.getSources();
+		assertEquals(3, sources.size());
+		assertEquals("/app/main.knight", sources.get(0).getPath());
+		assertEquals("/app/lib/util.knight", sources.get(1).getPath());
+		assertEquals(MemorySourceProvider.LIBRARY_ROOT + "math.knight", sources.get(2).getPath());
+		assertEquals(List.of("/app/lib/util.knight", MemorySourceProvider.LIBRARY_ROOT + "math.knight"),
+				sources.get(0).getImports());
+	}
+
+	@Test
+	public void resolve_should_normalise_relative_imports()
+	{
+		MemorySourceProvider provider = new MemorySourceProvider(BUNDLE);
+
+		assertEquals("/a/c.knight", provider.resolve("../c.knight", "/a/b/main.knight"));
+		assertEquals("/x.knight", provider.resolve("/x.knight", "/a/main.knight"));
+		assertEquals("/main.knight", provider.canonicalPath("main.knight"));
+		assertNull(provider.resolveLibrary(LibraryBundle.STANDARD_LIBRARY, "/main.knight"));
+	}
+
+	@Test
+	public void read_should_fail_for_unknown_files()
+	{
+		MemorySourceProvider provider = new MemorySourceProvider(BUNDLE);
+		provider.put("/main.knight", "import \"missing.knight\"\nfn main(): int { ret 0; }");
+
+		assertThrows(FileNotFoundException.class, () -> provider.read("/missing.knight"));
+		assertThrows(FileNotFoundException.class, () -> provider.read(MemorySourceProvider.LIBRARY_ROOT + "io.knight"));
+		assertThrows(IOException.class, () -> new PreProcessor(provider).process("/main.knight"));
+	}
+}
@@ -0,0 +1,88 @@
+package knight.compiler.preprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import knight.compiler.lexer.Lexer;
+import knight.compiler.lexer.Tokens;
+
+public class PreProcessorTest
+{
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void process_should_collect_imports_depth_first() throws Exception
+	{
+		Path main = write("main.knight", "import \"a.knight\"\nimport \"b.knight\"\nfn main(): int { ret 0; }");
+		Path a = write("a.knight", "import \"c.knight\"\nfn a(): int { ret 1; }");
+		Path b = write("b.knight", "import \"a.knight\"\nfn b(): int { ret 2; }");
+		Path c = write("c.knight", "import \"main.knight\"\nfn c(): int { ret 3; }");
+
+		List<File> files = new PreProcessor().process(main.toString());
+
+		assertEquals(List.of(main.toFile(), a.toFile(), c.toFile(), b.toFile()), files);
+	}
+
+	@Test
+	public void process_should_ignore_imports_in_comments_and_strings() throws Exception
+	{
+		Path main = write("main.knight", """
+				// import "missing.knight"
+				/*
+				import "missing.knight"
+				*/
+				import "util.knight"
+				string text = "import missing";
+				""");
+		Path util = write("util.knight", "fn util(): int { ret 1; }");
+
+		PreProcessor preProcessor = new PreProcessor();
+		List<File> files = preProcessor.process(main.toString());
+
+		assertEquals(List.of(main.toFile(), util.toFile()), files);
+		assertEquals(List.of(util.toFile().getCanonicalPath()),
+				preProcessor.getSource(main.toFile().getCanonicalPath()).getImports());
+	}
+
+	@Test
+	public void sources_should_hand_over_buffer_and_tokens_once() throws Exception
+	{
+		Path main = write("main.knight", "fn main(): int { ret 0; }");
+
+		PreProcessor preProcessor = new PreProcessor();
+		preProcessor.process(main.toString());
+		SourceFile source = preProcessor.getSources().get(0);
+
+		assertArrayEquals(Files.readAllBytes(main), source.getContent());
+		Lexer lexer = source.takeLexer();
+		assertNotNull(lexer);
+		assertEquals(Tokens.FUNCTION, lexer.nextToken().getToken());
+		assertNull(source.takeLexer());
+	}
+
+	@Test
+	public void process_should_fail_on_missing_import() throws Exception
+	{
+		Path main = write("main.knight", "import \"missing.knight\"\nfn main(): int { ret 0; }");
+
+		assertThrows(IOException.class, () -> new PreProcessor().process(main.toString()));
+	}
+
+	private Path write(String name, String content) throws IOException
+	{
+		return Files.writeString(tempDir.resolve(name), content);
+	}
+}
@@ -11,6 +11,7 @@ import java.util.Collections;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import knight.compiler.CompilationContext;
 import knight.compiler.ast.controlflow.ASTConditionalBranch;
 import knight.compiler.ast.controlflow.ASTIfChain;
 import knight.compiler.ast.controlflow.ASTWhile;
@@ -47,13 +48,15 @@ import knight.compiler.semantics.model.SymbolProgram;
 public class BuildSymbolTreeTest
 {
 	private BuildSymbolTree symbolTree;
+	private DiagnosticReporter diagnosticReporter;
 	private Token dummyToken;
 
 	@BeforeEach
 	public void setUp()
 	{
-		DiagnosticReporter.clear();
-		symbolTree = new BuildSymbolTree();
+		CompilationContext context = new CompilationContext();
+		diagnosticReporter = context.getDiagnosticReporter();
+		symbolTree = new BuildSymbolTree(context);
 		dummyToken = new Token(null, 0, 0);
 	}
 
@@ -125,9 +128,9 @@ public class BuildSymbolTreeTest
 		ASTProgram program = new ASTProgram(dummyToken, Collections.emptyList(), Collections.singletonList(function));
 		symbolTree.visit(program);
 
-		assertTrue(DiagnosticReporter.hasErrors());
+		assertTrue(diagnosticReporter.hasErrors());
 		assertEquals("0:0: ERROR: Variable x already declared in this scope",
-				DiagnosticReporter.getDiagnostics().get(0).toString());
+				diagnosticReporter.getDiagnostics().get(0).toString());
 	}
 
 	@Test
@@ -143,9 +146,9 @@ public class BuildSymbolTreeTest
 		ASTProgram program = new ASTProgram(dummyToken, Collections.emptyList(), Collections.singletonList(function));
 		symbolTree.visit(program);
 
-		assertTrue(DiagnosticReporter.hasErrors());
+		assertTrue(diagnosticReporter.hasErrors());
 		assertEquals("0:0: ERROR: Variable x already declared in this scope",
-				DiagnosticReporter.getDiagnostics().get(0).toString());
+				diagnosticReporter.getDiagnostics().get(0).toString());
 	}
 
 	@Test
@@ -225,9 +228,9 @@ public class BuildSymbolTreeTest
 		ASTProgram program = new ASTProgram(dummyToken, Collections.emptyList(), Arrays.asList(class1, class2));
 
 		symbolTree.visit(program);
-		assertTrue(DiagnosticReporter.hasErrors());
+		assertTrue(diagnosticReporter.hasErrors());
 		assertEquals("0:0: ERROR: Class Duplicate is already defined!",
-				DiagnosticReporter.getDiagnostics().get(0).toString());
+				diagnosticReporter.getDiagnostics().get(0).toString());
 	}
 
 	@Test
@@ -238,9 +241,9 @@ public class BuildSymbolTreeTest
 		ASTProgram program = new ASTProgram(dummyToken, Collections.emptyList(), Collections.singletonList(property));
 
 		symbolTree.visit(program);
-		assertTrue(DiagnosticReporter.hasErrors());
+		assertTrue(diagnosticReporter.hasErrors());
 		assertEquals("0:0: ERROR: Property declared outside of class",
-				DiagnosticReporter.getDiagnostics().get(0).toString());
+				diagnosticReporter.getDiagnostics().get(0).toString());
 	}
 
 	@Test
@@ -264,7 +267,7 @@ public class BuildSymbolTreeTest
 		assertNotNull(symbolProgram.getGlobalVariable("global"));
 		assertNotNull(symbolProgram.getGlobalFunction("testNested"));
 
-		assertFalse(DiagnosticReporter.hasErrors());
+		assertFalse(diagnosticReporter.hasErrors());
 	}
 
 	@Test
@@ -282,7 +285,7 @@ public class BuildSymbolTreeTest
 
 		symbolTree.visit(program);
 
-		assertFalse(DiagnosticReporter.hasErrors());
+		assertFalse(diagnosticReporter.hasErrors());
 		assertNotNull(symbolTree.getSymbolProgram().getGlobalFunction("testExpr"));
 	}
 
@@ -303,7 +306,7 @@ public class BuildSymbolTreeTest
 
 		SymbolProgram symbolProgram = symbolTree.getSymbolProgram();
 		assertNotNull(symbolProgram.getGlobalFunction("testInit"));
-		assertFalse(DiagnosticReporter.hasErrors());
+		assertFalse(diagnosticReporter.hasErrors());
 	}
 
 	@Test
@@ -322,7 +325,7 @@ public class BuildSymbolTreeTest
 		ASTProgram program = new ASTProgram(dummyToken, Collections.emptyList(), Collections.singletonList(function));
 
 		symbolTree.visit(program);
-		assertFalse(DiagnosticReporter.hasErrors());
+		assertFalse(diagnosticReporter.hasErrors());
 	}
 
 	@Test
@@ -342,7 +345,7 @@ public class BuildSymbolTreeTest
 		ASTProgram program = new ASTProgram(dummyToken, Collections.emptyList(), Collections.singletonList(function));
 
 		symbolTree.visit(program);
-		assertFalse(DiagnosticReporter.hasErrors());
+		assertFalse(diagnosticReporter.hasErrors());
 	}
 
 	@Test
@@ -362,7 +365,7 @@ public class BuildSymbolTreeTest
 		ASTProgram program = new ASTProgram(dummyToken, Collections.emptyList(), Collections.singletonList(function));
 
 		symbolTree.visit(program);
-		assertFalse(DiagnosticReporter.hasErrors());
+		assertFalse(diagnosticReporter.hasErrors());
 	}
 
 	@Test
@@ -378,7 +381,7 @@ public class BuildSymbolTreeTest
 		ASTProgram program = new ASTProgram(dummyToken, Collections.emptyList(), Collections.singletonList(function));
 
 		symbolTree.visit(program);
-		assertFalse(DiagnosticReporter.hasErrors());
+		assertFalse(diagnosticReporter.hasErrors());
 	}
 
 	@Test
@@ -398,7 +401,7 @@ public class BuildSymbolTreeTest
 		ASTProgram program = new ASTProgram(dummyToken, Collections.emptyList(), Collections.singletonList(function));
 
 		symbolTree.visit(program);
-		assertFalse(DiagnosticReporter.hasErrors());
+		assertFalse(diagnosticReporter.hasErrors());
 	}
 
 	@Test
@@ -417,7 +420,7 @@ public class BuildSymbolTreeTest
 		ASTProgram program = new ASTProgram(dummyToken, Collections.emptyList(), Collections.singletonList(function));
 
 		symbolTree.visit(program);
-		assertFalse(DiagnosticReporter.hasErrors());
+		assertFalse(diagnosticReporter.hasErrors());
 	}
 
 	@Test
@@ -437,7 +440,7 @@ public class BuildSymbolTreeTest
 		ASTProgram program = new ASTProgram(dummyToken, Collections.emptyList(), Collections.singletonList(function));
 
 		symbolTree.visit(program);
-		assertFalse(DiagnosticReporter.hasErrors());
+		assertFalse(diagnosticReporter.hasErrors());
 	}
 
 	@Test
@@ -451,6 +454,6 @@ public class BuildSymbolTreeTest
 		ASTProgram program = new ASTProgram(dummyToken, Collections.emptyList(), Collections.singletonList(function));
 
 		symbolTree.visit(program);
-		assertFalse(DiagnosticReporter.hasErrors());
+		assertFalse(diagnosticReporter.hasErrors());
 	}
 }
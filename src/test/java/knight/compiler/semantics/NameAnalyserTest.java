@@ -3,6 +3,7 @@ package knight.compiler.semantics;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -14,10 +15,10 @@ import java.util.function.BiConsumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import knight.compiler.CompilationContext;
 import knight.compiler.ast.controlflow.ASTConditionalBranch;
 import knight.compiler.ast.controlflow.ASTForEach;
 import knight.compiler.ast.controlflow.ASTIfChain;
@@ -79,6 +80,7 @@ import knight.compiler.lexer.Token;
 import knight.compiler.library.LibraryManager;
 import knight.compiler.semantics.diagnostics.DiagnosticReporter;
 import knight.compiler.semantics.model.Scope;
+import knight.compiler.semantics.model.SemanticModel;
 import knight.compiler.semantics.model.SymbolClass;
 import knight.compiler.semantics.model.SymbolFunction;
 import knight.compiler.semantics.model.SymbolInterface;
@@ -98,18 +100,23 @@ public class NameAnalyserTest
 	@Mock
 	private LibraryManager libraryManager;
 
-	@InjectMocks
 	private NameAnalyser nameAnalyser;
 
+	private SemanticModel semanticModel;
+
+	private DiagnosticReporter diagnosticReporter;
+
 	private Token dummyToken;
 
 	@BeforeEach
 	public void setUp()
 	{
 		MockitoAnnotations.openMocks(this);
-		DiagnosticReporter.clear();
+		CompilationContext context = new CompilationContext();
+		diagnosticReporter = context.getDiagnosticReporter();
+		semanticModel = context.getSemanticModel();
 		dummyToken = new Token(null, 0, 0);
-		nameAnalyser = new NameAnalyser(symbolProgram);
+		nameAnalyser = new NameAnalyser(context, symbolProgram);
 	}
 
 	private ASTIdentifier createMockIdentifier(String name)
@@ -186,7 +193,7 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertTrue(DiagnosticReporter.getErrors().isEmpty());
+		assertTrue(diagnosticReporter.getErrors().isEmpty());
 	}
 
 	@Test
@@ -205,7 +212,7 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
 	}
 
 	@Test
@@ -230,7 +237,7 @@ public class NameAnalyserTest
 		// Assert
 		assertNull(result);
 		verify(type, times(1)).accept(nameAnalyser);
-		verify(identifier, times(1)).setBinding(symbolProperty);
+		assertSame(symbolProperty, semanticModel.getBinding(identifier));
 
 		nameAnalyser.getScopeManager().exitClass();
 	}
@@ -256,7 +263,7 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
 
 		nameAnalyser.getScopeManager().exitClass();
 	}
@@ -287,7 +294,7 @@ public class NameAnalyserTest
 		assertNull(result);
 		verify(returnType, times(1)).accept(nameAnalyser);
 		verify(body, times(1)).accept(nameAnalyser);
-		verify(identifier, times(1)).setBinding(symbolFunction);
+		assertSame(symbolFunction, semanticModel.getBinding(identifier));
 		assertTrue(nameAnalyser.processedFunctions.contains("testFunction"));
 
 		nameAnalyser.getScopeManager().exitClass();
@@ -308,7 +315,7 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		verify(identifier, times(0)).setBinding(any());
+		assertNull(semanticModel.getBinding(identifier));
 	}
 
 	@Test
@@ -330,7 +337,7 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
 
 		nameAnalyser.getScopeManager().exitClass();
 	}
@@ -343,7 +350,7 @@ public class NameAnalyserTest
 		Scope bodyScope = mock(Scope.class);
 		ASTStatement statement = mock(ASTStatement.class);
 
-		when(body.getScope()).thenReturn(bodyScope);
+		semanticModel.setScope(body, bodyScope);
 		when(body.getNodes()).thenReturn(Arrays.asList(statement));
 
 		// Act
@@ -376,7 +383,7 @@ public class NameAnalyserTest
 		// Assert
 		assertNull(result);
 		verify(type, times(1)).accept(nameAnalyser);
-		verify(identifier, times(1)).setBinding(parameter);
+		assertSame(parameter, semanticModel.getBinding(identifier));
 
 		nameAnalyser.getScopeManager().exitFunction();
 	}
@@ -402,7 +409,7 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
 
 		nameAnalyser.getScopeManager().exitFunction();
 	}
@@ -479,7 +486,7 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		verify(identifierType, times(1)).setBinding(symbolClass);
+		assertSame(symbolClass, semanticModel.getBinding(identifierType));
 	}
 
 	@Test
@@ -497,7 +504,7 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
 	}
 
 	@Test
@@ -597,7 +604,7 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		verify(className, times(1)).setBinding(symbolClass);
+		assertSame(symbolClass, semanticModel.getBinding(className));
 	}
 
 	@Test
@@ -616,7 +623,7 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
 	}
 
 	@Test
@@ -851,7 +858,7 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		verify(identifier, times(1)).setBinding(symbolInterface);
+		assertSame(symbolInterface, semanticModel.getBinding(identifier));
 	}
 
 	@Test
@@ -870,7 +877,7 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
 	}
 
 	@Test
@@ -1119,7 +1126,7 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		verify(className, times(1)).setBinding(symbolClass);
+		assertSame(symbolClass, semanticModel.getBinding(className));
 		verify(arg1, times(1)).accept(nameAnalyser);
 		verify(arg2, times(1)).accept(nameAnalyser);
 	}
@@ -1216,7 +1223,7 @@ public class NameAnalyserTest
 		ASTBody body = mock(ASTBody.class);
 		Scope bodyScope = mock(Scope.class);
 
-		when(body.getScope()).thenReturn(bodyScope);
+		semanticModel.setScope(body, bodyScope);
 		when(body.getNodes()).thenReturn(Arrays.asList());
 
 		// Act
@@ -1236,7 +1243,7 @@ public class NameAnalyserTest
 		ASTStatement statement2 = mock(ASTStatement.class);
 		ASTStatement statement3 = mock(ASTStatement.class);
 
-		when(body.getScope()).thenReturn(bodyScope);
+		semanticModel.setScope(body, bodyScope);
 		when(body.getNodes()).thenReturn(Arrays.asList(statement1, statement2, statement3));
 
 		// Act
@@ -1328,7 +1335,7 @@ public class NameAnalyserTest
 	public void testDiagnosticReporterClearsErrors()
 	{
 		// Test that DiagnosticReporter properly clears errors between tests
-		assertTrue(DiagnosticReporter.getErrors().isEmpty());
+		assertTrue(diagnosticReporter.getErrors().isEmpty());
 	}
 
 	@Test
@@ -1345,8 +1352,8 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
-		String errorMessage = DiagnosticReporter.getErrors().get(0).getMessage();
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
+		String errorMessage = diagnosticReporter.getErrors().get(0).getMessage();
 		assertTrue(errorMessage.contains("undefinedVar") || errorMessage.contains("not declared"));
 	}
 
@@ -1365,8 +1372,8 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
-		String errorMessage = DiagnosticReporter.getErrors().get(0).getMessage();
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
+		String errorMessage = diagnosticReporter.getErrors().get(0).getMessage();
 		assertTrue(errorMessage.contains("UndefinedClass") || errorMessage.contains("not found"));
 	}
 
@@ -1386,8 +1393,8 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
-		String errorMessage = DiagnosticReporter.getErrors().get(0).getMessage();
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
+		String errorMessage = diagnosticReporter.getErrors().get(0).getMessage();
 		assertTrue(errorMessage.contains("UndefinedInterface") || errorMessage.contains("not found"));
 	}
 
@@ -1408,8 +1415,8 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
-		String errorMessage = DiagnosticReporter.getErrors().get(0).getMessage();
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
+		String errorMessage = diagnosticReporter.getErrors().get(0).getMessage();
 		assertTrue(errorMessage.contains("undefinedFunction") || errorMessage.contains("not found"));
 	}
 
@@ -1434,8 +1441,8 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
-		String errorMessage = DiagnosticReporter.getErrors().get(0).getMessage();
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
+		String errorMessage = diagnosticReporter.getErrors().get(0).getMessage();
 		assertTrue(errorMessage.contains("undefinedProperty") || errorMessage.contains("not found"));
 
 		nameAnalyser.getScopeManager().exitClass();
@@ -1462,8 +1469,8 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
-		String errorMessage = DiagnosticReporter.getErrors().get(0).getMessage();
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
+		String errorMessage = diagnosticReporter.getErrors().get(0).getMessage();
 		assertTrue(errorMessage.contains("undefinedParam") || errorMessage.contains("not found"));
 
 		nameAnalyser.getScopeManager().exitFunction();
@@ -1486,8 +1493,8 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
-		String errorMessage = DiagnosticReporter.getErrors().get(0).getMessage();
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
+		String errorMessage = diagnosticReporter.getErrors().get(0).getMessage();
 		assertTrue(errorMessage.contains("UndefinedClass") || errorMessage.contains("undefined class"));
 	}
 
@@ -1495,7 +1502,7 @@ public class NameAnalyserTest
 	public void testCustomError_MultipleErrorsAccumulate()
 	{
 		// Test that multiple errors can be reported
-		DiagnosticReporter.clear();
+		diagnosticReporter.clear();
 
 		// First error
 		ASTIdentifierExpr identifier1 = mock(ASTIdentifierExpr.class);
@@ -1511,8 +1518,8 @@ public class NameAnalyserTest
 		nameAnalyser.visit(identifier2);
 
 		// Assert
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
-		assertTrue(DiagnosticReporter.getErrors().size() >= 2);
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
+		assertTrue(diagnosticReporter.getErrors().size() >= 2);
 	}
 
 	@Test
@@ -1539,8 +1546,8 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
-		String errorMessage = DiagnosticReporter.getErrors().get(0).getMessage();
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
+		String errorMessage = diagnosticReporter.getErrors().get(0).getMessage();
 		assertTrue(errorMessage.contains("TestClass") || errorMessage.contains("badProperty"));
 
 		nameAnalyser.getScopeManager().exitClass();
@@ -1560,7 +1567,7 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
 	}
 
 	@Test
@@ -1577,7 +1584,7 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
 	}
 
 	@Test
@@ -1594,6 +1601,6 @@ public class NameAnalyserTest
 
 		// Assert
 		assertNull(result);
-		assertFalse(DiagnosticReporter.getErrors().isEmpty());
+		assertFalse(diagnosticReporter.getErrors().isEmpty());
 	}
 }
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 
 import knight.compiler.ast.types.ASTIntType;
 import knight.compiler.ast.types.ASTType;
+import knight.compiler.semantics.utils.Counter;
 
 public class BindingTest
 {
@@ -14,7 +15,7 @@ public class BindingTest
 	public void testBindingCreation()
 	{
 		ASTType astType = new ASTIntType(null);
-		Binding binding = new SymbolVariable("test", astType);
+		Binding binding = new SymbolVariable("test", astType, new Counter());
 
 		assertNotNull(binding.getType());
 		assertEquals(astType, binding.getType());
@@ -0,0 +1,97 @@
+package knight.compiler.semantics.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import knight.compiler.ast.types.ASTIntType;
+import knight.compiler.ast.types.ASTStringType;
+
+public class MemberTableTest
+{
+	@Test
+	public void member_table_should_flatten_inherited_members_with_overrides()
+	{
+		SymbolProgram program = new SymbolProgram();
+		program.addClass("Animal", null);
+		program.addClass("Dog", "Animal");
+		program.addClass("Puppy", "Dog");
+
+		SymbolClass animal = program.getClass("Animal");
+		animal.addFunction("speak", new ASTIntType(null));
+		animal.addFunction("eat", new ASTIntType(null));
+		animal.addProperty("legs", new ASTIntType(null));
+
+		SymbolClass dog = program.getClass("Dog");
+		dog.addFunction("speak", new ASTStringType(null));
+		dog.addFunction("fetch", new ASTIntType(null));
+
+		SymbolClass puppy = program.getClass("Puppy");
+		assertNull(puppy.findFunction("speak"));
+
+		program.buildMemberTables();
+
+		MemberTable table = puppy.getMemberTable();
+		assertNotNull(table);
+		assertSame(dog.getFunction("speak"), puppy.findFunction("speak"));
+		assertSame(animal.getFunction("eat"), puppy.findFunction("eat"));
+		assertSame(animal.getProperty("legs"), puppy.findProperty("legs"));
+		assertTrue(table.isSubtypeOf("Animal"));
+		assertTrue(table.isSubtypeOf("Dog"));
+		assertFalse(animal.getMemberTable().isSubtypeOf("Dog"));
+
+		assertEquals(List.of(dog.getFunction("speak"), animal.getFunction("eat"), dog.getFunction("fetch")),
+				table.getVtable());
+		assertEquals(table.getVtableSlot("speak"), animal.getMemberTable().getVtableSlot("speak"));
+		assertEquals(-1, table.getVtableSlot("missing"));
+	}
+
+	@Test
+	public void member_table_should_include_interface_functions_not_implemented()
+	{
+		SymbolProgram program = new SymbolProgram();
+		program.addInterface("Named");
+		program.addInterface("Shape");
+		program.getInterface("Named").addFunction("name", new ASTStringType(null));
+		program.getInterface("Shape").addFunction("area", new ASTIntType(null));
+		program.getInterface("Shape").addFunction("sides", new ASTIntType(null));
+		program.getInterface("Shape").addExtendedInterface("Named");
+
+		program.addClass("Square", null);
+		SymbolClass square = program.getClass("Square");
+		square.addImplementedInterface("Shape");
+		square.addFunction("area", new ASTIntType(null));
+
+		program.buildMemberTables();
+
+		assertSame(square.getFunction("area"), square.findFunction("area"));
+		assertSame(program.getInterface("Shape").getFunction("sides"), square.findFunction("sides"));
+		assertSame(program.getInterface("Named").getFunction("name"), square.findFunction("name"));
+		assertTrue(square.getMemberTable().isSubtypeOf("Named"));
+	}
+
+	@Test
+	public void member_table_should_tolerate_cyclic_and_unknown_parents()
+	{
+		SymbolProgram program = new SymbolProgram();
+		program.addClass("A", "B");
+		program.addClass("B", "A");
+		program.addClass("C", "Missing");
+		program.getClass("A").addFunction("a", new ASTIntType(null));
+		program.getClass("B").addFunction("b", new ASTIntType(null));
+
+		program.buildMemberTables();
+
+		assertNotNull(program.getClass("A").getMemberTable());
+		assertNotNull(program.getClass("B").getMemberTable());
+		assertNotNull(program.getClass("C").getMemberTable());
+		assertTrue(program.getClass("C").getMemberTable().getFunctions().isEmpty());
+	}
+}
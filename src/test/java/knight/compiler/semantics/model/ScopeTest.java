@@ -157,4 +157,70 @@ public class ScopeTest
 		assertFalse(child.addVariable("b", intType));
 		assertFalse(child.addVariable("c", stringType));
 	}
+
+	@Test
+	public void addVariable_should_assign_frame_slots_and_depths()
+	{
+		Scope function = new Scope(null);
+		Scope block = new Scope(function);
+		Scope sibling = new Scope(function);
+
+		function.addVariable("a", intType);
+		block.addVariable("b", intType);
+		sibling.addVariable("b", stringType);
+
+		assertEquals(0, function.getVariable("a").getLocalVariableIndex());
+		assertEquals(1, block.getVariable("b").getLocalVariableIndex());
+		assertEquals(2, sibling.getVariable("b").getLocalVariableIndex());
+		assertEquals(0, block.getVariable("a").getScopeDepth());
+		assertEquals(1, block.getVariable("b").getScopeDepth());
+		assertEquals(3, sibling.getFrameSize());
+	}
+
+	@Test
+	public void getVariables_should_keep_declaration_order()
+	{
+		Scope scope = new Scope(null);
+		for (int i = 0; i < 10; i++) {
+			scope.addVariable("v" + i, intType);
+		}
+
+		assertEquals(10, scope.getVariableCount());
+		assertEquals("v0", scope.getVariables().keySet().iterator().next());
+		assertEquals(9, scope.getVariable("v9").getLocalVariableIndex());
+	}
+
+	@Test
+	public void getVariable_should_not_see_declarations_in_sibling_scopes()
+	{
+		Scope function = new Scope(null);
+		Scope block = new Scope(function);
+		Scope sibling = new Scope(function);
+		Scope nested = new Scope(sibling);
+
+		block.addVariable("x", intType);
+
+		assertNull(function.getVariable("x"));
+		assertNull(nested.getVariable("x"));
+		assertTrue(nested.addVariable("x", stringType));
+		assertEquals(stringType, nested.getVariable("x").getType());
+		assertEquals(intType, block.getVariable("x").getType());
+	}
+
+	@Test
+	public void getVariable_should_resolve_through_deeply_nested_scopes()
+	{
+		Scope function = new Scope(null);
+		Scope scope = function;
+		for (int i = 0; i < 5_000; i++) {
+			scope = new Scope(scope);
+			assertTrue(scope.addVariable("v" + i, intType));
+		}
+
+		assertEquals(0, scope.getVariable("v0").getLocalVariableIndex());
+		assertEquals(4_999, scope.getVariable("v4999").getLocalVariableIndex());
+		assertFalse(scope.addVariable("v0", stringType));
+		assertNull(function.getVariable("v0"));
+		assertEquals(5_000, scope.getFrameSize());
+	}
 }
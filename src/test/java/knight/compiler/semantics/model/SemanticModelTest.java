@@ -0,0 +1,70 @@
+package knight.compiler.semantics.model;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import knight.compiler.ast.expressions.ASTIntLiteral;
+import knight.compiler.ast.types.ASTIdentifierType;
+import knight.compiler.ast.types.ASTType;
+import knight.compiler.lexer.Keywords;
+import knight.compiler.lexer.Token;
+import knight.compiler.semantics.utils.Counter;
+
+public class SemanticModelTest
+{
+	@Test
+	public void annotations_should_be_keyed_by_file_and_node_id()
+	{
+		SemanticModel model = new SemanticModel();
+		ASTIntLiteral first = literal(1, 1);
+		ASTIntLiteral second = literal(2, 1);
+		ASTType type = new ASTIdentifierType(null, "Point");
+		Binding binding = new SymbolVariable("x", type, new Counter());
+
+		model.setType(first, type);
+		model.setBinding(second, binding);
+
+		assertSame(type, model.getType(first));
+		assertNull(model.getType(second));
+		assertSame(binding, model.getBinding(second));
+		assertNull(model.getBinding(first));
+		assertNull(model.getType(literal(1, 500)));
+	}
+
+	@Test
+	public void models_should_not_share_annotations()
+	{
+		ASTIntLiteral node = literal(1, 1);
+		SemanticModel first = new SemanticModel();
+		SemanticModel second = new SemanticModel();
+		ASTType type = new ASTIdentifierType(null, "Point");
+
+		first.setType(node, type);
+
+		assertSame(type, first.getType(node));
+		assertNull(second.getType(node));
+	}
+
+	@Test
+	public void unnumbered_nodes_should_fall_back_to_identity()
+	{
+		SemanticModel model = new SemanticModel();
+		ASTIntLiteral first = new ASTIntLiteral(null, 1);
+		ASTIntLiteral second = new ASTIntLiteral(null, 2);
+		Scope scope = new Scope(null);
+
+		model.setScope(first, scope);
+
+		assertSame(scope, model.getScope(first));
+		assertNull(model.getScope(second));
+	}
+
+	private static ASTIntLiteral literal(int fileId, int id)
+	{
+		ASTIntLiteral literal = new ASTIntLiteral(new Token(Keywords.EOF, 1, 1, fileId), id);
+		literal.setId(id);
+		return literal;
+	}
+}
@@ -0,0 +1,118 @@
+package knight.compiler.semantics.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import knight.compiler.ast.types.ASTBooleanType;
+import knight.compiler.ast.types.ASTIdentifierType;
+import knight.compiler.ast.types.ASTIntType;
+import knight.compiler.ast.types.ASTParameterizedType;
+import knight.compiler.ast.types.ASTStringType;
+import knight.compiler.ast.types.ASTType;
+
+public class TypeTableTest
+{
+	@Test
+	public void primitives_should_map_to_fixed_ids()
+	{
+		TypeTable table = new TypeTable();
+
+		assertEquals(TypeTable.INT, table.idOf(new ASTIntType(null)));
+		assertEquals(TypeTable.STRING, table.idOf(new ASTStringType(null)));
+		assertEquals(TypeTable.BOOLEAN, table.idOf(new ASTBooleanType(null)));
+		assertEquals(TypeTable.NONE, table.idOf(null));
+		assertSame(table.get(TypeTable.INT), table.get(table.idOf(new ASTIntType(null))));
+	}
+
+	@Test
+	public void named_and_parameterized_types_should_be_interned()
+	{
+		TypeTable table = new TypeTable();
+		ASTIdentifierType point = new ASTIdentifierType(null, "Point");
+
+		int id = table.idOf(point);
+		assertEquals(id, table.idOf(new ASTIdentifierType(null, "Point")));
+		assertNotEquals(id, table.idOf(new ASTIdentifierType(null, "Line")));
+		assertSame(point, table.get(id));
+
+		int ints = table.idOf(parameterized("List", new ASTIntType(null)));
+		assertEquals(ints, table.idOf(parameterized("List", new ASTIntType(null))));
+		assertNotEquals(ints, table.idOf(parameterized("List", new ASTStringType(null))));
+	}
+
+	@Test
+	public void assignability_should_follow_type_kinds()
+	{
+		TypeTable table = new TypeTable();
+
+		assertTrue(table.isAssignable(TypeTable.INT, TypeTable.INT));
+		assertFalse(table.isAssignable(TypeTable.INT, TypeTable.STRING));
+		assertFalse(table.isAssignable(TypeTable.NONE, TypeTable.NONE));
+		assertTrue(table.isAssignable(new ASTIdentifierType(null, "A"), new ASTIdentifierType(null, "B")));
+		assertFalse(table.isAssignable(new ASTIdentifierType(null, "A"), new ASTIntType(null)));
+	}
+
+	@Test
+	public void class_assignability_should_follow_the_hierarchy()
+	{
+		SymbolProgram program = new SymbolProgram();
+		program.addInterface("Named");
+		program.addInterface("Pet");
+		program.getInterface("Pet").addExtendedInterface("Named");
+		program.addClass("Animal", null);
+		program.addClass("Dog", "Animal");
+		program.addClass("Rock", null);
+		program.getClass("Dog").addImplementedInterface("Pet");
+		program.buildMemberTables();
+
+		TypeTable table = new TypeTable();
+		int animal = table.idOf(new ASTIdentifierType(null, "Animal"));
+		table.setHierarchy(program);
+		int dog = table.idOf(new ASTIdentifierType(null, "Dog"));
+		int rock = table.idOf(new ASTIdentifierType(null, "Rock"));
+		int pet = table.idOf(new ASTIdentifierType(null, "Pet"));
+		int named = table.idOf(new ASTIdentifierType(null, "Named"));
+
+		assertTrue(table.isAssignable(animal, dog));
+		assertTrue(table.isAssignable(dog, dog));
+		assertFalse(table.isAssignable(dog, animal));
+		assertFalse(table.isAssignable(animal, rock));
+		assertFalse(table.isAssignable(rock, dog));
+		assertTrue(table.isAssignable(pet, dog));
+		assertTrue(table.isAssignable(named, dog));
+		assertTrue(table.isAssignable(named, pet));
+		assertFalse(table.isAssignable(pet, named));
+		assertFalse(table.isAssignable(dog, pet));
+		assertFalse(table.isAssignable(pet, animal));
+		assertTrue(table.isAssignable(dog, table.idOf(new ASTIdentifierType(null, "T"))));
+	}
+
+	@Test
+	public void table_should_grow_past_initial_capacity()
+	{
+		TypeTable table = new TypeTable();
+		int first = table.idOf(new ASTIdentifierType(null, "C0"));
+
+		for (int i = 1; i < 200; i++) {
+			table.idOf(new ASTIdentifierType(null, "C" + i));
+		}
+
+		int last = table.idOf(new ASTIdentifierType(null, "C199"));
+		assertTrue(table.size() > 200);
+		assertTrue(table.isAssignable(first, last));
+		assertTrue(table.isAssignable(last, first));
+		assertFalse(table.isAssignable(last, TypeTable.INT));
+	}
+
+	private static ASTParameterizedType parameterized(String base, ASTType argument)
+	{
+		return new ASTParameterizedType(null, new ASTIdentifierType(null, base), List.of(argument));
+	}
+}
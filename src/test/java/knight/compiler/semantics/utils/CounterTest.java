@@ -1,28 +1,31 @@
 package knight.compiler.semantics.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.Test;
 
 public class CounterTest
 {
 	@Test
-	public void testCounter_Singleton()
+	public void testCounter_Increment()
 	{
-		Counter c1 = Counter.getInstance();
-		Counter c2 = Counter.getInstance();
+		Counter counter = new Counter();
+		int first = counter.getCount();
+		int second = counter.getCount();
 
-		assertSame(c1, c2);
+		assertEquals(first + 1, second);
 	}
 
 	@Test
-	public void testCounter_Increment()
+	public void testCounter_InstancesAreIndependent()
 	{
-		Counter counter = Counter.getInstance();
-		int first = counter.getCount();
-		int second = counter.getCount();
+		Counter c1 = new Counter();
+		Counter c2 = new Counter();
 
-		assertEquals(first + 1, second);
+		c1.getCount();
+		c1.getCount();
+
+		assertEquals(0, c2.getCount());
+		assertEquals(2, c1.getCount());
 	}
 }
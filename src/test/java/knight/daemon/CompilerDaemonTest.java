@@ -0,0 +1,132 @@
+package knight.daemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import knight.Main;
+
+public class CompilerDaemonTest
+{
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void daemon_should_compile_requests_until_stopped() throws Exception
+	{
+		Path socket = tempDir.resolve("knight.sock");
+		Files.writeString(tempDir.resolve("main.knight"), "fn main(): int\n{\n    ret 0;\n}\n");
+
+		CompilerDaemon daemon = new CompilerDaemon(socket, new Main());
+		Thread thread = new Thread(() -> {
+			try {
+				daemon.run();
+			} catch (Exception ignored) {
+			}
+		});
+		thread.start();
+
+		awaitConnectable(socket);
+
+		List<String> response = send(socket, "cwd " + tempDir, "arg main.knight", "");
+		assertEquals("exit 0", response.get(response.size() - 1), response.toString());
+		assertTrue(response.contains("out Output written to: " + tempDir.resolve("main.cpp")), response.toString());
+		assertTrue(Files.exists(tempDir.resolve("main.cpp")));
+
+		assertEquals(List.of("exit 0"), send(socket, CompilerDaemon.STOP));
+		thread.join(5000);
+
+		assertFalse(thread.isAlive());
+		assertFalse(daemon.isRunning());
+		assertFalse(Files.exists(socket));
+	}
+
+	@Test
+	public void daemon_should_refuse_a_socket_directory_shared_with_other_users() throws Exception
+	{
+		Path shared = tempDir.resolve("shared");
+		Files.createDirectories(shared);
+		Files.setPosixFilePermissions(shared, PosixFilePermissions.fromString("rwxrwxrwx"));
+
+		CompilerDaemon daemon = new CompilerDaemon(shared.resolve("knight.sock"), new Main());
+
+		assertThrows(IOException.class, daemon::run);
+		assertFalse(Files.exists(shared.resolve("knight.sock")));
+	}
+
+	@Test
+	public void daemon_should_not_replace_a_live_socket() throws Exception
+	{
+		Path socket = tempDir.resolve("knight.sock");
+		try (ServerSocketChannel live = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+			live.bind(UnixDomainSocketAddress.of(socket));
+
+			assertThrows(IOException.class, new CompilerDaemon(socket, new Main())::run);
+			assertTrue(Files.exists(socket));
+		}
+	}
+
+	@Test
+	public void unescape_should_decode_line_breaks_and_backslashes()
+	{
+		assertEquals("a\\b\nc\rd", CompilerDaemon.unescape("a\\\\b\\nc\\rd"));
+		assertEquals("plain", CompilerDaemon.unescape("plain"));
+	}
+
+	private static void awaitConnectable(Path socket) throws Exception
+	{
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (true) {
+			try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+				channel.connect(UnixDomainSocketAddress.of(socket));
+				return;
+			} catch (IOException e) {
+				if (System.nanoTime() > deadline) {
+					throw e;
+				}
+				Thread.sleep(20);
+			}
+		}
+	}
+
+	private static List<String> send(Path socket, String... lines) throws Exception
+	{
+		try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+			channel.connect(UnixDomainSocketAddress.of(socket));
+
+			PrintWriter writer = new PrintWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+			for (String line : lines) {
+				writer.println(line);
+			}
+			writer.flush();
+
+			List<String> response = new ArrayList<>();
+			BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				response.add(line);
+			}
+			return response;
+		}
+	}
+}
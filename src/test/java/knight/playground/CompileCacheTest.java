@@ -0,0 +1,105 @@
+package knight.playground;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class CompileCacheTest
+{
+	@Test
+	public void get_should_count_hits_and_misses()
+	{
+		CompileCache cache = new CompileCache(4);
+		CompileResult result = CompileResult.success("int main() {}", List.of());
+
+		assertNull(cache.get("a"));
+		cache.put("a", result);
+		assertSame(result, cache.get("a"));
+
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals(0, cache.getEvictions());
+	}
+
+	@Test
+	public void put_should_evict_least_recently_used_entry()
+	{
+		CompileCache cache = new CompileCache(2);
+		CompileResult result = CompileResult.success("", List.of());
+
+		cache.put("a", result);
+		cache.put("b", result);
+		cache.get("a");
+		cache.put("c", result);
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictions());
+		assertSame(result, cache.get("a"));
+		assertNull(cache.get("b"));
+	}
+
+	@Test
+	public void constructor_should_reject_non_positive_capacity()
+	{
+		assertThrows(IllegalArgumentException.class, () -> new CompileCache(0));
+	}
+
+	@Test
+	public void key_should_change_when_import_changes()
+	{
+		byte[] std = "fn s(): int { ret 0; }".getBytes(StandardCharsets.UTF_8);
+		String source = "import \"util.knight\";";
+
+		String first = CompileCache.keyForContents(source, List.of(bytes("fn a(): int { ret 1; }")), std);
+		String same = CompileCache.keyForContents(source, List.of(bytes("fn a(): int { ret 1; }")), std);
+		String changed = CompileCache.keyForContents(source, List.of(bytes("fn a(): int { ret 2; }")), std);
+
+		assertEquals(first, same);
+		assertNotEquals(first, changed);
+		assertNotEquals(first, CompileCache.keyForContents(source, List.of(bytes("fn a(): int { ret 1; }")), null));
+	}
+
+	@Test
+	public void compileFromSource_should_serve_repeat_requests_from_cache()
+	{
+		String source = """
+				fn main(): int
+				{
+				    int cached = 40 + 2;
+				    ret cached;
+				}
+				""";
+
+		CompileResult first = CompilerFacade.compileFromSource(source);
+		long hits = CompilerFacade.getCache().getHits();
+		CompileResult second = CompilerFacade.compileFromSource(source);
+
+		assertSame(first, second);
+		assertEquals(hits + 1, CompilerFacade.getCache().getHits());
+	}
+
+	@Test
+	public void compileFromSource_should_cache_diagnostics()
+	{
+		String source = "fn main(): int { ret missing; }";
+
+		CompileResult first = CompilerFacade.compileFromSource(source);
+		CompileResult second = CompilerFacade.compileFromSource(source);
+
+		assertFalse(first.isSuccess());
+		assertSame(first, second);
+	}
+
+	private static byte[] bytes(String value)
+	{
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+}
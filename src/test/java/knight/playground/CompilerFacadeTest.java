@@ -0,0 +1,150 @@
+package knight.playground;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import knight.compiler.incremental.DependencyGraph;
+
+public class CompilerFacadeTest
+{
+	@TempDir
+	Path tempDir;
+
+	private static final String VALID_SOURCE = """
+			fn main(): int
+			{
+			    int x = 1 + 2;
+			    ret x;
+			}
+			""";
+
+	private static final String INVALID_SOURCE = """
+			fn main(): int
+			{
+			    int x = y;
+			    ret x;
+			}
+			""";
+
+	@Test
+	public void compileFromSource_should_report_undeclared_variable()
+	{
+		CompileResult result = CompilerFacade.compileFromSource(INVALID_SOURCE);
+
+		assertFalse(result.isSuccess());
+		assertTrue(result.getErrors().stream().anyMatch(error -> error.contains("Variable y not declared")));
+	}
+
+	@Test
+	public void compileFromSource_should_compile_in_memory()
+	{
+		CompileResult result = CompilerFacade.compileFromSource("import std\n\n" + VALID_SOURCE);
+
+		assertTrue(result.isSuccess(), () -> String.join("\n", result.getErrors()));
+		assertTrue(result.getGeneratedCpp().contains("int main("));
+	}
+
+	@Test
+	public void compileFromSource_should_report_missing_import()
+	{
+		CompileResult result = CompilerFacade.compileFromSource("import \"util.knight\"\n\n" + VALID_SOURCE);
+
+		assertFalse(result.isSuccess());
+		assertTrue(result.getErrors().get(0).contains("/playground/util.knight"), result.getErrors().get(0));
+	}
+
+	@Test
+	public void concurrent_compilations_should_not_share_diagnostics() throws Exception
+	{
+		int expectedErrors = CompilerFacade.compileFromSource(INVALID_SOURCE).getErrors().size();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<CompileResult>> valid = new ArrayList<>();
+			List<Future<CompileResult>> invalid = new ArrayList<>();
+
+			for (int i = 0; i < 16; i++) {
+				valid.add(executor.submit(() -> CompilerFacade.compileFromSource(VALID_SOURCE)));
+				invalid.add(executor.submit(() -> CompilerFacade.compileFromSource(INVALID_SOURCE)));
+			}
+
+			for (Future<CompileResult> future : valid) {
+				CompileResult result = future.get();
+				assertTrue(result.isSuccess(), () -> String.join("\n", result.getErrors()));
+				assertTrue(result.getGeneratedCpp().contains("int main("));
+			}
+
+			for (Future<CompileResult> future : invalid) {
+				CompileResult result = future.get();
+				assertFalse(result.isSuccess());
+				assertEquals(expectedErrors, result.getErrors().size());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void compileIncremental_should_rebuild_only_affected_files() throws Exception
+	{
+		Path util = tempDir.resolve("util.knight");
+		Path shapes = tempDir.resolve("shapes.knight");
+		Path main = tempDir.resolve("main.knight");
+		Files.writeString(util, "fn twice(int x): int\n{\n    ret x * 2;\n}\n");
+		Files.writeString(shapes, "import \"util.knight\"\n\nfn area(int w, int h): int\n{\n    ret w * h;\n}\n");
+		Files.writeString(main,
+				"import \"shapes.knight\"\nimport \"util.knight\"\n\nfn main(): int\n{\n    ret area(2, twice(3));\n}\n");
+
+		DependencyGraph graph = new DependencyGraph();
+		CompileResult first = CompilerFacade.compileIncremental(main.toString(), graph);
+		assertTrue(first.isSuccess(), () -> String.join("\n", first.getErrors()));
+		assertEquals(CompilerFacade.compileFromPath(main.toString()).getGeneratedCpp(), first.getGeneratedCpp());
+		assertEquals(graph.size(), graph.getRebuilt().size());
+
+		CompileResult unchanged = CompilerFacade.compileIncremental(main.toString(), graph);
+		assertEquals(Set.of(), graph.getRebuilt());
+		assertEquals(first.getGeneratedCpp(), unchanged.getGeneratedCpp());
+
+		Files.writeString(util, "fn twice(int x): int\n{\n    ret x + x;\n}\n");
+		CompileResult body = CompilerFacade.compileIncremental(main.toString(), graph);
+		assertEquals(Set.of(util.toFile().getCanonicalPath()), graph.getRebuilt());
+		assertTrue(body.getGeneratedCpp().contains("x + x"));
+		assertEquals(CompilerFacade.compileFromPath(main.toString()).getGeneratedCpp(), body.getGeneratedCpp());
+
+		Files.writeString(util, "fn twice(int x, int y): int\n{\n    ret x + y;\n}\n");
+		CompileResult signature = CompilerFacade.compileIncremental(main.toString(), graph);
+		assertFalse(signature.isSuccess());
+		assertEquals(Set.of(util.toFile().getCanonicalPath(), shapes.toFile().getCanonicalPath(),
+				main.toFile().getCanonicalPath()), graph.getRebuilt());
+	}
+
+	@Test
+	public void compileIncremental_should_reuse_saved_graph() throws Exception
+	{
+		Path main = tempDir.resolve("main.knight");
+		Files.writeString(main, VALID_SOURCE);
+		Path graphFile = DependencyGraph.pathFor(main.toString());
+
+		DependencyGraph graph = DependencyGraph.load(graphFile);
+		CompileResult first = CompilerFacade.compileIncremental(main.toString(), graph);
+		graph.save(graphFile);
+
+		DependencyGraph reloaded = DependencyGraph.load(graphFile);
+		CompileResult second = CompilerFacade.compileIncremental(main.toString(), reloaded);
+
+		assertEquals(Set.of(), reloaded.getRebuilt());
+		assertEquals(first.getGeneratedCpp(), second.getGeneratedCpp());
+	}
+}
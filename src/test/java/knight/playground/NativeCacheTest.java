@@ -0,0 +1,90 @@
+package knight.playground;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class NativeCacheTest
+{
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void key_should_depend_on_source_compiler_and_flags()
+	{
+		String key = NativeCache.key("int main() {}", "g++ 12.2.0", List.of("-O2"));
+
+		assertEquals(key, NativeCache.key("int main() {}", "g++ 12.2.0", List.of("-O2")));
+		assertNotEquals(key, NativeCache.key("int main() {}", "g++ 13.1.0", List.of("-O2")));
+		assertNotEquals(key, NativeCache.key("int main() {}", "g++ 12.2.0", List.of("-O0")));
+		assertNotEquals(key, NativeCache.key("int main() { return 1; }", "g++ 12.2.0", List.of("-O2")));
+	}
+
+	@Test
+	public void fetch_should_return_published_executable() throws Exception
+	{
+		NativeCache cache = new NativeCache(tempDir.resolve("cache"), 1024);
+		Path executable = tempDir.resolve("program");
+		Files.writeString(executable, "binary");
+
+		assertFalse(cache.fetch("abc", tempDir.resolve("miss")));
+
+		cache.publish("abc", executable);
+		Path target = tempDir.resolve("fetched");
+
+		assertTrue(cache.fetch("abc", target));
+		assertEquals("binary", Files.readString(target));
+	}
+
+	@Test
+	public void publish_should_evict_least_recently_used_entries() throws Exception
+	{
+		Path directory = tempDir.resolve("cache");
+		NativeCache cache = new NativeCache(directory, 10);
+		Path executable = tempDir.resolve("program");
+		Files.writeString(executable, "123456");
+
+		cache.publish("old", executable);
+		Files.setLastModifiedTime(directory.resolve("old"), FileTime.fromMillis(1000));
+		cache.publish("new", executable);
+
+		assertFalse(Files.exists(directory.resolve("old")));
+		assertTrue(Files.exists(directory.resolve("new")));
+	}
+
+	@Test
+	public void cache_directory_should_be_created_private() throws Exception
+	{
+		NativeCache cache = new NativeCache(tempDir.resolve("cache"), 1024);
+		Path executable = tempDir.resolve("program");
+		Files.writeString(executable, "binary");
+
+		cache.publish("abc", executable);
+
+		assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(cache.getDirectory()));
+	}
+
+	@Test
+	public void fetch_should_refuse_a_directory_shared_with_other_users() throws Exception
+	{
+		Path directory = tempDir.resolve("shared");
+		Files.createDirectories(directory);
+		Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwxrwxrwx"));
+		Files.writeString(directory.resolve("abc"), "planted");
+
+		NativeCache cache = new NativeCache(directory, 1024);
+
+		assertFalse(cache.fetch("abc", tempDir.resolve("fetched")));
+		assertFalse(Files.exists(tempDir.resolve("fetched")));
+	}
+}
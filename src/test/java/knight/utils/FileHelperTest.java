@@ -7,8 +7,12 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class FileHelperTest
 {
@@ -78,4 +82,40 @@ public class FileHelperTest
 
 		file.delete();
 	}
+
+	@Test
+	public void expandSources_should_find_sources_in_directories_and_globs(@TempDir Path tempDir) throws IOException
+	{
+		Files.createDirectories(tempDir.resolve("src/nested"));
+		Files.createDirectories(tempDir.resolve("src/.knight"));
+		Files.writeString(tempDir.resolve("src/a.knight"), "");
+		Files.writeString(tempDir.resolve("src/nested/b.knight"), "");
+		Files.writeString(tempDir.resolve("src/.knight/c.knight"), "");
+		Files.writeString(tempDir.resolve("src/notes.txt"), "");
+
+		assertEquals(
+				List.of(tempDir.resolve("src/a.knight").toString(), tempDir.resolve("src/nested/b.knight").toString()),
+				FileHelper.expandSources("src", tempDir));
+		assertEquals(List.of(tempDir.resolve("src/nested/b.knight").toString()),
+				FileHelper.expandSources("src/*/*.knight", tempDir));
+		assertEquals(List.of(tempDir.resolve("src/a.knight").toString()),
+				FileHelper.expandSources(tempDir + "/src/?.knight", null));
+		assertEquals(List.of(tempDir.resolve("missing.knight").toString()),
+				FileHelper.expandSources("missing.knight", tempDir));
+		assertTrue(FileHelper.expandSources("missing/*.knight", tempDir).isEmpty());
+		assertEquals(
+				List.of(tempDir.resolve("src/a.knight").toString(), tempDir.resolve("src/nested/b.knight").toString()),
+				FileHelper.expandSources("src/**/*.knight", tempDir));
+	}
+
+	@Test
+	public void expandSources_should_match_files_at_the_glob_root(@TempDir Path tempDir) throws IOException
+	{
+		Files.createDirectories(tempDir.resolve("lib"));
+		Files.writeString(tempDir.resolve("main.knight"), "");
+		Files.writeString(tempDir.resolve("lib/util.knight"), "");
+
+		assertEquals(List.of(tempDir.resolve("lib/util.knight").toString(), tempDir.resolve("main.knight").toString()),
+				FileHelper.expandSources("**/*.knight", tempDir));
+	}
 }